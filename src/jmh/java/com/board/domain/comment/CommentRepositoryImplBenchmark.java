@@ -0,0 +1,78 @@
+package com.board.domain.comment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메모리 댓글 리포지토리에서 댓글 하나의 모든 하위 댓글 id를 찾는 비용을 잽니다.
+ * 저장소 전체 댓글 수(comments)와, 그중 측정 대상 루트 댓글 아래 달린 하위 댓글 수(descendants)를 바꿔 가며 측정합니다.
+ * 하위 댓글은 바로 앞 댓글이나 앞선 아무 댓글의 답글이 되어 깊은 트리와 넓은 트리가 섞입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommentRepositoryImplBenchmark {
+
+    @Param({"1000", "10000"})
+    int comments;
+
+    @Param({"10", "100"})
+    int descendants;
+
+    CommentRepositoryImpl repository;
+    Long rootId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new CommentRepositoryImpl();
+        repository.clearStore();
+        Random random = new Random(42);
+
+        Comment root = repository.save(new Comment(1L, "author", 1L, "root"));
+        rootId = root.getId();
+        List<Long> tree = new ArrayList<>(List.of(rootId));
+        for (int i = 0; i < descendants; i++) {
+            Long parentId = random.nextBoolean() ? tree.get(tree.size() - 1) : tree.get(random.nextInt(tree.size()));
+            tree.add(repository.save(new Comment(1L, parentId, "author", 1L, "reply " + i)).getId());
+        }
+
+        // 나머지는 다른 게시물의 루트 댓글과 그 답글로 채웁니다.
+        Long otherParentId = null;
+        for (int i = descendants + 1; i < comments; i++) {
+            Long postId = 2L + random.nextInt(100);
+            Comment comment = otherParentId == null || random.nextBoolean()
+                    ? new Comment(postId, "author", 1L, "comment " + i)
+                    : new Comment(postId, otherParentId, "author", 1L, "reply " + i);
+            otherParentId = repository.save(comment).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.clearStore();
+    }
+
+    @Benchmark
+    public List<Long> findAllDescendantCommentIds() {
+        return repository.findAllDescendantCommentIds(rootId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.board.domain.post;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메모리 게시물 리포지토리의 검색 목록 조회와 개수 조회 비용을 게시물 수와 검색 조건별로 잽니다.
+ * keyword가 비어 있으면 전체 조회, 있으면 type(title/author)에 대한 부분 문자열 검색입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostRepositoryImplBenchmark {
+
+    private static final String[] WORDS = {"스프링", "트랜잭션", "인덱스", "게시판", "Spring", "JDBC", "virtual", "thread", "cache", "질문"};
+
+    @Param({"1000", "10000", "100000"})
+    int posts;
+
+    @Param({"title", "author"})
+    String type;
+
+    @Param({"", "스프링", "없는검색어"})
+    String keyword;
+
+    /** 검색 결과의 중간쯤 페이지. 앞쪽을 건너뛰는 비용까지 포함합니다. */
+    @Param({"1", "50"})
+    int page;
+
+    PostRepositoryImpl repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new PostRepositoryImpl();
+        repository.clearStore();
+        Random random = new Random(42);
+        for (int i = 0; i < posts; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String author = random.nextInt(20) == 0 ? "스프링러버" + random.nextInt(100) : "user" + random.nextInt(1000);
+            repository.save(new Post(title, "본문 " + i, author, (long) random.nextInt(1000)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.clearStore();
+    }
+
+    @Benchmark
+    public List<Post> postSearchFindAll() {
+        return repository.postSearchFindAll(type, keyword, page, 10);
+    }
+
+    @Benchmark
+    public int postSearchCount() {
+        return repository.postSearchCount(type, keyword);
+    }
+}
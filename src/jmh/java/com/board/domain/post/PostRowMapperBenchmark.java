@@ -0,0 +1,87 @@
+package com.board.domain.post;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * post 행을 Post 객체로 바꾸는 RowMapper 비용을 잽니다. DB 왕복 없이 매핑만 재기 위해 메모리 ResultSet(H2 SimpleResultSet)을 사용합니다.
+ * <ul>
+ *     <li>beanPropertyPerQuery: 리포지토리처럼 조회마다 BeanPropertyRowMapper.newInstance를 새로 만듦</li>
+ *     <li>beanPropertyShared: BeanPropertyRowMapper 하나를 재사용</li>
+ *     <li>handWritten: 컬럼을 직접 읽는 RowMapper</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostRowMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int rows;
+
+    SimpleResultSet resultSet;
+    RowMapper<Post> sharedMapper;
+    RowMapper<Post> handWrittenMapper;
+
+    @Setup
+    public void setUp() {
+        resultSet = new SimpleResultSet();
+        resultSet.setAutoClose(false);
+        resultSet.addColumn("id", Types.BIGINT, 19, 0);
+        resultSet.addColumn("title", Types.VARCHAR, 255, 0);
+        resultSet.addColumn("content", Types.VARCHAR, 65535, 0);
+        resultSet.addColumn("author", Types.VARCHAR, 50, 0);
+        resultSet.addColumn("author_id", Types.BIGINT, 19, 0);
+        for (long i = 1; i <= rows; i++) {
+            resultSet.addRow(i, "스프링 부트 게시물 " + i, "본문 내용입니다. ".repeat(20), "user" + (i % 100), i % 100);
+        }
+
+        sharedMapper = BeanPropertyRowMapper.newInstance(Post.class);
+        handWrittenMapper = (rs, rowNum) -> {
+            Post post = new Post(rs.getString("title"), rs.getString("content"), rs.getString("author"), rs.getLong("author_id"));
+            post.setId(rs.getLong("id"));
+            return post;
+        };
+    }
+
+    @Benchmark
+    public List<Post> beanPropertyPerQuery() throws SQLException {
+        return map(BeanPropertyRowMapper.newInstance(Post.class));
+    }
+
+    @Benchmark
+    public List<Post> beanPropertyShared() throws SQLException {
+        return map(sharedMapper);
+    }
+
+    @Benchmark
+    public List<Post> handWritten() throws SQLException {
+        return map(handWrittenMapper);
+    }
+
+    private List<Post> map(RowMapper<Post> rowMapper) throws SQLException {
+        resultSet.beforeFirst();
+        return new RowMapperResultSetExtractor<>(rowMapper, rows).extractData(resultSet);
+    }
+}
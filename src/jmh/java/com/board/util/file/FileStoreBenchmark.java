@@ -0,0 +1,42 @@
+package com.board.util.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드마다 호출하는 저장 파일명 생성(UUID + 확장자) 비용을 잽니다.
+ * UUID.randomUUID는 공유 SecureRandom을 사용하므로, 여러 스레드가 동시에 부를 때의 값도 함께 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileStoreBenchmark {
+
+    @Param({"photo.jpg", "archive.tar.gz", "아주_긴_한글_파일_이름이_붙은_2024년_상반기_회의록_최종_수정본.docx"})
+    String originalFilename;
+
+    @Benchmark
+    public String createStoreFileName() {
+        return FileStore.createStoreFileName(originalFilename);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String createStoreFileNameContended() {
+        return FileStore.createStoreFileName(originalFilename);
+    }
+}
@@ -0,0 +1,54 @@
+package com.board.web.post.form;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 화면마다 만드는 페이징 계산 객체의 생성 비용을 잽니다.
+ * 상수 접기를 막기 위해 미리 만든 페이지 번호 배열을 돌아가며 사용합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagedResultFormBenchmark {
+
+    @Param({"0", "1000", "1000000"})
+    int totalPostCount;
+
+    @Param({"10", "50"})
+    int postsPerPage;
+
+    int[] pages;
+    int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int totalPage = Math.max(1, (totalPostCount + postsPerPage - 1) / postsPerPage);
+        pages = new int[1024];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = 1 + random.nextInt(totalPage);
+        }
+    }
+
+    @Benchmark
+    public PagedResultForm create() {
+        int page = pages[index++ & (pages.length - 1)];
+        return new PagedResultForm(totalPostCount, page, postsPerPage);
+    }
+}
@@ -27,6 +27,15 @@ public interface CommentRepository {
      */
     void updateAuthor(Long id, String author);
 
+    /**
+     * 지정된 게시물들에 달린 댓글 중 특정 회원이 작성한 댓글의 작성자명을 한 번에 업데이트합니다.
+     *
+     * @param authorId 작성자 회원 ID
+     * @param postIds 대상 게시물 ID 리스트
+     * @param author 업데이트할 회원 이름
+     */
+    void updateAuthorInPosts(Long authorId, List<Long> postIds, String author);
+
     /**
      * 지정된 ID의 댓글을 삭제합니다.
      * @param id 삭제할 댓글의 ID
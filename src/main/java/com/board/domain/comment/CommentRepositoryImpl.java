@@ -89,6 +89,23 @@ public class CommentRepositoryImpl implements CommentRepository {
         log.info("AUTHOR UPDATED [ID={}, Author={}]", id, findComment.getAuthor());
     }
 
+    /**
+     * 지정된 게시물들에 달린 댓글 중 특정 회원이 작성한 댓글의 작성자명을 업데이트합니다.
+     *
+     * @param authorId 작성자 회원 ID
+     * @param postIds 대상 게시물 ID 리스트
+     * @param author 업데이트할 회원 이름
+     */
+    @Override
+    public void updateAuthorInPosts(Long authorId, List<Long> postIds, String author) {
+        for (Comment comment : store.values()) {
+            if (authorId.equals(comment.getAuthorId()) && postIds.contains(comment.getPostId())) {
+                comment.setAuthor(author);
+            }
+        }
+        log.info("AUTHOR UPDATED [AuthorID={}, Author={}, Posts={}]", authorId, author, postIds.size());
+    }
+
     /**
      * 지정된 ID의 댓글을 저장소에서 삭제합니다.
      *
@@ -6,6 +6,7 @@ import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +14,7 @@ import javax.sql.DataSource;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * JDBC Template을 사용하여 데이터베이스의 Comment 테이블에 접근하는 구현체입니다.
@@ -23,6 +25,7 @@ import java.util.List;
 public class CommentRepositoryJdbc implements CommentRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
     private final SimpleJdbcInsert insertActor;
 
     /**
@@ -31,6 +34,7 @@ public class CommentRepositoryJdbc implements CommentRepository {
      */
     public CommentRepositoryJdbc(DataSource dataSource) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
         this.insertActor = new SimpleJdbcInsert(dataSource)
                 .withTableName("comment")
                 .usingGeneratedKeyColumns("id");
@@ -91,6 +95,22 @@ public class CommentRepositoryJdbc implements CommentRepository {
         jdbcTemplate.update(sql, author, id);
     }
 
+    /**
+     * 지정된 게시물들에 달린 댓글 중 특정 회원이 작성한 댓글의 작성자명을 하나의 UPDATE 문으로 변경합니다.
+     * @param authorId 작성자 회원 ID
+     * @param postIds 대상 게시물 ID 리스트
+     * @param author 변경할 새 작성자 이름
+     */
+    @Override
+    public void updateAuthorInPosts(Long authorId, List<Long> postIds, String author) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE comment SET author = :author WHERE author_id = :authorId AND post_id IN (:postIds)";
+        int updated = namedJdbcTemplate.update(sql, Map.of("author", author, "authorId", authorId, "postIds", postIds));
+        log.info("DB AUTHOR UPDATED [AuthorID={}, Comments={}]", authorId, updated);
+    }
+
     /**
      * 고유 식별자(ID)를 기준으로 하나의 댓글을 삭제합니다.
      * @param id 삭제할 댓글의 고유 ID
@@ -108,7 +128,7 @@ public class CommentRepositoryJdbc implements CommentRepository {
     }
 
     /**
-     * 제공된 ID 리스트에 해당하는 모든 댓글을 순차적으로 삭제합니다.
+     * 제공된 ID 리스트에 해당하는 모든 댓글을 하나의 DELETE 문으로 삭제합니다.
      * @param commentIds 삭제할 댓글 ID 리스트
      */
     @Override
@@ -116,9 +136,9 @@ public class CommentRepositoryJdbc implements CommentRepository {
         if (commentIds.isEmpty()) {
             return;
         }
-        for (Long commentId : commentIds) {
-            delete(commentId);
-        }
+        String sql = "DELETE FROM comment WHERE id IN (:ids)";
+        int deleted = namedJdbcTemplate.update(sql, Map.of("ids", commentIds));
+        log.info("DB DELETED [Count={}, IDs={}]", deleted, commentIds);
     }
 
     /**
@@ -170,31 +190,32 @@ public class CommentRepositoryJdbc implements CommentRepository {
     }
 
     /**
-     * 특정 부모 댓글 하위의 모든 자식 및 자손 댓글 ID를 재귀적으로 조회합니다.
+     * 특정 부모 댓글 하위의 모든 자식 및 자손 댓글 ID를 조회합니다.
+     * 너비 우선으로 한 단계(깊이)씩 내려가며, 단계마다 쿼리를 한 번만 실행합니다.
+     * 따라서 실행되는 쿼리 수는 댓글 수가 아니라 트리 깊이 + 1입니다.
      * @param parentCommentId 최상위 부모가 되는 댓글 ID
-     * @return 하위 자손 댓글들의 고유 ID 리스트
+     * @return 하위 자손 댓글들의 고유 ID 리스트 (가까운 단계부터)
      */
     @Override
     public List<Long> findAllDescendantCommentIds(Long parentCommentId) {
         List<Long> descendantIds = new ArrayList<>();
-        findDescendants(parentCommentId, descendantIds);
+        List<Long> parentIds = List.of(parentCommentId);
+
+        while (!parentIds.isEmpty()) {
+            parentIds = findChildIds(parentIds);
+            descendantIds.addAll(parentIds);
+        }
         return descendantIds;
     }
 
     /**
-     * DB 조회를 통해 하위 댓글을 탐색하는 재귀 메서드입니다.
-     * 깊이 우선 탐색(DFS) 방식으로 동작하며 각 단계에서 DB에 쿼리를 실행합니다.
-     * @param parentId 현재 탐색의 기준이 되는 부모 ID
-     * @param descendantIds 발견된 자손 ID들을 수집할 리스트
+     * 주어진 부모 댓글들의 바로 아래 자식 댓글 ID를 한 번에 조회합니다.
+     * @param parentIds 부모 댓글 ID 리스트
+     * @return 자식 댓글 ID 리스트
      */
-    private void findDescendants(Long parentId, List<Long> descendantIds) {
-        String sql = "SELECT id FROM comment WHERE parent_comment_id = ?";
-        List<Long> directChildrenIds = jdbcTemplate.queryForList(sql, Long.class, parentId);
-
-        for (Long childId : directChildrenIds) {
-            descendantIds.add(childId);
-            findDescendants(childId, descendantIds);
-        }
+    private List<Long> findChildIds(List<Long> parentIds) {
+        String sql = "SELECT id FROM comment WHERE parent_comment_id IN (:parentIds)";
+        return namedJdbcTemplate.queryForList(sql, Map.of("parentIds", parentIds), Long.class);
     }
 
     /**
@@ -113,7 +113,7 @@ public class MemberRepositoryJdbc implements MemberRepository {
 
     /**
      * 특정 회원을 삭제(탈퇴) 처리합니다.
-     * DB의 ON DELETE CASCADE 설정으로 인해 해당 회원이 작성한
+     * DB의 ON DELETE CASCADE 설정(V4__foreign_keys.sql)으로 인해 해당 회원이 작성한
      * 게시물(post), 댓글(comment), 파일(upload_file)이 연쇄적으로 삭제됩니다.
      * @param id 삭제할 회원의 고유 ID
      * @return 삭제되기 전의 회원 객체 정보
@@ -1,6 +1,5 @@
 package com.board.domain.member.memberService;
 
-import com.board.domain.comment.Comment;
 import com.board.domain.comment.CommentRepository;
 import com.board.domain.member.Member;
 import com.board.domain.member.MemberRepository;
@@ -53,20 +52,19 @@ public class MemberService {
 
     /**
      * 업데이트 하기전의 게시물과 댓글의 작성자명을 업데이트 후의 명으로 바꿔줍니다.
+     * 회원의 게시물과, 그 게시물들에 회원이 단 댓글을 게시물 수와 관계없이 각각 한 번의 UPDATE로 바꿉니다.
      * @param memberId 업데이트할 회원의 아이디
      * @param newName 업데이트할 회원의 이름
      */
     public void updateAuthorNameInPostsAndComments(Long memberId, String newName) {
-        List<Post> posts = postRepository.findByMemberId(memberId);
-        for (Post post : posts) {
-            List<Comment> allByPostId = commentRepository.findAllByPostId(post.getId());
-            for (Comment comment : allByPostId) {
-                if(comment.getAuthorId().equals(memberId)) {
-                    commentRepository.updateAuthor(comment.getId(), newName);
-                }
-            }
-            postRepository.updateAuthor(post.getId(), newName);
+        List<Long> postIds = postRepository.findByMemberId(memberId).stream()
+                .map(Post::getId)
+                .toList();
+        if (postIds.isEmpty()) {
+            return;
         }
+        commentRepository.updateAuthorInPosts(memberId, postIds, newName);
+        postRepository.updateAuthorByAuthorId(memberId, newName);
     }
 
     /**
@@ -0,0 +1,40 @@
+package com.board.domain.post;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 한 페이지의 목록과, 검색 조건에 맞는 전체 개수를 함께 담는 객체
+ *
+ * @param <T> 목록 항목 타입
+ */
+@Getter
+@ToString
+public class Page<T> {
+
+    /** 현재 페이지의 항목 */
+    private final List<T> content;
+
+    /** 검색 조건에 맞는 전체 항목 수 */
+    private final int totalCount;
+
+    /** 현재 페이지 번호 (1부터 시작) */
+    private final int currentPage;
+
+    /** 한 페이지의 항목 수 */
+    private final int size;
+
+    public Page(List<T> content, int totalCount, int currentPage, int size) {
+        this.content = List.copyOf(content);
+        this.totalCount = totalCount;
+        this.currentPage = currentPage;
+        this.size = size;
+    }
+
+    /** 전체 페이지 수 */
+    public int getTotalPages() {
+        return size <= 0 ? 0 : (totalCount + size - 1) / size;
+    }
+}
@@ -1,5 +1,6 @@
 package com.board.domain.post;
 
+import com.board.domain.uploadfile.FileTypeEnum;
 import com.board.domain.uploadfile.UploadFile;
 import lombok.*;
 
@@ -40,4 +41,19 @@ public class Post {
         this.author = author;
         this.authorId = authorId;
     }
+
+    /**
+     * 게시물의 파일 목록을 첫 번째 첨부파일과 이미지 목록으로 나누어 채웁니다.
+     * @param files 업로드 순서대로 정렬된 게시물의 파일 목록
+     */
+    public void applyFiles(List<UploadFile> files) {
+        files.stream()
+                .filter(f -> f.getFileType() == FileTypeEnum.ATTACHED)
+                .findFirst()
+                .ifPresent(this::setAttachFile);
+
+        this.imageFiles = files.stream()
+                .filter(f -> f.getFileType() == FileTypeEnum.IMAGE)
+                .toList();
+    }
 }
@@ -30,6 +30,14 @@ public interface PostRepository {
      */
     void updateAuthor(Long id, String author);
 
+    /**
+     * 특정 회원이 작성한 모든 게시물의 작성자명을 한 번에 업데이트합니다.
+     *
+     * @param authorId 작성자 회원 ID
+     * @param author 업데이트할 회원 이름
+     */
+    void updateAuthorByAuthorId(Long authorId, String author);
+
     /**
      * 지정된 ID의 게시물을 삭제합니다.
      * @param id 삭제할 게시물의 ID
@@ -62,6 +70,17 @@ public interface PostRepository {
      */
     int postSearchCount(String type, String keyword);
 
+    /**
+     * 검색 조건에 맞는 게시물 한 페이지를 전체 개수와 함께 조회합니다. 목록 화면에 필요한 요약 정보만 담습니다.
+     *
+     * @param type 조회할 타입 (author, title 등)
+     * @param keyword 검색할 키워드 (null 또는 공백일 경우 전체 조회)
+     * @param currentPage 현재 페이지 번호 (1부터 시작)
+     * @param postsPerPage 한 페이지에 보여줄 게시물 수
+     * @return 최신순 게시물 요약 목록과 검색 조건에 맞는 전체 개수
+     */
+    Page<PostSummary> postSearchPage(String type, String keyword, int currentPage, int postsPerPage);
+
     /**
      * 지정된 ID의 게시물을 조회합니다.
      * @param id 조회할 게시물의 ID
@@ -69,6 +88,13 @@ public interface PostRepository {
      */
     Post findById(Long id);
 
+    /**
+     * 지정된 ID의 게시물 본문만 조회합니다. 첨부파일과 이미지 파일 정보는 채우지 않을 수 있습니다.
+     * @param id 조회할 게시물의 ID
+     * @return 조회된 게시물 객체, 없으면 null
+     */
+    Post findByIdWithoutFiles(Long id);
+
     /**
      * 특정 회원이 작성한 모든 게시물을 조회합니다.
      * @param memberId 조회할 회원의 ID
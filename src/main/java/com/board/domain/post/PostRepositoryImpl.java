@@ -93,6 +93,22 @@ public class PostRepositoryImpl implements PostRepository {
         log.info("AUTHOR UPDATED [ID={}, Author={}]", id, findPost.getAuthor());
     }
 
+    /**
+     * 특정 회원이 작성한 모든 게시물의 작성자명을 업데이트합니다.
+     *
+     * @param authorId 작성자 회원 ID
+     * @param author 업데이트할 회원 이름
+     */
+    @Override
+    public void updateAuthorByAuthorId(Long authorId, String author) {
+        for (Post post : store.values()) {
+            if (authorId.equals(post.getAuthorId())) {
+                post.setAuthor(author);
+            }
+        }
+        log.info("AUTHOR UPDATED [AuthorID={}, Author={}]", authorId, author);
+    }
+
     /**
      * 지정된 ID의 게시물을 저장소에서 삭제합니다.
      *
@@ -186,6 +202,23 @@ public class PostRepositoryImpl implements PostRepository {
                 .count();
     }
 
+    /**
+     * 검색 조건에 맞는 게시물 한 페이지를 전체 개수와 함께 조회합니다.
+     *
+     * @param type 조회할 타입 (author, title 등)
+     * @param keyword 검색할 키워드 (null 또는 공백일 경우 전체 조회)
+     * @param currentPage 현재 페이지 번호 (1부터 시작)
+     * @param postsPerPage 한 페이지에 보여줄 게시물 수
+     * @return 게시물 요약 목록과 전체 개수
+     */
+    @Override
+    public Page<PostSummary> postSearchPage(String type, String keyword, int currentPage, int postsPerPage) {
+        List<PostSummary> content = postSearchFindAll(type, keyword, currentPage, postsPerPage).stream()
+                .map(PostSummary::of)
+                .toList();
+        return new Page<>(content, postSearchCount(type, keyword), currentPage, postsPerPage);
+    }
+
     /**
      * 지정된 ID에 해당하는 게시물을 찾아 반환합니다.
      *
@@ -197,6 +230,17 @@ public class PostRepositoryImpl implements PostRepository {
         return store.get(id);
     }
 
+    /**
+     * 지정된 ID에 해당하는 게시물을 찾아 반환합니다. 메모리 저장소는 파일 정보를 게시물과 함께 보관하므로 {@link #findById}와 같습니다.
+     *
+     * @param id 조회할 게시물의 ID
+     * @return 찾아진 게시물 객체, ID에 해당하는 게시물이 없으면 null 반환
+     */
+    @Override
+    public Post findByIdWithoutFiles(Long id) {
+        return findById(id);
+    }
+
     /**
      * 특정 회원이 작성한 모든 게시물을 찾아 리스트 형태로 반환합니다.
      *
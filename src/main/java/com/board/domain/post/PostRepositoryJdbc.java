@@ -1,11 +1,12 @@
 package com.board.domain.post;
 
-import com.board.domain.uploadfile.FileTypeEnum;
 import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
@@ -13,7 +14,6 @@ import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * JDBC를 사용하여 데이터베이스에 게시물 정보를 저장하고 관리하는 리포지토리입니다.
@@ -91,9 +91,22 @@ public class PostRepositoryJdbc implements PostRepository {
         log.info("AUTHOR UPDATED [ID={}, Author={}]", id, author);
     }
 
+    /**
+     * 특정 회원이 작성한 모든 게시물의 작성자명을 하나의 UPDATE 문으로 변경합니다.
+     *
+     * @param authorId 작성자 회원 ID
+     * @param author   변경할 작성자명
+     */
+    @Override
+    public void updateAuthorByAuthorId(Long authorId, String author) {
+        String sql = "update post set author = ? where author_id = ?";
+        int updated = jdbcTemplate.update(sql, author, authorId);
+        log.info("AUTHOR UPDATED [AuthorID={}, Author={}, Posts={}]", authorId, author, updated);
+    }
+
     /**
      * 지정된 ID의 게시물을 데이터베이스에서 삭제합니다.
-     * DB의 ON DELETE CASCADE 설정에 의해 관련 파일 정보도 함께 삭제됩니다.
+     * DB의 ON DELETE CASCADE 설정(V4__foreign_keys.sql)에 의해 관련 댓글과 파일 정보도 함께 삭제됩니다.
      *
      * @param id 삭제할 게시물의 ID
      * @return 삭제된 게시물 객체 (삭제 전 정보)
@@ -134,25 +147,10 @@ public class PostRepositoryJdbc implements PostRepository {
      */
     @Override
     public List<Post> postSearchFindAll(String type, String keyword, int currentPage, int postsPerPage) {
-        int offset = (currentPage - 1) * postsPerPage;
-        String sql = "select * from post where 1=1";
         List<Object> params = new ArrayList<>();
-
-        if (keyword != null && !keyword.isBlank()) {
-            if ("author".equals(type)) {
-                sql += " and author like ?";
-                params.add("%" + keyword + "%");
-            }
-
-            if ("title".equals(type)) {
-                sql += " and title like ?";
-                params.add("%" + keyword + "%");
-            }
-        }
-
-        sql += " order by id desc limit ? offset ?";
+        String sql = "select * from post" + searchCondition(type, keyword, params) + " order by id desc limit ? offset ?";
         params.add(postsPerPage);
-        params.add(offset);
+        params.add((currentPage - 1) * postsPerPage);
 
         return jdbcTemplate.query(sql, postRowMapper(), params.toArray());
     }
@@ -166,24 +164,75 @@ public class PostRepositoryJdbc implements PostRepository {
      */
     @Override
     public int postSearchCount(String type, String keyword) {
-        String sql = "select count(*) from post where 1=1";
         List<Object> params = new ArrayList<>();
+        String sql = "select count(*) from post" + searchCondition(type, keyword, params);
+        Integer postCount = jdbcTemplate.queryForObject(sql, Integer.class, params.toArray());
 
+        //null이면 0 아니면 postCount  /  return 할때 오토언박싱->postCount.intValue()
+        return Objects.requireNonNullElse(postCount, 0);
+    }
+
+    /**
+     * 검색 조건에 맞는 게시물 한 페이지와 전체 개수를 한 번의 쿼리로 조회합니다.
+     * <p>
+     * 안쪽 쿼리는 id만 읽어 {@code count(*) over()}로 전체 개수를 세면서 한 페이지의 id를 고르고(지연 조인),
+     * 바깥에서 그 id의 제목과 작성자만 PK로 읽습니다. 전체 개수를 세려면 조건에 맞는 행을 모두 봐야 하지만,
+     * 제목과 작성자는 페이지 크기만큼만 읽습니다. 마지막 페이지를 넘어 행이 없을 때만 개수를 따로 셉니다.
+     *
+     * @param type         조회할 타입 (author, title)
+     * @param keyword      검색할 키워드
+     * @param currentPage  현재 페이지 번호 (1부터 시작)
+     * @param postsPerPage 한 페이지에 보여줄 게시물 수
+     * @return 게시물 요약 목록과 전체 개수
+     */
+    @Override
+    public Page<PostSummary> postSearchPage(String type, String keyword, int currentPage, int postsPerPage) {
+        int offset = (currentPage - 1) * postsPerPage;
+        List<Object> params = new ArrayList<>();
+        String sql = "select p.id, p.title, p.author, p.author_id, t.total_count"
+                + " from (select id, count(*) over() as total_count from post" + searchCondition(type, keyword, params)
+                + " order by id desc limit ? offset ?) t"
+                + " join post p on p.id = t.id"
+                + " order by p.id desc";
+        params.add(postsPerPage);
+        params.add(offset);
+
+        Page<PostSummary> page = jdbcTemplate.query(sql, (ResultSetExtractor<Page<PostSummary>>) rs -> {
+            List<PostSummary> content = new ArrayList<>();
+            int totalCount = 0;
+            while (rs.next()) {
+                content.add(new PostSummary(rs.getLong("id"), rs.getString("title"), rs.getString("author"),
+                        rs.getObject("author_id", Long.class)));
+                totalCount = rs.getInt("total_count");
+            }
+            return new Page<>(content, totalCount, currentPage, postsPerPage);
+        }, params.toArray());
+
+        if (page.getContent().isEmpty() && offset > 0) {
+            return new Page<>(List.of(), postSearchCount(type, keyword), currentPage, postsPerPage);
+        }
+        return page;
+    }
+
+    /**
+     * 검색 타입과 키워드로 WHERE 절을 만들고 바인드 값을 params에 추가합니다.
+     *
+     * @return {@code " where 1=1"}로 시작하는 WHERE 절
+     */
+    private static String searchCondition(String type, String keyword, List<Object> params) {
+        String condition = " where 1=1";
         if (keyword != null && !keyword.isBlank()) {
             if ("author".equals(type)) {
-                sql += " and author like ?";
+                condition += " and author like ?";
                 params.add("%" + keyword + "%");
             }
 
             if ("title".equals(type)) {
-                sql += " and title like ?";
+                condition += " and title like ?";
                 params.add("%" + keyword + "%");
             }
         }
-        Integer postCount = jdbcTemplate.queryForObject(sql, Integer.class, params.toArray());
-
-        //null이면 0 아니면 postCount  /  return 할때 오토언박싱->postCount.intValue()
-        return Objects.requireNonNullElse(postCount, 0);
+        return condition;
     }
 
     /**
@@ -207,23 +256,29 @@ public class PostRepositoryJdbc implements PostRepository {
         }
     }
 
+    /**
+     * 지정된 ID의 게시물 본문만 조회합니다. 파일 정보는 채우지 않습니다.
+     *
+     * @param id 조회할 게시물의 ID
+     * @return 찾아진 게시물 객체, 없으면 null 반환
+     */
+    @Override
+    public Post findByIdWithoutFiles(Long id) {
+        String sql = "select * from post where id = ?";
+        try {
+            return jdbcTemplate.queryForObject(sql, postRowMapper(), id);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
     /**
      * 게시글 객체에 연관된 첨부파일과 이미지 파일들을 DB에서 조회하여 채워넣습니다.
      */
     private void fillFiles(Post post) {
-        String sql = "select * from upload_file where post_id = ?";
-        List<UploadFile> allFiles = jdbcTemplate.query(sql, fileRowMapper(), post.getId());
-
-        allFiles.stream()
-                .filter(f -> f.getFileType() == FileTypeEnum.ATTACHED)
-                .findFirst()
-                .ifPresent(post::setAttachFile);//.ifPresent(file -> post.setAttachFile(file));
-
-        List<UploadFile> imageList = allFiles.stream()
-                .filter(f -> f.getFileType() == FileTypeEnum.IMAGE)
-                .collect(Collectors.toList());
-
-        post.setImageFiles(imageList);
+        String sql = "select * from upload_file where post_id = ? order by id";
+        List<UploadFile> allFiles = jdbcTemplate.query(sql, UploadFileRepositoryJdbc.fileRowMapper(), post.getId());
+        post.applyFiles(allFiles);
     }
 
     /**
@@ -242,19 +297,4 @@ public class PostRepositoryJdbc implements PostRepository {
         return BeanPropertyRowMapper.newInstance(Post.class);
     }
 
-    private RowMapper<UploadFile> fileRowMapper() {
-        return (rs, rowNum) -> {
-            UploadFile file = new UploadFile();
-            file.setId(rs.getLong("id"));
-            file.setPostId(rs.getLong("post_id"));
-            file.setStoreFileName(rs.getString("store_file_name"));
-            file.setUploadFileName(rs.getString("upload_file_name"));
-
-            String fileType = rs.getString("file_type");
-            if (fileType != null) {
-                file.setFileType(FileTypeEnum.valueOf(fileType));
-            }
-            return file;
-        };
-    }
 }
\ No newline at end of file
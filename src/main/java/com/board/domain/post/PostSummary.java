@@ -0,0 +1,35 @@
+package com.board.domain.post;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/** 게시물 목록 한 줄에 필요한 정보만 담은 객체 (본문, 파일 제외) */
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+public class PostSummary {
+
+    /** 게시물 고유 ID */
+    private final Long id;
+
+    /** 게시물 제목 */
+    private final String title;
+
+    /** 게시물 작성자 */
+    private final String author;
+
+    /** 게시물 작성자 ID */
+    private final Long authorId;
+
+    public PostSummary(Long id, String title, String author, Long authorId) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.authorId = authorId;
+    }
+
+    public static PostSummary of(Post post) {
+        return new PostSummary(post.getId(), post.getTitle(), post.getAuthor(), post.getAuthorId());
+    }
+}
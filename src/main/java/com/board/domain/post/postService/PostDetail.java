@@ -0,0 +1,25 @@
+package com.board.domain.post.postService;
+
+import com.board.domain.comment.Comment;
+import com.board.domain.post.Post;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 게시물 상세 화면에 필요한 게시물(파일 정보 포함)과 댓글 목록입니다.
+ */
+@Getter
+public class PostDetail {
+
+    /** 첨부파일과 이미지 파일이 채워진 게시물 */
+    private final Post post;
+
+    /** 게시물의 댓글 목록 */
+    private final List<Comment> comments;
+
+    public PostDetail(Post post, List<Comment> comments) {
+        this.post = post;
+        this.comments = comments;
+    }
+}
@@ -0,0 +1,172 @@
+package com.board.domain.post.postService;
+
+import com.board.domain.comment.Comment;
+import com.board.domain.comment.CommentRepository;
+import com.board.domain.post.Post;
+import com.board.domain.post.PostRepository;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.jdbc.JdbcMetrics;
+import com.board.util.jdbc.ReadYourWrites;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 게시물 상세 화면의 세 조회(게시물 본문, 파일 정보, 댓글)를 가상 스레드에서 동시에 실행하는 로더입니다.
+ * <p>
+ * 세 조회는 서로 독립적이므로 화면 지연이 세 쿼리의 합이 아니라 가장 느린 쿼리 하나가 됩니다.
+ * 세 작업은 하나의 마감 시각(post.detail.timeout)을 공유하고, 하나라도 실패하거나 마감이 지나거나
+ * 게시물이 없으면 나머지 작업을 인터럽트로 취소하고 바로 반환합니다. 작업은 모두 이 메서드 안에서 시작되고 끝나며,
+ * 호출 스레드 밖으로 새어 나가지 않습니다(Java 21의 StructuredTaskScope는 프리뷰라 같은 규칙을 ExecutorService로 지킵니다).
+ * <p>
+ * 각 작업은 요청 스레드의 요청 범위({@link JdbcMetrics}의 N+1 집계)와 주 DB 고정({@link ReadYourWrites})을 이어받고,
+ * 자기 스레드에서 읽기 전용 트랜잭션을 열어 조회하므로 복제 DB가 있으면 복제 DB에서 읽습니다(쓰기 직후라 고정된 요청은 주 DB).
+ * <p>
+ * 각 조회는 자기 스레드의 트랜잭션에서 커넥션을 따로 얻으므로 요청 하나가 커넥션을 최대 세 개 사용하고, 세 조회가 같은 스냅숏을 보지는 않습니다.
+ * 상세 화면 요청이 몰리면 세 배로 늘어난 커넥션 요구가 풀(jdbc.concurrency.limit)을 다른 요청보다 먼저 차지하므로,
+ * 동시에 나눠 조회하는 요청은 post.detail.parallel-limit개까지만 두고 나머지는 요청 스레드에서 차례로 조회합니다.
+ * 상한은 풀 크기의 1/3 이하로 둡니다. post.detail.parallel=false면 항상 차례로 조회하며, 이때는 두 조회를 읽기 전용 트랜잭션 하나로 묶습니다.
+ */
+@Slf4j
+@Component
+public class PostDetailLoader {
+
+    private final PostRepository postRepository;
+    private final UploadFileRepositoryJdbc uploadFileRepository;
+    private final CommentRepository commentRepository;
+    private final JdbcMetrics jdbcMetrics;
+    private final ReadYourWrites readYourWrites;
+    private final TransactionTemplate readOnly;
+    private final boolean parallel;
+    private final Duration timeout;
+
+    /** 동시에 나눠 조회할 수 있는 요청 수 */
+    private final Semaphore parallelLoads;
+
+    public PostDetailLoader(PostRepository postRepository,
+                            UploadFileRepositoryJdbc uploadFileRepository,
+                            CommentRepository commentRepository,
+                            JdbcMetrics jdbcMetrics,
+                            ReadYourWrites readYourWrites,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${post.detail.parallel:true}") boolean parallel,
+                            @Value("${post.detail.parallel-limit:3}") int parallelLimit,
+                            @Value("${post.detail.timeout:3s}") Duration timeout) {
+        this.postRepository = postRepository;
+        this.uploadFileRepository = uploadFileRepository;
+        this.commentRepository = commentRepository;
+        this.jdbcMetrics = jdbcMetrics;
+        this.readYourWrites = readYourWrites;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.parallel = parallel;
+        this.parallelLoads = new Semaphore(Math.max(1, parallelLimit));
+        this.timeout = timeout;
+    }
+
+    /**
+     * 게시물 상세 정보를 조회합니다.
+     *
+     * @param postId 조회할 게시물 ID
+     * @return 게시물과 댓글 목록, 게시물이 없으면 null
+     * @throws QueryTimeoutException 마감 시각 안에 세 조회가 끝나지 않은 경우
+     */
+    public PostDetail load(Long postId) {
+        // 상한에 걸리면 기다리지 않고 차례로 조회합니다. 요청 하나가 쓰는 커넥션이 하나로 줄어듭니다.
+        if (!parallel || !parallelLoads.tryAcquire()) {
+            return readOnly.execute(status -> {
+                Post post = postRepository.findById(postId);
+                return post == null ? null : new PostDetail(post, commentRepository.findAllByPostId(postId));
+            });
+        }
+        try {
+            return loadInParallel(postId);
+        } finally {
+            parallelLoads.release();
+        }
+    }
+
+    private PostDetail loadInParallel(Long postId) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<Object> tasks = new ExecutorCompletionService<>(executor);
+        Future<Object> postTask = tasks.submit(inCurrentRequest(() -> postRepository.findByIdWithoutFiles(postId)));
+        Future<Object> filesTask = tasks.submit(inCurrentRequest(() -> uploadFileRepository.findByPostId(postId)));
+        Future<Object> commentsTask = tasks.submit(inCurrentRequest(() -> commentRepository.findAllByPostId(postId)));
+        try {
+            // 끝나는 순서대로 확인하므로 어느 작업이든 먼저 실패하면 나머지를 기다리지 않습니다.
+            for (int remaining = 3; remaining > 0; remaining--) {
+                Future<Object> completed = next(tasks, deadline, postId);
+                if (completed == postTask && completed.resultNow() == null) {
+                    return null;
+                }
+            }
+
+            Post post = (Post) postTask.resultNow();
+            post.applyFiles(castList(filesTask.resultNow()));
+            return new PostDetail(post, castList(commentsTask.resultNow()));
+        } finally {
+            // 정상 종료면 모두 끝난 뒤라 영향이 없고, 실패나 조기 반환이면 남은 작업을 인터럽트합니다.
+            // 끝날 때까지 기다리지 않으므로 드라이버가 인터럽트에 반응하지 않아도 요청은 마감 시각에 반환됩니다.
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 요청 스레드의 요청 범위와 주 DB 고정을 이어받아, 실행하는 스레드에서 읽기 전용 트랜잭션으로 조회하는 작업을 만듭니다.
+     * 요청 스레드에서 호출해야 합니다.
+     */
+    private Callable<Object> inCurrentRequest(Supplier<Object> query) {
+        Callable<Object> task = () -> readOnly.execute(status -> query.get());
+        return readYourWrites.withCurrentRequest(jdbcMetrics.withCurrentRequest(task));
+    }
+
+    /**
+     * 다음으로 끝난 작업을 마감 시각까지 기다립니다. 작업이 실패했으면 그 예외를 던집니다.
+     */
+    private Future<Object> next(CompletionService<Object> tasks, long deadline, Long postId) {
+        try {
+            Future<Object> completed = tasks.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (completed == null) {
+                log.warn("게시물 상세 조회 시간 초과 [PostID={}, Timeout={}ms]", postId, timeout.toMillis());
+                throw new QueryTimeoutException("게시물 상세 조회가 " + timeout.toMillis() + "ms 안에 끝나지 않았습니다. (ID: " + postId + ")");
+            }
+            completed.get();
+            return completed;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("게시물 상세 조회 실패 (ID: " + postId + ")", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("게시물 상세 조회가 중단되었습니다. (ID: " + postId + ")");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> castList(Object value) {
+        return (List<T>) value;
+    }
+}
@@ -1,22 +1,37 @@
 package com.board.domain.post.postService;
 
+import com.board.domain.post.Page;
 import com.board.domain.post.Post;
 import com.board.domain.post.PostRepository;
+import com.board.domain.post.PostSummary;
 import com.board.domain.uploadfile.FileTypeEnum;
 import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileLookup;
 import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.file.ChunkedUploadStore;
 import com.board.util.file.FileStore;
+import com.board.util.file.StagedFile;
+import com.board.util.file.ThumbnailGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 게시물과 관련된 비즈니스 로직을 처리하는 서비스 클래스입니다.
- * 데이터베이스 작업(Repository)과 파일 저장 작업(FileStore)을 하나의 트랜잭션으로 묶어 관리합니다.
+ * 업로드 파일은 트랜잭션을 시작하기 전에 임시 영역에 받아 두고(FileStore.stage) 최종 저장소에 올린 뒤(promote),
+ * 트랜잭션 안에서는 DB 작업만 수행합니다. 저장소가 S3여도 업로드는 커넥션을 잡기 전에 끝나므로 DB 커넥션을 잡고 있는 시간이 업로드 크기와 무관합니다.
+ * 롤백되면 이번에 올린 파일을 지우고, 그 전에 서버가 죽어 남은 파일은 파일 수거 작업(UploadFileGarbageCollector)이 유예 시간 뒤에 정리합니다.
  */
 @Slf4j
 @Service
@@ -25,33 +40,25 @@ public class PostService {
 
     private final PostRepository postRepository;
     private final UploadFileRepositoryJdbc uploadFileRepository;
+    private final UploadFileLookup uploadFileLookup;
     private final FileStore fileStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final ChunkedUploadStore chunkedUploadStore;
 
     /**
-     * 검색 조건과 페이징 설정을 기준으로 게시물 목록을 조회합니다.
+     * 검색 조건과 페이징 설정을 기준으로 게시물 목록 한 페이지와 전체 개수를 한 번의 쿼리로 조회합니다.
      * 읽기 전용 트랜잭션으로 설정하여 조회 성능을 최적화합니다.
      *
      * @param type         검색할 타입 (예: title, author)
      * @param keyword      검색할 키워드
      * @param currentPage  현재 페이지 번호
      * @param postsPerPage 한 페이지에 보여줄 게시물 수
-     * @return 검색 조건에 맞는 게시물 리스트
+     * @return 검색 조건에 맞는 게시물 요약 목록과 전체 게시글 수
      */
     @Transactional(readOnly = true)
-    public List<Post> findPosts(String type, String keyword, int currentPage, int postsPerPage) {
-        return postRepository.postSearchFindAll(type, keyword, currentPage, postsPerPage);
-    }
-
-    /**
-     * 검색 조건에 맞는 전체 게시물 개수를 반환합니다. 주로 페이징 처리를 위해 사용됩니다.
-     *
-     * @param type    검색할 타입
-     * @param keyword 검색할 키워드
-     * @return 검색 조건에 일치하는 전체 게시글 수
-     */
-    @Transactional(readOnly = true)
-    public int getTotalCount(String type, String keyword) {
-        return postRepository.postSearchCount(type, keyword);
+    public Page<PostSummary> findPostPage(String type, String keyword, int currentPage, int postsPerPage) {
+        return postRepository.postSearchPage(type, keyword, currentPage, postsPerPage);
     }
 
     /**
@@ -66,71 +73,160 @@ public class PostService {
         return postRepository.findById(id);
     } //findById 나중에 리펙터링할것
 
+    /**
+     * 게시물에 올라간 첨부파일과 이미지 파일 정보를 모두 조회합니다. 게시물 본문은 조회하지 않습니다.
+     *
+     * @param postId 게시물 ID
+     * @return 업로드 순서대로 정렬된 파일 정보 목록, 없으면 빈 목록
+     */
+    @Transactional(readOnly = true)
+    public List<UploadFile> getUploadFiles(Long postId) {
+        return uploadFileRepository.findByPostId(postId);
+    }
+
     /**
      * 새로운 게시물과 업로드된 파일들을 함께 저장합니다.
-     * 물리적 파일 저장과 DB 저장이 하나의 트랜잭션으로 묶여 있어 중간에 실패할 경우 전체 롤백됩니다.
+     * 파일은 트랜잭션 전에 임시 영역에 받아 최종 저장소에 올려 두고, 트랜잭션에서는 게시물과 파일 정보만 DB에 저장합니다.
+     * 중간에 실패하여 롤백되면 올려 둔 파일과 임시 파일도 함께 지워집니다.
      *
      * @param post       저장할 게시물 본문 정보
      * @param attachFile 업로드된 단일 첨부파일
      * @param imageFiles 업로드된 다중 이미지 파일 목록
      * @return 데이터베이스에 저장되고 생성된 게시물의 고유 ID
      */
-    @Transactional
     public Long savePost(Post post, MultipartFile attachFile, List<MultipartFile> imageFiles) {
-        Post savedPost = postRepository.save(post);
-        Long postId = savedPost.getId();
+        return savePost(post, attachFile, imageFiles, null);
+    }
 
-        UploadFile uploadAttachFile = fileStore.storeFile(attachFile, FileTypeEnum.ATTACHED);
-        if (uploadAttachFile != null) {
-            uploadAttachFile.setPostId(postId);
-            uploadFileRepository.save(uploadAttachFile);
-        }
+    /**
+     * 새로운 게시물과 업로드된 파일들을 함께 저장합니다.
+     * attachUploadId가 있으면 분할 업로드로 미리 받아 둔 파일을 첨부파일로 사용합니다.
+     * 이 경우 업로드한 회원과 게시물 작성자가 같아야 하며, 롤백되면 분할 업로드 파일도 지워집니다.
+     *
+     * @param post           저장할 게시물 본문 정보
+     * @param attachFile     업로드된 단일 첨부파일
+     * @param imageFiles     업로드된 다중 이미지 파일 목록
+     * @param attachUploadId 완료된 분할 업로드 ID, 없으면 null
+     * @return 데이터베이스에 저장되고 생성된 게시물의 고유 ID
+     */
+    public Long savePost(Post post, MultipartFile attachFile, List<MultipartFile> imageFiles, String attachUploadId) {
+        List<StagedFile> stagedFiles = new ArrayList<>();
+        List<StagedFile> writtenFiles = new ArrayList<>();
+        AtomicBoolean committed = new AtomicBoolean();
+        try {
+            StagedFile stagedAttachFile = attachUploadId != null && !attachUploadId.isBlank()
+                    ? chunkedUploadStore.claim(attachUploadId, post.getAuthorId())
+                    : fileStore.stage(attachFile, FileTypeEnum.ATTACHED);
+            if (stagedAttachFile != null) {
+                stagedFiles.add(stagedAttachFile);
+            }
+            List<UploadFile> uploadImageFiles = uploadFilesOf(fileStore.stageFiles(imageFiles, FileTypeEnum.IMAGE), stagedFiles);
+            promote(stagedFiles, writtenFiles);
 
-        List<UploadFile> uploadImageFiles = fileStore.storeFiles(imageFiles, FileTypeEnum.IMAGE);
-        for (UploadFile uploadImageFile : uploadImageFiles) {
-            uploadImageFile.setPostId(postId);
-            uploadFileRepository.save(uploadImageFile);
-        }
+            return transactionTemplate.execute(status -> {
+                runAfterCommit(() -> committed.set(true));
+
+                Post savedPost = postRepository.save(post);
+                Long postId = savedPost.getId();
+                saveUploadFiles(postId, stagedFiles);
 
-        return postId;
+                runAfterCommit(() -> {
+                    uploadFileLookup.evict(postId);
+                    thumbnailGenerator.generateAsync(uploadImageFiles);
+                });
+                return postId;
+            });
+        } catch (RuntimeException e) {
+            discard(stagedFiles, writtenFiles, committed.get());
+            throw e;
+        }
     }
 
     /**
-     * 기존 게시물의 본문을 수정하고, 새로운 파일이 업로드된 경우 기존 파일을 대체합니다.
-     * 새로운 파일이 전달되지 않은 경우 기존 파일 정보는 그대로 유지됩니다.
+     * 기존 게시물의 본문을 수정하고, 파일은 바뀐 부분만 반영합니다.
+     * removeFileIds로 지정한 기존 파일만 삭제하고, 새로 업로드된 이미지는 기존 이미지 뒤에 추가합니다.
+     * 첨부파일은 게시물당 하나이므로 새 첨부파일이 올라오면 기존 첨부파일을 대체합니다.
+     * 유지되는 파일은 디스크와 upload_file 모두 건드리지 않습니다.
+     * 새 파일은 트랜잭션 전에 임시 영역에 받아 최종 저장소에 올려 두고, 롤백되면 지웁니다.
      *
      * @param postId        수정할 게시물의 고유 ID
      * @param title         수정할 제목
      * @param content       수정할 내용
-     * @param newAttachFile 새롭게 업로드된 첨부파일 (기존 첨부파일 완전 교체 목적)
-     * @param newImageFiles 새롭게 업로드된 이미지 파일 목록 (기존 이미지파일들 완전 교체 목적)
+     * @param newAttachFile 새롭게 업로드된 첨부파일 (기존 첨부파일 교체)
+     * @param newImageFiles 새롭게 업로드된 이미지 파일 목록 (기존 이미지에 추가)
+     * @param removeFileIds 삭제할 기존 파일 ID 목록, 없으면 null
      */
-    @Transactional
-    public void updatePost(Long postId, String title, String content, MultipartFile newAttachFile, List<MultipartFile> newImageFiles) {
-        postRepository.update(postId, title, content);
-
+    public void updatePost(Long postId, String title, String content, MultipartFile newAttachFile,
+                           List<MultipartFile> newImageFiles, List<Long> removeFileIds) {
         boolean hasNewAttach = fileChecker(newAttachFile);
         boolean hasNewImages = filesChecker(newImageFiles);
+        Set<Long> removeIds = removeFileIds == null ? Set.of() : new HashSet<>(removeFileIds);
 
-        if (hasNewAttach || hasNewImages) {
-            uploadFileRepository.deleteByPostId(postId);
-
+        List<StagedFile> stagedFiles = new ArrayList<>();
+        List<StagedFile> writtenFiles = new ArrayList<>();
+        AtomicBoolean committed = new AtomicBoolean();
+        try {
             if (hasNewAttach) {
-                UploadFile attachFile = fileStore.storeFile(newAttachFile, FileTypeEnum.ATTACHED);
-                attachFile.setPostId(postId);
-                uploadFileRepository.save(attachFile);
+                stagedFiles.add(fileStore.stage(newAttachFile, FileTypeEnum.ATTACHED));
             }
+            List<UploadFile> images = hasNewImages
+                    ? uploadFilesOf(fileStore.stageFiles(newImageFiles, FileTypeEnum.IMAGE), stagedFiles)
+                    : List.of();
+            promote(stagedFiles, writtenFiles);
 
-            if (hasNewImages) {
-                List<UploadFile> images = fileStore.storeFiles(newImageFiles, FileTypeEnum.IMAGE);
-                for (UploadFile image : images) {
-                    image.setPostId(postId);
-                    uploadFileRepository.save(image);
+            transactionTemplate.executeWithoutResult(status -> {
+                runAfterCommit(() -> committed.set(true));
+                postRepository.update(postId, title, content);
+
+                if (!hasNewAttach && stagedFiles.isEmpty() && removeIds.isEmpty()) {
+                    return;
                 }
-            }
+
+                List<UploadFile> removedFiles = uploadFileRepository.findByPostId(postId).stream()
+                        .filter(file -> removeIds.contains(file.getId())
+                                || (hasNewAttach && file.getFileType() == FileTypeEnum.ATTACHED))
+                        .toList();
+                if (removedFiles.isEmpty() && stagedFiles.isEmpty()) {
+                    return;
+                }
+
+                runAfterCommit(() -> uploadFileLookup.evict(postId));
+
+                uploadFileRepository.deleteByPostIdAndIds(postId, removedFiles.stream().map(UploadFile::getId).toList());
+                saveUploadFiles(postId, stagedFiles);
+                if (!images.isEmpty()) {
+                    runAfterCommit(() -> thumbnailGenerator.generateAsync(images));
+                }
+
+                releaseFilesAfterCommit(removedFiles);
+            });
+        } catch (RuntimeException e) {
+            discard(stagedFiles, writtenFiles, committed.get());
+            throw e;
         }
     }
 
+    /**
+     * 임시 저장된 파일들을 누적 목록에 더하고, 그 파일 정보만 꺼내 반환합니다.
+     */
+    private static List<UploadFile> uploadFilesOf(List<StagedFile> staged, List<StagedFile> accumulator) {
+        accumulator.addAll(staged);
+        return staged.stream().map(StagedFile::getUploadFile).toList();
+    }
+
+    /**
+     * 임시 저장된 파일들의 정보를 게시물에 연결하여 한 번의 배치로 DB에 저장합니다.
+     */
+    private void saveUploadFiles(Long postId, List<StagedFile> stagedFiles) {
+        List<UploadFile> uploadFiles = new ArrayList<>();
+        for (StagedFile stagedFile : stagedFiles) {
+            UploadFile uploadFile = stagedFile.getUploadFile();
+            uploadFile.setPostId(postId);
+            uploadFiles.add(uploadFile);
+        }
+        uploadFileRepository.saveAll(uploadFiles);
+    }
+
     /**
      * 단일 파일이 정상적으로 업로드되었는지 확인하는 내부 유틸리티 메서드입니다.
      * @param newAttachFile 검증할 파일 객체
@@ -151,12 +247,87 @@ public class PostService {
 
     /**
      * 지정된 ID의 게시물을 삭제합니다.
-     * 데이터베이스의 외래키 제약조건(ON DELETE CASCADE) 설정에 따라 연관된 파일 정보도 함께 삭제됩니다.
+     * 데이터베이스의 외래키 제약조건(ON DELETE CASCADE) 설정에 따라 연관된 댓글과 파일 정보도 함께 삭제되며,
+     * 물리 파일은 커밋 후 저장소에서 지웁니다. (내용 주소 방식 파일은 파일 수거 작업이 지웁니다)
      *
      * @param postId 삭제할 게시물의 고유 ID
      */
     @Transactional
     public void deletePost(Long postId) {
+        List<UploadFile> files = uploadFileRepository.findByPostId(postId);
         postRepository.delete(postId);
+        runAfterCommit(() -> uploadFileLookup.evict(postId));
+        releaseFilesAfterCommit(files);
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤, 게시물에서 떼어 낸 물리 파일을 저장소에서 삭제합니다.
+     * UUID 파일은 업로드 한 건만 가리키므로 바로 지웁니다. 내용 주소 방식 파일은 여러 게시물이 공유하고,
+     * 참조 수를 센 뒤 지우기까지의 사이에 다른 저장이 같은 파일을 재사용할 수 있으므로 여기서 지우지 않고
+     * 파일 수거 작업(UploadFileGarbageCollector)이 유예 시간 동안 참조되지 않은 것을 확인한 뒤 지웁니다.
+     * 롤백되면 아무 파일도 지우지 않습니다.
+     *
+     * @param files DB에서 연결이 끊어진 파일 목록
+     */
+    private void releaseFilesAfterCommit(List<UploadFile> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+
+        runAfterCommit(() -> files.stream()
+                .map(UploadFile::getStoreFileName)
+                .filter(storeFileName -> !FileStore.isContentAddressed(storeFileName))
+                .distinct()
+                .forEach(fileStore::deleteFile));
+    }
+
+    /**
+     * 트랜잭션을 시작하기 전에 임시 파일들을 최종 저장소에 올립니다. DB 커넥션을 잡지 않은 상태라 업로드가 오래 걸려도 풀에 영향이 없습니다.
+     * 새로 쓴 파일은 written에 모아 두어 이후에 실패하면 지울 수 있게 합니다.
+     *
+     * @param stagedFiles 임시 저장된 파일 목록
+     * @param written     저장소에 새로 쓴 파일을 담을 목록
+     */
+    private void promote(List<StagedFile> stagedFiles, List<StagedFile> written) {
+        for (StagedFile stagedFile : stagedFiles) {
+            if (fileStore.promote(stagedFile)) {
+                written.add(stagedFile);
+            }
+        }
+    }
+
+    /**
+     * 저장이 실패했을 때 임시 파일을 지우고, 커밋되지 않았다면 이번에 올린 파일도 지웁니다.
+     * 내용 주소 방식 파일은 그사이 다른 게시물이 같은 파일을 재사용했을 수 있으므로 지우지 않고 파일 수거 작업에 맡깁니다.
+     * 커밋 후 작업에서 난 예외라면 DB가 이미 파일을 가리키므로 올린 파일은 그대로 둡니다.
+     */
+    private void discard(List<StagedFile> stagedFiles, List<StagedFile> written, boolean committed) {
+        stagedFiles.forEach(fileStore::discard);
+        if (committed) {
+            return;
+        }
+        written.stream()
+                .map(stagedFile -> stagedFile.getUploadFile().getStoreFileName())
+                .filter(storeFileName -> !FileStore.isContentAddressed(storeFileName))
+                .forEach(fileStore::deleteFile);
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 작업을 실행합니다. 트랜잭션 밖이면 바로 실행합니다.
+     *
+     * @param task 커밋 후 실행할 작업
+     */
+    private static void runAfterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
     }
 }
\ No newline at end of file
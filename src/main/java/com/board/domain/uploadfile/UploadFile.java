@@ -24,9 +24,47 @@ public class UploadFile {
     /** 이미지 또는 첨부파일 구분 */
     private FileTypeEnum fileType;
 
+    /** 파일 크기 (바이트) */
+    private Long fileSize;
+
+    /** MIME 타입 (이미지는 실제 형식 기준, 그 외는 확장자 기준) */
+    private String contentType;
+
+    /** 파일 내용의 SHA-256 (16진수 64자), 다운로드 시 ETag로 사용 */
+    private String sha256;
+
+    /** 이미지 가로 픽셀 (이미지가 아니거나 읽을 수 없으면 null) */
+    private Integer width;
+
+    /** 이미지 세로 픽셀 (이미지가 아니거나 읽을 수 없으면 null) */
+    private Integer height;
+
     public UploadFile(String uploadFileName, String storeFileName, FileTypeEnum fileType) {
         this.uploadFileName = uploadFileName;
         this.storeFileName = storeFileName;
         this.fileType = fileType;
     }
+
+    /**
+     * 가로 폭이 maxWidth를 넘지 않도록 줄였을 때의 가로 픽셀입니다. 크기를 모르면 null을 반환합니다.
+     */
+    public Integer scaledWidth(int maxWidth) {
+        if (width == null || height == null) {
+            return null;
+        }
+        return Math.min(width, maxWidth);
+    }
+
+    /**
+     * 가로 폭이 maxWidth를 넘지 않도록 비율을 유지하며 줄였을 때의 세로 픽셀입니다. 크기를 모르면 null을 반환합니다.
+     */
+    public Integer scaledHeight(int maxWidth) {
+        if (width == null || height == null) {
+            return null;
+        }
+        if (width <= maxWidth) {
+            return height;
+        }
+        return Math.max(1, (int) Math.round((double) height * maxWidth / width));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.board.domain.uploadfile;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 파일 다운로드에 필요한 파일 정보를 조회하는 작은 LRU 캐시입니다. 첨부파일은 게시물 ID로 조회합니다.
+ * 게시물 본문이나 이미지 목록 없이 첨부파일 행 하나만 필요하므로 postService.getPost를 거치지 않습니다.
+ * 게시물이 저장, 수정, 삭제되면 PostService가 해당 항목을 비웁니다.
+ * <p>
+ * 캐시는 서버마다 따로 있어 다른 서버에서 일어난 수정은 비울 수 없으므로, 항목은 file.lookup.ttl(기본 1분)이 지나면 다시 조회합니다.
+ * 조회하는 사이에 비우기가 일어나면 조회 결과가 이미 낡았을 수 있으므로 캐시에 넣지 않습니다.
+ * <p>
+ * 이미지 응답에 쓰는 파일 정보(크기, 해시, 형식)는 서버 내부 파일명으로 따로 캐시합니다.
+ * 파일명마다 내용이 정해져 있어 바뀌지 않으므로 유지 시간과 비우기가 필요 없습니다.
+ */
+@Component
+public class UploadFileLookup {
+
+    /** 캐시마다 유지할 최대 항목 수 */
+    private static final int MAX_ENTRIES = 1024;
+
+    private final UploadFileRepositoryJdbc uploadFileRepository;
+    private final long ttlNanos;
+
+    /** 첨부파일이 없는 게시물도 Optional.empty()로 기억해 두어 반복 조회를 막습니다. */
+    private final Map<Long, Entry> attachFiles = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /** 서버 내부 파일명 -> 파일 정보. 없는 파일은 기억하지 않습니다. */
+    private final Map<String, UploadFile> filesByStoreFileName = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UploadFile> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /** 비우기가 일어날 때마다 늘어나는 세대 번호 (attachFiles로 동기화) */
+    private long generation;
+
+    public UploadFileLookup(UploadFileRepositoryJdbc uploadFileRepository,
+                            @Value("${file.lookup.ttl:PT1M}") Duration ttl) {
+        this.uploadFileRepository = uploadFileRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * 게시물의 첨부파일 정보를 조회합니다.
+     *
+     * @param postId 게시물 ID
+     * @return 첨부파일 정보, 없으면 null
+     */
+    public UploadFile findAttachFile(Long postId) {
+        long startGeneration;
+        synchronized (attachFiles) {
+            Entry cached = attachFiles.get(postId);
+            if (cached != null && System.nanoTime() - cached.loadedAt < ttlNanos) {
+                return cached.attachFile.orElse(null);
+            }
+            startGeneration = generation;
+        }
+
+        Optional<UploadFile> loaded = Optional.ofNullable(uploadFileRepository.findAttachByPostId(postId));
+        synchronized (attachFiles) {
+            if (generation == startGeneration) {
+                attachFiles.put(postId, new Entry(loaded, System.nanoTime()));
+            }
+        }
+        return loaded.orElse(null);
+    }
+
+    /**
+     * 서버 내부 파일명으로 파일 정보를 조회합니다.
+     *
+     * @param storeFileName 서버 내부에서 관리하는 파일명
+     * @return 파일 정보, 없으면 null
+     */
+    public UploadFile findByStoreFileName(String storeFileName) {
+        UploadFile cached;
+        synchronized (filesByStoreFileName) {
+            cached = filesByStoreFileName.get(storeFileName);
+        }
+        if (cached != null) {
+            return cached;
+        }
+
+        UploadFile loaded = uploadFileRepository.findByStoreFileName(storeFileName);
+        if (loaded != null) {
+            synchronized (filesByStoreFileName) {
+                filesByStoreFileName.put(storeFileName, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 게시물의 캐시 항목을 비웁니다. 지금 진행 중인 조회의 결과도 캐시에 넣지 않게 합니다.
+     *
+     * @param postId 게시물 ID
+     */
+    public void evict(Long postId) {
+        synchronized (attachFiles) {
+            generation++;
+            attachFiles.remove(postId);
+        }
+    }
+
+    private static class Entry {
+
+        final Optional<UploadFile> attachFile;
+        final long loadedAt;
+
+        Entry(Optional<UploadFile> attachFile, long loadedAt) {
+            this.attachFile = attachFile;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -2,40 +2,90 @@ package com.board.domain.uploadfile;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Repository
 public class UploadFileRepositoryJdbc {
 
     private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
     private final SimpleJdbcInsert insertActor;
 
     public UploadFileRepositoryJdbc(JdbcTemplate jdbcTemplate, DataSource dataSource) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
         this.insertActor = new SimpleJdbcInsert(dataSource)
                 .withTableName("upload_file")
                 .usingGeneratedKeyColumns("id");
     }
 
     public UploadFile save(UploadFile file) {
-        MapSqlParameterSource params = new MapSqlParameterSource()
+        Number key = insertActor.executeAndReturnKey(insertParams(file));
+        file.setId(key.longValue());
+
+        log.info("FILE SAVE [ID={}, PostID={}, Type={}]", file.getId(), file.getPostId(), file.getFileType());
+        return file;
+    }
+
+    /**
+     * 여러 파일 정보를 한 번의 JDBC 배치로 저장하고, 생성된 ID를 각 객체에 채워 넣습니다.
+     * MySQL에서는 rewriteBatchedStatements=true 설정으로 드라이버가 배치를 다중 행 INSERT 한 문장으로 합쳐 보냅니다.
+     * @param files 저장할 파일 정보 목록
+     * @return ID가 채워진 파일 정보 목록 (입력과 같은 순서)
+     */
+    public List<UploadFile> saveAll(List<UploadFile> files) {
+        if (files.isEmpty()) {
+            return files;
+        }
+
+        String sql = "insert into upload_file (post_id, store_file_name, upload_file_name, file_type, file_size, content_type, sha256, width, height) "
+                + "values (:post_id, :store_file_name, :upload_file_name, :file_type, :file_size, :content_type, :sha256, :width, :height)";
+        SqlParameterSource[] batchParams = files.stream()
+                .map(UploadFileRepositoryJdbc::insertParams)
+                .toArray(SqlParameterSource[]::new);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedJdbcTemplate.batchUpdate(sql, batchParams, keyHolder, new String[]{"id"});
+
+        // 드라이버마다 키 컬럼 이름이 달라(MySQL: GENERATED_KEY, H2: ID) 행마다 첫 번째 값을 사용합니다.
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < files.size(); i++) {
+            Number key = (Number) keys.get(i).values().iterator().next();
+            files.get(i).setId(key.longValue());
+        }
+
+        log.info("FILES SAVE [PostID={}, Count={}]", files.get(0).getPostId(), files.size());
+        return files;
+    }
+
+    private static MapSqlParameterSource insertParams(UploadFile file) {
+        return new MapSqlParameterSource()
                 .addValue("post_id", file.getPostId())
                 .addValue("store_file_name", file.getStoreFileName())
                 .addValue("upload_file_name", file.getUploadFileName())
 
                 // Enum을 DB에 저장할때 -> .name()을 써서 문자열로 변환
-                .addValue("file_type", file.getFileType().name());
-
-        Number key = insertActor.executeAndReturnKey(params);
-        file.setId(key.longValue());
-
-        log.info("FILE SAVE [ID={}, PostID={}, Type={}]", file.getId(), file.getPostId(), file.getFileType());
-        return file;
+                .addValue("file_type", file.getFileType().name())
+                .addValue("file_size", file.getFileSize())
+                .addValue("content_type", file.getContentType())
+                .addValue("sha256", file.getSha256())
+                .addValue("width", file.getWidth())
+                .addValue("height", file.getHeight());
     }
 
     public void deleteByPostId(Long postId) {
@@ -43,4 +93,92 @@ public class UploadFileRepositoryJdbc {
         jdbcTemplate.update(sql, postId);
         log.info("FILES DELETED [PostID={}]", postId);
     }
+
+    /**
+     * 특정 게시물에 연결된 파일 중 지정한 ID의 파일 정보만 삭제합니다.
+     * 다른 게시물의 파일을 지우지 않도록 게시물 ID로도 범위를 제한합니다.
+     * @param postId 게시물 ID
+     * @param ids 삭제할 파일 ID 목록
+     */
+    public void deleteByPostIdAndIds(Long postId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String sql = "delete from upload_file where post_id = :postId and id in (:ids)";
+        int deleted = namedJdbcTemplate.update(sql, Map.of("postId", postId, "ids", ids));
+        log.info("FILES DELETED [PostID={}, Count={}]", postId, deleted);
+    }
+
+    /**
+     * 특정 게시물에 연결된 모든 파일 정보를 조회합니다.
+     * @param postId 조회할 게시물 ID
+     * @return 게시물의 파일 리스트
+     */
+    public List<UploadFile> findByPostId(Long postId) {
+        String sql = "select * from upload_file where post_id = ? order by id";
+        return jdbcTemplate.query(sql, fileRowMapper(), postId);
+    }
+
+    /**
+     * 특정 게시물의 첨부파일 정보 하나만 조회합니다.
+     * @param postId 조회할 게시물 ID
+     * @return 첨부파일 정보, 없으면 null
+     */
+    public UploadFile findAttachByPostId(Long postId) {
+        String sql = "select * from upload_file where post_id = ? and file_type = ? limit 1";
+        List<UploadFile> result = jdbcTemplate.query(sql, fileRowMapper(), postId, FileTypeEnum.ATTACHED.name());
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * 서버 내부 파일명으로 파일 정보 하나를 조회합니다.
+     * 내용 주소 방식에서는 여러 행이 같은 파일을 가리키지만 크기와 해시는 같으므로 아무 행이나 하나만 읽습니다.
+     * @param storeFileName 서버 내부에서 관리하는 파일명
+     * @return 파일 정보, 없으면 null
+     */
+    public UploadFile findByStoreFileName(String storeFileName) {
+        String sql = "select * from upload_file where store_file_name = ? limit 1";
+        List<UploadFile> result = jdbcTemplate.query(sql, fileRowMapper(), storeFileName);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * 주어진 파일명 중 upload_file 에서 참조되고 있는 파일명만 골라 반환합니다.
+     * 저장소 디렉터리를 훑는 쪽에서 일정 개수씩 묶어 호출하는 용도입니다.
+     * @param storeFileNames 확인할 서버 내부 파일명 목록
+     * @return 참조되고 있는 파일명 집합
+     */
+    public Set<String> findReferencedStoreFileNames(Collection<String> storeFileNames) {
+        if (storeFileNames.isEmpty()) {
+            return Set.of();
+        }
+        String sql = "select distinct store_file_name from upload_file where store_file_name in (:names)";
+        List<String> referenced = namedJdbcTemplate.queryForList(sql, Map.of("names", storeFileNames), String.class);
+        return new HashSet<>(referenced);
+    }
+
+    /**
+     * upload_file 한 행을 UploadFile로 바꿉니다. 게시물 조회 쪽에서도 같은 매퍼를 사용합니다.
+     */
+    public static RowMapper<UploadFile> fileRowMapper() {
+        return (rs, rowNum) -> {
+            UploadFile file = new UploadFile();
+            file.setId(rs.getLong("id"));
+            file.setPostId(rs.getLong("post_id"));
+            file.setStoreFileName(rs.getString("store_file_name"));
+            file.setUploadFileName(rs.getString("upload_file_name"));
+
+            String fileType = rs.getString("file_type");
+            if (fileType != null) {
+                file.setFileType(FileTypeEnum.valueOf(fileType));
+            }
+
+            file.setFileSize(rs.getObject("file_size", Long.class));
+            file.setContentType(rs.getString("content_type"));
+            file.setSha256(rs.getString("sha256"));
+            file.setWidth(rs.getObject("width", Integer.class));
+            file.setHeight(rs.getObject("height", Integer.class));
+            return file;
+        };
+    }
 }
\ No newline at end of file
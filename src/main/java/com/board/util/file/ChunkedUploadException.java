@@ -0,0 +1,31 @@
+package com.board.util.file;
+
+import lombok.Getter;
+
+/**
+ * 분할 업로드 요청을 처리할 수 없을 때 발생하는 예외입니다.
+ * 컨트롤러가 reason에 따라 HTTP 상태 코드를 정합니다.
+ */
+@Getter
+public class ChunkedUploadException extends RuntimeException {
+
+    public enum Reason {
+        /** 업로드가 없거나 다른 회원의 업로드인 경우 */
+        NOT_FOUND,
+        /** 조각의 위치나 길이가 파일 크기를 벗어난 경우 */
+        BAD_RANGE,
+        /** 아직 받지 못한 구간이 남아 있는 경우 */
+        INCOMPLETE,
+        /** 완료 시 체크섬이 일치하지 않는 경우 */
+        CHECKSUM_MISMATCH,
+        /** 이미 완료되어 더 이상 조각을 받을 수 없는 경우 */
+        ALREADY_COMPLETED
+    }
+
+    private final Reason reason;
+
+    public ChunkedUploadException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,39 @@
+package com.board.util.file;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 분할 업로드의 진행 상태입니다. 클라이언트는 끊긴 뒤 이 정보를 보고 빠진 구간만 다시 보냅니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ChunkedUploadStatus {
+
+    private final String uploadId;
+    private final String fileName;
+
+    /** 전체 파일 크기 (바이트) */
+    private final long size;
+
+    /** 지금까지 받은 바이트 수 */
+    private final long receivedBytes;
+
+    /** 받은 구간 목록 (겹치거나 맞닿은 구간은 합쳐진 상태, 시작 위치 순) */
+    private final List<ByteRange> received;
+
+    /** 체크섬 확인까지 끝났는지 여부 */
+    private final boolean completed;
+
+    /**
+     * 받은 바이트 구간 [start, end) 입니다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class ByteRange {
+        private final long start;
+        private final long end;
+    }
+}
@@ -0,0 +1,435 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.util.file.ChunkedUploadException.Reason;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 큰 첨부파일을 여러 조각으로 나누어 받는 분할 업로드 저장소입니다.
+ * <p>
+ * 업로드마다 file.dir/.tmp 아래에 임시 파일 하나를 만들고, 조각은 FileChannel의 위치 지정 쓰기로 해당 오프셋에 바로 씁니다.
+ * 받은 구간을 기록해 두므로 연결이 끊겨도 클라이언트는 상태를 조회하여 빠진 구간만 다시 보내면 됩니다.
+ * 모든 구간을 받으면 SHA-256 체크섬을 확인하고, 완료된 업로드는 PostService.savePost에서 첨부파일로 가져갑니다(claim).
+ * 받는 중인 조각이 있으면 완료를 거절하므로, 체크섬을 확인한 뒤에 임시 파일이 바뀌지 않습니다.
+ * 오래 진행되지 않은 업로드는 주기적으로 정리합니다.
+ * <p>
+ * 업로드 상태(받은 구간, 완료 여부)는 임시 파일 옆의 .state 파일에도 적어 두고 기동할 때 다시 읽으므로, 서버를 재시작해도 이어받을 수 있습니다.
+ * 다만 임시 파일과 상태가 그 서버의 디스크에 있으므로, 서버가 여럿이면 한 업로드의 요청이 모두 같은 서버로 가야 합니다
+ * (세션 고정 또는 file.dir을 공유 디스크로).
+ */
+@Slf4j
+@Component
+public class ChunkedUploadStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_PREFIX = "chunked-";
+    private static final String PART_SUFFIX = ".part";
+    private static final String STATE_SUFFIX = ".state";
+
+    private final FileStore fileStore;
+    private final long maxSize;
+    private final Duration expireAfter;
+
+    private final Map<String, ChunkedUpload> uploads = new ConcurrentHashMap<>();
+
+    public ChunkedUploadStore(FileStore fileStore,
+                              @Value("${file.chunked.max-size:2GB}") DataSize maxSize,
+                              @Value("${file.chunked.expire-after:PT24H}") Duration expireAfter) {
+        this.fileStore = fileStore;
+        this.maxSize = maxSize.toBytes();
+        this.expireAfter = expireAfter;
+    }
+
+    /**
+     * 이전 실행에서 남은 업로드 상태를 다시 읽습니다. 임시 파일이 없거나 읽을 수 없는 상태 파일은 건너뜁니다.
+     */
+    @PostConstruct
+    void restore() {
+        try (DirectoryStream<Path> stateFiles = Files.newDirectoryStream(fileStore.getTempDir(), PART_PREFIX + "*" + STATE_SUFFIX)) {
+            for (Path stateFile : stateFiles) {
+                try {
+                    ChunkedUpload upload = load(stateFile);
+                    if (Files.exists(upload.partFile)) {
+                        uploads.put(upload.uploadId, upload);
+                    } else {
+                        Files.deleteIfExists(stateFile);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("분할 업로드 상태를 읽을 수 없어 건너뜁니다: {}", stateFile.getFileName(), e);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("분할 업로드 상태 복원 실패", e);
+        }
+        if (!uploads.isEmpty()) {
+            log.info("분할 업로드 복원 [count={}]", uploads.size());
+        }
+    }
+
+    /**
+     * 새 분할 업로드를 시작하고 임시 파일을 만듭니다.
+     *
+     * @param ownerId  업로드하는 회원 ID
+     * @param fileName 사용자가 올린 파일명
+     * @param size     전체 파일 크기 (바이트)
+     * @return 업로드 상태 (uploadId 포함)
+     */
+    public ChunkedUploadStatus begin(Long ownerId, String fileName, long size) {
+        if (size <= 0 || size > maxSize) {
+            throw new ChunkedUploadException(Reason.BAD_RANGE, "파일 크기는 1 ~ " + maxSize + " 바이트여야 합니다: " + size);
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Path partFile = fileStore.getTempDir().resolve(PART_PREFIX + uploadId + PART_SUFFIX);
+            Files.createFile(partFile);
+            ChunkedUpload upload = new ChunkedUpload(uploadId, ownerId, fileName, size, partFile);
+            uploads.put(uploadId, upload);
+            synchronized (upload) {
+                saveState(upload);
+            }
+            log.info("분할 업로드 시작 [uploadId={}, fileName={}, size={}]", uploadId, fileName, size);
+            return upload.status();
+        } catch (IOException e) {
+            throw new FileStoreException("분할 업로드 파일을 만들 수 없습니다. 파일명: " + fileName, e);
+        }
+    }
+
+    /**
+     * 조각 하나를 offset 위치부터 씁니다. 조각은 어떤 순서로 와도 되고, 이미 받은 구간을 다시 보내도 됩니다.
+     * 전송 도중 연결이 끊기면 그때까지 쓴 구간만 기록됩니다. 쓰는 동안에는 {@link #complete}가 거절됩니다.
+     *
+     * @param uploadId 업로드 ID
+     * @param ownerId  요청한 회원 ID
+     * @param offset   조각의 시작 위치
+     * @param in       조각 내용
+     * @return 쓰기 후 업로드 상태
+     */
+    public ChunkedUploadStatus write(String uploadId, Long ownerId, long offset, InputStream in) {
+        ChunkedUpload upload = find(uploadId, ownerId);
+        if (offset < 0 || offset >= upload.size) {
+            throw new ChunkedUploadException(Reason.BAD_RANGE, "잘못된 시작 위치입니다: " + offset);
+        }
+        synchronized (upload) {
+            if (upload.completed) {
+                throw new ChunkedUploadException(Reason.ALREADY_COMPLETED, "이미 완료된 업로드입니다: " + uploadId);
+            }
+            upload.writers++;
+        }
+
+        long position = offset;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(upload.partFile, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = in.read(buffer.array())) != -1) {
+                if (position + read > upload.size) {
+                    throw new ChunkedUploadException(Reason.BAD_RANGE, "조각이 파일 크기를 넘습니다: " + (position + read) + " > " + upload.size);
+                }
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+        } catch (IOException e) {
+            throw new FileStoreException("조각 저장에 실패했습니다. uploadId: " + uploadId + ", offset: " + position, e);
+        } finally {
+            synchronized (upload) {
+                upload.addRange(offset, position);
+                upload.writers--;
+                saveState(upload);
+            }
+        }
+        return upload.status();
+    }
+
+    /**
+     * 업로드 상태를 조회합니다. 연결이 끊긴 뒤 이어서 보낼 구간을 찾는 용도입니다.
+     */
+    public ChunkedUploadStatus status(String uploadId, Long ownerId) {
+        return find(uploadId, ownerId).status();
+    }
+
+    /**
+     * 모든 구간을 받았는지 확인하고, 파일 전체의 SHA-256이 클라이언트가 보낸 값과 같은지 검사합니다.
+     * 체크섬이 다르면 받은 구간 기록을 비워 처음부터 다시 받도록 합니다.
+     * 아직 쓰고 있는 조각이 있으면 확인한 뒤에 내용이 바뀔 수 있으므로 거절합니다.
+     *
+     * @param uploadId       업로드 ID
+     * @param ownerId        요청한 회원 ID
+     * @param expectedSha256 클라이언트가 계산한 SHA-256 (16진수)
+     * @return 완료된 업로드 상태
+     */
+    public ChunkedUploadStatus complete(String uploadId, Long ownerId, String expectedSha256) {
+        ChunkedUpload upload = find(uploadId, ownerId);
+        synchronized (upload) {
+            if (upload.completed) {
+                return upload.status();
+            }
+            if (upload.writers > 0) {
+                throw new ChunkedUploadException(Reason.INCOMPLETE, "아직 받는 중인 조각이 있습니다: " + upload.writers + "개");
+            }
+            if (upload.receivedBytes() != upload.size) {
+                throw new ChunkedUploadException(Reason.INCOMPLETE, "아직 받지 못한 구간이 있습니다: " + upload.receivedBytes() + "/" + upload.size);
+            }
+
+            String actual = sha256(upload.partFile);
+            if (!actual.equalsIgnoreCase(expectedSha256)) {
+                upload.clearRanges();
+                saveState(upload);
+                throw new ChunkedUploadException(Reason.CHECKSUM_MISMATCH, "체크섬이 일치하지 않습니다. uploadId: " + uploadId);
+            }
+
+            upload.sha256 = actual;
+            upload.completed = true;
+            saveState(upload);
+            log.info("분할 업로드 완료 [uploadId={}, fileName={}, size={}]", uploadId, upload.fileName, upload.size);
+            return upload.status();
+        }
+    }
+
+    /**
+     * 완료된 업로드를 첨부파일로 가져갑니다. 가져간 업로드는 저장소에서 빠지며,
+     * 이후 임시 파일은 게시물 저장 트랜잭션 전에 최종 저장소로 옮겨지거나(promote), 저장이 취소되면 지워집니다(discard).
+     *
+     * @param uploadId 업로드 ID
+     * @param ownerId  게시물 작성자 ID
+     * @return 임시 저장된 첨부파일
+     */
+    public StagedFile claim(String uploadId, Long ownerId) {
+        ChunkedUpload upload = find(uploadId, ownerId);
+        synchronized (upload) {
+            if (!upload.completed) {
+                throw new ChunkedUploadException(Reason.INCOMPLETE, "완료되지 않은 업로드입니다: " + uploadId);
+            }
+            if (!uploads.remove(uploadId, upload)) {
+                throw new ChunkedUploadException(Reason.NOT_FOUND, "업로드를 찾을 수 없습니다: " + uploadId);
+            }
+        }
+        deleteQuietly(upload.stateFile());
+        return fileStore.stageCompleted(upload.partFile, upload.fileName, upload.sha256, FileTypeEnum.ATTACHED);
+    }
+
+    /**
+     * 업로드를 취소하고 임시 파일을 지웁니다.
+     */
+    public void abort(String uploadId, Long ownerId) {
+        ChunkedUpload upload = find(uploadId, ownerId);
+        boolean removed;
+        synchronized (upload) {
+            removed = uploads.remove(uploadId, upload);
+        }
+        if (removed) {
+            deletePartFile(upload);
+        }
+    }
+
+    /**
+     * expireAfter 동안 진행되지 않은 업로드를 정리합니다. 조각을 쓰고 있는 업로드는 남겨 둡니다.
+     */
+    @Scheduled(fixedDelayString = "${file.chunked.cleanup-interval:PT1H}")
+    public void purgeExpired() {
+        Instant deadline = Instant.now().minus(expireAfter);
+        uploads.values().removeIf(upload -> {
+            synchronized (upload) {
+                if (upload.writers > 0 || upload.lastActivity.isAfter(deadline)) {
+                    return false;
+                }
+            }
+            log.info("만료된 분할 업로드 정리 [uploadId={}, received={}/{}]", upload.uploadId, upload.receivedBytes(), upload.size);
+            deletePartFile(upload);
+            return true;
+        });
+    }
+
+    private ChunkedUpload find(String uploadId, Long ownerId) {
+        ChunkedUpload upload = uploadId == null ? null : uploads.get(uploadId);
+        // 다른 회원의 업로드는 존재 여부도 알리지 않습니다.
+        if (upload == null || !Objects.equals(upload.ownerId, ownerId)) {
+            throw new ChunkedUploadException(Reason.NOT_FOUND, "업로드를 찾을 수 없습니다: " + uploadId);
+        }
+        return upload;
+    }
+
+    private static String sha256(Path file) {
+        try {
+            return FileInspector.sha256(file);
+        } catch (IOException e) {
+            throw new FileStoreException("체크섬 계산에 실패했습니다: " + file.getFileName(), e);
+        }
+    }
+
+    /**
+     * 업로드 상태를 .state 파일에 씁니다. upload의 모니터를 잡고 호출해야 하며, 이미 가져갔거나 취소된 업로드는 쓰지 않습니다.
+     * 상태를 쓰지 못해도 이 서버에서는 계속 진행할 수 있으므로 경고만 남깁니다.
+     */
+    private void saveState(ChunkedUpload upload) {
+        if (uploads.get(upload.uploadId) != upload) {
+            return;
+        }
+        Path stateFile = upload.stateFile();
+        Path next = stateFile.resolveSibling(stateFile.getFileName() + ".new");
+        try {
+            try (Writer writer = Files.newBufferedWriter(next)) {
+                upload.toProperties().store(writer, null);
+            }
+            Files.move(next, stateFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("분할 업로드 상태 저장 실패 [uploadId={}]", upload.uploadId, e);
+        }
+    }
+
+    private static ChunkedUpload load(Path stateFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(stateFile)) {
+            properties.load(reader);
+        }
+        String uploadId = properties.getProperty("uploadId");
+        String ownerId = properties.getProperty("ownerId");
+        ChunkedUpload upload = new ChunkedUpload(uploadId, ownerId == null ? null : Long.valueOf(ownerId),
+                properties.getProperty("fileName"), Long.parseLong(properties.getProperty("size")),
+                stateFile.resolveSibling(PART_PREFIX + uploadId + PART_SUFFIX));
+        String ranges = properties.getProperty("ranges", "");
+        for (String range : ranges.split(",")) {
+            if (!range.isEmpty()) {
+                int dash = range.indexOf('-');
+                upload.addRange(Long.parseLong(range.substring(0, dash)), Long.parseLong(range.substring(dash + 1)));
+            }
+        }
+        upload.completed = Boolean.parseBoolean(properties.getProperty("completed"));
+        upload.sha256 = properties.getProperty("sha256");
+        upload.lastActivity = Files.getLastModifiedTime(stateFile).toInstant();
+        return upload;
+    }
+
+    private static void deletePartFile(ChunkedUpload upload) {
+        deleteQuietly(upload.partFile);
+        deleteQuietly(upload.stateFile());
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("분할 업로드 임시 파일 삭제 실패: {}", file);
+        }
+    }
+
+    /**
+     * 진행 중인 분할 업로드 하나의 상태입니다.
+     */
+    private static class ChunkedUpload {
+        final String uploadId;
+        final Long ownerId;
+        final String fileName;
+        final long size;
+        final Path partFile;
+
+        /** 받은 구간 (시작 위치 -> 끝 위치, 끝은 포함하지 않음). 겹치거나 맞닿은 구간은 합쳐서 보관합니다. */
+        private final TreeMap<Long, Long> ranges = new TreeMap<>();
+
+        volatile boolean completed;
+        volatile String sha256;
+        volatile Instant lastActivity = Instant.now();
+
+        /** 지금 조각을 쓰고 있는 요청 수 (이 객체의 모니터로 보호) */
+        int writers;
+
+        ChunkedUpload(String uploadId, Long ownerId, String fileName, long size, Path partFile) {
+            this.uploadId = uploadId;
+            this.ownerId = ownerId;
+            this.fileName = fileName;
+            this.size = size;
+            this.partFile = partFile;
+        }
+
+        synchronized void addRange(long start, long end) {
+            lastActivity = Instant.now();
+            if (end <= start) {
+                return;
+            }
+
+            Map.Entry<Long, Long> floor = ranges.floorEntry(start);
+            if (floor != null && floor.getValue() >= start) {
+                start = floor.getKey();
+                end = Math.max(end, floor.getValue());
+                ranges.remove(floor.getKey());
+            }
+
+            Map.Entry<Long, Long> next;
+            while ((next = ranges.ceilingEntry(start)) != null && next.getKey() <= end) {
+                end = Math.max(end, next.getValue());
+                ranges.remove(next.getKey());
+            }
+            ranges.put(start, end);
+        }
+
+        Path stateFile() {
+            return partFile.resolveSibling(PART_PREFIX + uploadId + STATE_SUFFIX);
+        }
+
+        synchronized Properties toProperties() {
+            Properties properties = new Properties();
+            properties.setProperty("uploadId", uploadId);
+            if (ownerId != null) {
+                properties.setProperty("ownerId", ownerId.toString());
+            }
+            if (fileName != null) {
+                properties.setProperty("fileName", fileName);
+            }
+            properties.setProperty("size", Long.toString(size));
+            StringBuilder received = new StringBuilder();
+            ranges.forEach((start, end) -> received.append(received.isEmpty() ? "" : ",").append(start).append('-').append(end));
+            properties.setProperty("ranges", received.toString());
+            properties.setProperty("completed", Boolean.toString(completed));
+            if (sha256 != null) {
+                properties.setProperty("sha256", sha256);
+            }
+            return properties;
+        }
+
+        synchronized void clearRanges() {
+            ranges.clear();
+        }
+
+        synchronized long receivedBytes() {
+            long received = 0;
+            for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+                received += range.getValue() - range.getKey();
+            }
+            return received;
+        }
+
+        synchronized ChunkedUploadStatus status() {
+            List<ChunkedUploadStatus.ByteRange> received = new ArrayList<>(ranges.size());
+            ranges.forEach((start, end) -> received.add(new ChunkedUploadStatus.ByteRange(start, end)));
+            return new ChunkedUploadStatus(uploadId, fileName, size, receivedBytes(), received, completed);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+/**
+ * 저장 전 임시 파일을 살펴 크기, MIME 타입, SHA-256, 이미지 크기(가로/세로 픽셀)를 구하는 도구입니다.
+ * 구한 값은 upload_file에 함께 저장되어, 다운로드할 때 파일시스템에 다시 묻지 않고 응답 헤더를 만들 수 있습니다.
+ */
+@Slf4j
+final class FileInspector {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private FileInspector() {
+    }
+
+    /**
+     * 파일 정보를 구해 UploadFile에 채웁니다.
+     * 이미지는 ImageIO로 헤더만 읽어 실제 형식의 MIME 타입과 픽셀 크기를 구하고(픽셀 디코딩 없음),
+     * 그 외 파일은 파일명 확장자로 MIME 타입을 정합니다.
+     *
+     * @param file   정보를 채울 파일 정보
+     * @param path   내용이 담긴 임시 파일
+     * @param sha256 내용의 SHA-256 (16진수)
+     */
+    static void describe(UploadFile file, Path path, String sha256) throws IOException {
+        file.setFileSize(Files.size(path));
+        file.setSha256(sha256);
+
+        String contentType = MediaTypeFactory.getMediaType(file.getUploadFileName())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+
+        if (file.getFileType() == FileTypeEnum.IMAGE) {
+            try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+                Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+                if (readers != null && readers.hasNext()) {
+                    ImageReader reader = readers.next();
+                    try {
+                        reader.setInput(in, true, true);
+                        file.setWidth(reader.getWidth(0));
+                        file.setHeight(reader.getHeight(0));
+                        String[] mimeTypes = reader.getOriginatingProvider().getMIMETypes();
+                        if (mimeTypes != null && mimeTypes.length > 0) {
+                            contentType = mimeTypes[0];
+                        }
+                    } finally {
+                        reader.dispose();
+                    }
+                }
+            } catch (IOException e) {
+                // 헤더를 읽을 수 없는 이미지도 업로드는 허용하고, 크기 정보만 비워 둡니다.
+                log.info("이미지 헤더를 읽을 수 없습니다: {}", file.getUploadFileName());
+            }
+        }
+
+        file.setContentType(contentType);
+    }
+
+    /**
+     * 파일 전체의 SHA-256을 16진수 문자열로 구합니다.
+     */
+    static String sha256(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
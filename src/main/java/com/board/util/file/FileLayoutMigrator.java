@@ -0,0 +1,181 @@
+package com.board.util.file;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 평면 구조(file.dir 바로 아래)에 쌓인 기존 파일을 분할 구조(file.dir/ab/cd/)로 옮기는 온라인 마이그레이션 작업입니다.
+ * <p>
+ * 게시판이 동작하는 중에 백그라운드 스레드 하나로 실행되며, batchSize 개를 옮길 때마다 pauseMillis 만큼 쉬어
+ * 디스크 I/O를 독점하지 않습니다. 디렉터리 목록은 DirectoryStream으로 한 항목씩 읽으므로 파일이 수십만 개여도 메모리에 모두 올리지 않습니다.
+ * 기존 파일을 덮어쓰지 않는 이동(같은 파일시스템이면 rename)을 사용하고, 다운로드는 FileStore.getStorageKeys의 두 구조 키를 차례로 열어 보므로 옮기는 도중에도 다운로드가 가능합니다.
+ * 로컬 저장소(file.storage.type=LOCAL)에서만 의미가 있습니다.
+ */
+@Slf4j
+@Component
+public class FileLayoutMigrator {
+
+    private final FileStore fileStore;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final boolean virtualThreads;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong movedCount = new AtomicLong();
+    private volatile Thread worker;
+
+    public FileLayoutMigrator(FileStore fileStore,
+                              @Value("${file.migration.enabled:false}") boolean enabled,
+                              @Value("${file.migration.batch-size:500}") int batchSize,
+                              @Value("${file.migration.pause-millis:200}") long pauseMillis,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.fileStore = fileStore;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMillis = pauseMillis;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * 애플리케이션 기동이 끝나면 설정에 따라 마이그레이션을 백그라운드로 시작합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * 마이그레이션을 백그라운드 스레드로 시작합니다. 이미 실행 중이면 아무 일도 하지 않습니다.
+     * spring.threads.virtual.enabled=true면 가상 스레드를 사용합니다.
+     */
+    public void start() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.Builder builder = virtualThreads
+                ? Thread.ofVirtual().name("file-layout-migrator")
+                : Thread.ofPlatform().name("file-layout-migrator").daemon(true);
+        worker = builder.start(() -> {
+            try {
+                migrate();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * 평면 구조의 파일을 모두 분할 구조로 옮깁니다. 중단 요청을 받으면 현재 파일까지만 옮기고 멈춥니다.
+     *
+     * @return 이번 실행에서 옮긴 파일 수
+     */
+    long migrate() {
+        Path root = fileStore.getRootDir();
+        long moved = 0;
+        long startedAt = System.currentTimeMillis();
+        log.info("파일 디렉터리 구조 마이그레이션 시작 [dir={}, batchSize={}, pause={}ms]", root, batchSize, pauseMillis);
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root, Files::isRegularFile)) {
+            for (Path source : entries) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("파일 디렉터리 구조 마이그레이션 중단 [moved={}]", moved);
+                    break;
+                }
+
+                String fileName = source.getFileName().toString();
+                if (!FileStore.isShardable(fileName)) {
+                    continue;
+                }
+
+                if (moveToShard(source, Path.of(fileStore.getShardedPath(fileName)))) {
+                    moved++;
+                    movedCount.incrementAndGet();
+                }
+
+                if (moved > 0 && moved % batchSize == 0) {
+                    log.info("파일 디렉터리 구조 마이그레이션 진행 중 [moved={}]", moved);
+                    Thread.sleep(pauseMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("파일 디렉터리 구조 마이그레이션 중단 [moved={}]", moved);
+        } catch (IOException e) {
+            log.error("파일 디렉터리 구조 마이그레이션 실패 [moved={}]", moved, e);
+        }
+
+        log.info("파일 디렉터리 구조 마이그레이션 종료 [moved={}, elapsed={}ms]", moved, System.currentTimeMillis() - startedAt);
+        return moved;
+    }
+
+    private boolean moveToShard(Path source, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            // ATOMIC_MOVE는 대상이 있으면 덮어쓰므로 옵션 없이 옮깁니다. 대상이 있으면 FileAlreadyExistsException이 나고,
+            // 같은 파일시스템이면 rename 한 번으로 옮겨지므로 다운로드 중에 반쯤 옮겨진 파일이 보이지 않습니다.
+            Files.move(source, target);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return removeIfDuplicate(source, target);
+        } catch (NoSuchFileException e) {
+            // 옮기기 전에 삭제된 파일
+        } catch (IOException e) {
+            log.warn("파일 이동 실패: {}", source.getFileName(), e);
+        }
+        return false;
+    }
+
+    /**
+     * 분할 구조에 이미 같은 이름의 파일이 있을 때, 내용까지 같으면 평면 구조의 사본을 지우고 다르면 둘 다 남겨 둡니다.
+     */
+    private boolean removeIfDuplicate(Path source, Path target) {
+        try {
+            if (Files.mismatch(source, target) == -1) {
+                Files.delete(source);
+                log.info("분할 구조에 같은 내용의 파일이 있어 평면 구조 사본을 지웁니다: {}", source.getFileName());
+                return true;
+            }
+            log.warn("분할 구조에 내용이 다른 같은 이름의 파일이 있어 건너뜁니다: {}", source.getFileName());
+        } catch (NoSuchFileException e) {
+            // 비교하는 사이에 삭제된 파일
+        } catch (IOException e) {
+            log.warn("중복 파일 비교 실패: {}", source.getFileName(), e);
+        }
+        return false;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public long getMovedCount() {
+        return movedCount.get();
+    }
+
+    /**
+     * 실행 중인 마이그레이션을 멈춥니다. 다음에 시작하면 남은 파일부터 이어서 옮깁니다.
+     */
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.UploadFile;
+import com.board.util.file.storage.LocalStorageBackend;
+import com.board.util.file.storage.StorageBackend;
+import com.board.util.file.storage.StoredObject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 저장된 파일을 HTTP 응답으로 내보내는 컴포넌트입니다.
+ * 로컬 파일은 FileChannel.transferTo로, 원격 저장소의 파일은 스트림으로 이어 보내 힙에 파일 전체를 쌓지 않으며,
+ * ETag/Last-Modified 조건부 요청(304)과 단일 바이트 범위 요청(206, 416)을 처리합니다.
+ * 업로드 시 저장해 둔 크기와 해시가 있으면 저장소 정보 조회(stat) 없이 바로 응답합니다.
+ */
+@Slf4j
+@Component
+public class FileServer {
+
+    /** UUID로 이름 붙은 파일은 내용이 바뀌지 않으므로 1년 동안 재검증 없이 캐시합니다. */
+    private static final String IMMUTABLE_CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    /** 같은 URL이 다른 파일을 가리킬 수 있는 경우에는 매번 ETag로 재검증합니다. */
+    private static final String REVALIDATE_CACHE_CONTROL = "private, no-cache";
+
+    /**
+     * 로컬 파일을 응답으로 내보냅니다.
+     *
+     * @param path               내보낼 파일 경로
+     * @param contentDisposition Content-Disposition 헤더 값 (없으면 null)
+     * @param immutable          URL이 가리키는 내용이 절대 바뀌지 않는지 여부
+     * @param request            현재 HTTP 요청
+     * @param response           현재 HTTP 응답
+     * @throws IOException 응답 쓰기에 실패한 경우
+     */
+    public void serve(Path path, String contentDisposition, boolean immutable,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        serve(new LocalStorageBackend(absolute.getParent()), absolute.getFileName().toString(),
+                contentDisposition, immutable, request, response);
+    }
+
+    /**
+     * 저장소의 파일을 응답으로 내보냅니다.
+     * 로컬 저장소면 FileChannel.transferTo로, 그 외 저장소면 스트림을 그대로 이어 붙여 보냅니다.
+     *
+     * @param storage            파일이 있는 저장소
+     * @param key                내보낼 파일의 저장소 키
+     * @param contentDisposition Content-Disposition 헤더 값 (없으면 null)
+     * @param immutable          URL이 가리키는 내용이 절대 바뀌지 않는지 여부
+     * @param request            현재 HTTP 요청
+     * @param response           현재 HTTP 응답
+     * @throws IOException 응답 쓰기에 실패한 경우
+     */
+    public void serve(StorageBackend storage, String key, String contentDisposition, boolean immutable,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<StoredObject> stored = storage.stat(key);
+        if (stored.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serve(storage, stored.get(), contentDisposition, immutable, request, response);
+    }
+
+    /**
+     * 이미 조회해 둔 저장소 정보로 파일을 내보냅니다. 존재 확인을 겸해 정보를 조회한 경우 같은 조회를 반복하지 않기 위해 사용합니다.
+     *
+     * @param storage            파일이 있는 저장소
+     * @param stored             내보낼 파일의 저장소 정보
+     * @param contentDisposition Content-Disposition 헤더 값 (없으면 null)
+     * @param immutable          URL이 가리키는 내용이 절대 바뀌지 않는지 여부
+     * @param request            현재 HTTP 요청
+     * @param response           현재 HTTP 응답
+     * @throws IOException 응답 쓰기에 실패한 경우
+     */
+    public void serve(StorageBackend storage, StoredObject stored, String contentDisposition, boolean immutable,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = stored.getKey();
+        long length = stored.getSize();
+        // HTTP 날짜는 초 단위이므로 밀리초를 버려야 If-Modified-Since 비교가 맞습니다.
+        long lastModified = stored.getLastModified().toEpochMilli() / 1000 * 1000;
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        String contentType = MediaTypeFactory.getMediaType(key.substring(key.lastIndexOf('/') + 1))
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+
+        try {
+            respond(storage, key, length, etag, lastModified, contentType, contentDisposition, immutable, request, response);
+        } catch (NoSuchFileException e) {
+            // 정보 조회와 전송 사이에 지워진 경우
+            notFound(response);
+        }
+    }
+
+    /**
+     * 업로드 시 저장해 둔 메타데이터로 파일을 내보냅니다. 저장소 키가 하나로 정해진 경우에 사용합니다.
+     *
+     * @see #serve(StorageBackend, List, UploadFile, String, boolean, HttpServletRequest, HttpServletResponse)
+     */
+    public void serve(StorageBackend storage, String key, UploadFile file, String contentDisposition, boolean immutable,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(storage, List.of(key), file, contentDisposition, immutable, request, response);
+    }
+
+    /**
+     * 업로드 시 저장해 둔 메타데이터로 파일을 내보냅니다.
+     * 크기와 SHA-256이 있으면 저장소에 정보를 묻지 않고 해시를 ETag로 사용하며, 후보 키를 차례로 열어 보고 없을 때만 다음 키로 넘어갑니다.
+     * 이때 HEAD와 304 응답은 파일을 열지 않으므로 존재 여부를 확인하지 않습니다.
+     * 메타데이터가 없는 예전 파일은 후보 키마다 저장소 정보 조회로 처리합니다.
+     *
+     * @param storage            파일이 있는 저장소
+     * @param keys               파일이 있을 수 있는 저장소 키 (우선순위 순, FileStore.getStorageKeys)
+     * @param file               파일 메타데이터 (없으면 null)
+     * @param contentDisposition Content-Disposition 헤더 값 (없으면 null)
+     * @param immutable          URL이 가리키는 내용이 절대 바뀌지 않는지 여부
+     * @param request            현재 HTTP 요청
+     * @param response           현재 HTTP 응답
+     * @throws IOException 응답 쓰기에 실패한 경우
+     */
+    public void serve(StorageBackend storage, List<String> keys, UploadFile file, String contentDisposition, boolean immutable,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (file == null || file.getFileSize() == null || file.getSha256() == null) {
+            for (String key : keys) {
+                Optional<StoredObject> stored = storage.stat(key);
+                if (stored.isPresent()) {
+                    serve(storage, stored.get(), contentDisposition, immutable, request, response);
+                    return;
+                }
+            }
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String contentType = file.getContentType() != null ? file.getContentType()
+                : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        for (String key : keys) {
+            try {
+                // 수정 시각은 알 수 없으므로(-1) 날짜 기반 조건부 요청은 무시하고 ETag만 사용합니다.
+                respond(storage, key, file.getFileSize(), "\"" + file.getSha256() + "\"", -1, contentType,
+                        contentDisposition, immutable, request, response);
+                return;
+            } catch (NoSuchFileException e) {
+                if (response.isCommitted()) {
+                    return;
+                }
+                response.reset();
+            }
+        }
+        response.sendError(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    /**
+     * 응답 헤더와 본문을 씁니다. 저장소에 파일이 없으면 본문을 쓰기 전에 NoSuchFileException을 던집니다.
+     */
+    private void respond(StorageBackend storage, String key, long length, String etag, long lastModified,
+                         String contentType, String contentDisposition, boolean immutable,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (lastModified != -1) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(contentType);
+        if (contentDisposition != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        }
+
+        long start = 0;
+        long end = length - 1;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && isIfRangeSatisfied(request, etag, lastModified)) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                // 여러 구간 요청이나 잘못된 형식은 무시하고 전체를 보냅니다. (RFC 9110 14.2)
+                log.debug("지원하지 않는 Range 요청이라 전체 파일을 보냅니다: {}", range);
+            } else if (parsed.length == 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            } else {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(Math.max(count, 0));
+
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        Optional<Path> localPath = storage.localPath(key);
+        if (localPath.isPresent()) {
+            transfer(localPath.get(), start, count, response);
+        } else {
+            try (InputStream in = count == length ? storage.get(key) : storage.getRange(key, start, count)) {
+                in.transferTo(response.getOutputStream());
+            }
+        }
+    }
+
+    private static void notFound(HttpServletResponse response) throws IOException {
+        if (!response.isCommitted()) {
+            response.reset();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+
+    private static void transfer(Path path, long start, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * If-None-Match를 우선 확인하고, 없을 때만 If-Modified-Since를 확인합니다.
+     */
+    private static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return matchesEtag(ifNoneMatch, etag);
+        }
+
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return lastModified != -1 && ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * If-Range가 없거나 현재 파일과 일치할 때만 범위 요청을 받아들입니다.
+     */
+    private static boolean isIfRangeSatisfied(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return lastModified != -1 && date == lastModified;
+    }
+
+    private static boolean matchesEtag(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 단일 바이트 범위(bytes=a-b, bytes=a-, bytes=-n)를 해석합니다.
+     *
+     * @return {start, end} 배열, 만족할 수 없는 범위면 빈 배열, 해석할 수 없으면 null
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return new long[0];
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length || start > end) {
+                return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
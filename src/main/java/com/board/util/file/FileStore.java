@@ -2,30 +2,240 @@ package com.board.util.file;
 
 import com.board.domain.uploadfile.FileTypeEnum;
 import com.board.domain.uploadfile.UploadFile;
+import com.board.util.file.storage.LocalStorageBackend;
+import com.board.util.file.storage.StorageBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
+@Slf4j
 @Component
 public class FileStore {
 
+    /** 업로드 중인 파일을 임시로 받아 두는 하위 디렉터리 */
+    static final String TEMP_DIR = ".tmp";
+
     /** 파일 및 이미지가 저장될 경로 */
     @Value("${file.dir}")
     private String fileDir;
 
+    /** 다중 파일을 가상 스레드로 병렬 저장할지 여부 */
+    @Value("${file.store.parallel:false}")
+    private boolean parallel;
+
+    /** 병렬 저장 시 한 요청이 동시에 쓸 수 있는 최대 파일 수 */
+    @Value("${file.store.parallel.max-concurrency:4}")
+    private int maxConcurrency;
+
+    /** 파일명 생성 방식 (UUID: 업로드마다 새 파일, CONTENT: 내용 해시 기반 중복 제거) */
+    @Value("${file.store.mode:UUID}")
+    private FileStoreMode mode;
+
+    /** 새 파일을 저장할 디렉터리 구조 (FLAT: file.dir 바로 아래, SHARDED: file.dir/ab/cd/ 아래) */
+    @Value("${file.store.layout:FLAT}")
+    private FileStoreLayout layout;
+
+    /** 이미지마다 만들어 두는 축소본(썸네일)의 가로 폭 목록 */
+    @Value("${file.image.variant-widths:320,640}")
+    private int[] variantWidths;
+
+    /** 업로드 파일의 실제 저장소 (설정하지 않으면 file.dir 로컬 디스크) */
+    private StorageBackend storageBackend;
+
+    @Autowired(required = false)
+    public void setStorageBackend(StorageBackend storageBackend) {
+        this.storageBackend = storageBackend;
+    }
+
+    public StorageBackend getStorageBackend() {
+        if (storageBackend == null) {
+            storageBackend = new LocalStorageBackend(Path.of(fileDir));
+        }
+        return storageBackend;
+    }
+
+    /**
+     * 서버 내부 파일명으로 파일이 있을 수 있는 저장소 키를 저장소 조회 없이 우선순위대로 구합니다.
+     * 첫 번째는 설정된 구조의 키이며, 내용 주소 방식 파일은 해시 앞 4자리로 두 단계 하위 경로(ab/cd/)에 나누어 저장됩니다.
+     * UUID 파일은 평면 구조와 분할 구조가 섞여 있을 수 있으므로(마이그레이션 중) 다른 구조의 키가 두 번째로 붙습니다.
+     * 다운로드처럼 자주 불리는 곳은 첫 번째 키로 바로 열고, 없을 때(NoSuchFileException)만 다음 키를 시도합니다.
+     *
+     * @param fileName 서버 내부에서 관리하는 파일명
+     * @return 저장소 키 목록 (구분자 '/')
+     */
+    public List<String> getStorageKeys(String fileName) {
+        String preferred = preferredKey(fileName);
+        if (isContentAddressed(fileName) || !isShardable(fileName)) {
+            return List.of(preferred);
+        }
+        return List.of(preferred, layout == FileStoreLayout.SHARDED ? fileName : shardedKey(fileName));
+    }
+
+    /**
+     * 서버 내부 파일명으로 저장소 키를 구합니다.
+     * 후보 키({@link #getStorageKeys})가 둘이면 저장소에서 있는 쪽을 확인하며, 둘 다 없으면 설정된 구조의 키를 반환합니다.
+     * 파일을 읽기만 할 때는 조회 없이 여는 {@link #open}을 사용합니다.
+     *
+     * @param fileName 서버 내부에서 관리하는 파일명
+     * @return 저장소 키 (구분자 '/')
+     */
+    public String getStorageKey(String fileName) {
+        List<String> keys = getStorageKeys(fileName);
+        if (keys.size() == 1 || exists(keys.get(0))) {
+            return keys.get(0);
+        }
+        return exists(keys.get(1)) ? keys.get(1) : keys.get(0);
+    }
+
+    /**
+     * 저장소 정보 조회 없이 후보 키를 차례로 열어 처음 찾은 파일의 스트림을 반환합니다.
+     *
+     * @param fileName 서버 내부에서 관리하는 파일명
+     * @return 파일 내용 스트림 (호출한 쪽에서 닫아야 함)
+     * @throws NoSuchFileException 어느 키에도 파일이 없는 경우
+     * @throws IOException 저장소 읽기에 실패한 경우
+     */
+    public InputStream open(String fileName) throws IOException {
+        List<String> keys = getStorageKeys(fileName);
+        StorageBackend storage = getStorageBackend();
+        for (int i = 0; i < keys.size() - 1; i++) {
+            try {
+                return storage.get(keys.get(i));
+            } catch (NoSuchFileException e) {
+                // 다음 구조의 키를 시도합니다.
+            }
+        }
+        return storage.get(keys.get(keys.size() - 1));
+    }
+
+    /**
+     * 로컬 저장소 기준으로 파일의 전체 경로를 구합니다.
+     *
+     * @param fileName 서버 내부에서 관리하는 파일명
+     * @return 파일의 전체 경로
+     */
     public String getFullPath(String fileName) {
+        return fileDir + getStorageKey(fileName).replace("/", File.separator);
+    }
+
+    /**
+     * 평면 구조(file.dir 바로 아래)의 경로를 구합니다.
+     */
+    public String getFlatPath(String fileName) {
         return fileDir + fileName;
     }
 
+    /**
+     * 분할 구조(file.dir/ab/cd/)의 경로를 구합니다. 나눌 수 없는 파일명이면 평면 구조 경로를 반환합니다.
+     */
+    public String getShardedPath(String fileName) {
+        if (!isShardable(fileName)) {
+            return getFlatPath(fileName);
+        }
+        return fileDir + shardDir(fileName) + fileName;
+    }
+
+    public Path getRootDir() {
+        return Path.of(fileDir);
+    }
+
+    /**
+     * 원본 이미지 옆에 저장되는 축소본의 저장소 키를 구합니다. (예: ab/cd/uuid.png -> ab/cd/uuid_w320.png)
+     *
+     * @param storeFileName 원본 이미지의 서버 내부 파일명
+     * @param width 축소본 가로 폭
+     * @return 축소본의 저장소 키
+     */
+    public String getVariantKey(String storeFileName, int width) {
+        return variantKeyOf(getStorageKey(storeFileName), width);
+    }
+
+    /**
+     * 로컬 저장소 기준으로 축소본의 전체 경로를 구합니다.
+     */
+    public String getVariantPath(String storeFileName, int width) {
+        return fileDir + getVariantKey(storeFileName, width).replace("/", File.separator);
+    }
+
+    /**
+     * 요청한 폭의 축소본이 있을 수 있는 저장소 키를 저장소 조회 없이 우선순위대로 구합니다. ({@link #getStorageKeys} 참고)
+     * 설정된 축소본 폭이 아니면 빈 목록을 반환합니다.
+     *
+     * @param storeFileName 원본 이미지의 서버 내부 파일명
+     * @param width 요청한 가로 폭
+     * @return 축소본의 저장소 키 목록
+     */
+    public List<String> getVariantKeys(String storeFileName, int width) {
+        if (!isVariantWidth(width)) {
+            return List.of();
+        }
+        return getStorageKeys(storeFileName).stream().map(key -> variantKeyOf(key, width)).toList();
+    }
+
+    /**
+     * 축소본 파일명에서 원본 파일명을 구합니다. 축소본이 아니면 그대로 반환합니다. (예: uuid_w320.png -> uuid.png)
+     *
+     * @param fileName 디스크에 있는 파일명
+     * @return 원본 이미지의 서버 내부 파일명
+     */
+    public static String originalNameOf(String fileName) {
+        int dot = fileName.lastIndexOf(".");
+        String base = dot < 0 ? fileName : fileName.substring(0, dot);
+        String ext = dot < 0 ? "" : fileName.substring(dot);
+
+        int marker = base.lastIndexOf("_w");
+        if (marker < 0 || marker + 2 == base.length()) {
+            return fileName;
+        }
+        for (int i = marker + 2; i < base.length(); i++) {
+            if (!Character.isDigit(base.charAt(i))) {
+                return fileName;
+            }
+        }
+        return base.substring(0, marker) + ext;
+    }
+
+    public FileStoreMode getMode() {
+        return mode;
+    }
+
+    public int[] getVariantWidths() {
+        return variantWidths.clone();
+    }
+
+    private boolean isVariantWidth(int width) {
+        for (int variantWidth : variantWidths) {
+            if (variantWidth == width) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 다중 파일 저장을 처리합니다.
-     * 각 MultipartFile을 순회하며, 비어 있지 않은 경우 storeFile 메서드를 호출하여 저장합니다.
+     * 모든 파일을 먼저 임시 영역에 받은 뒤(stageFiles) 최종 경로로 옮깁니다.
      *
      * @param multipartFiles 사용자가 업로드한 파일 리스트
      * @param fileType 파일 타입(이미지, 첨부)
@@ -33,15 +243,9 @@ public class FileStore {
      */
     public List<UploadFile> storeFiles(List<MultipartFile> multipartFiles, FileTypeEnum fileType) {
         List<UploadFile> storeFileResult = new ArrayList<>();
-
-        if (multipartFiles.isEmpty()) {
-            return storeFileResult;
-        }
-
-        for (MultipartFile multipartFile : multipartFiles) {
-            if(!multipartFile.isEmpty()) {
-                storeFileResult.add(storeFile(multipartFile, fileType));
-            }
+        for (StagedFile stagedFile : stageFiles(multipartFiles, fileType)) {
+            promote(stagedFile);
+            storeFileResult.add(stagedFile.getUploadFile());
         }
         return storeFileResult;
     }
@@ -55,20 +259,319 @@ public class FileStore {
      * @return 저장된 파일의 정보(UploadFile)
      */
     public UploadFile storeFile(MultipartFile multipartFile, FileTypeEnum fileType) {
-        if (multipartFile.isEmpty()) {
+        StagedFile stagedFile = stage(multipartFile, fileType);
+        if (stagedFile == null) {
+            return null;
+        }
+        promote(stagedFile);
+        return stagedFile.getUploadFile();
+    }
+
+    /**
+     * 다중 파일을 임시 영역에 받아 둡니다.
+     * 비어 있는 파일은 건너뛰며, 하나라도 실패하면 이미 받아 둔 임시 파일을 모두 지우고 예외를 던집니다. (전부 저장 또는 전부 취소)
+     *
+     * @param multipartFiles 사용자가 업로드한 파일 리스트
+     * @param fileType 파일 타입(이미지, 첨부)
+     * @return 임시 저장된 파일 목록 (업로드 순서 유지)
+     */
+    public List<StagedFile> stageFiles(List<MultipartFile> multipartFiles, FileTypeEnum fileType) {
+        if (multipartFiles == null || multipartFiles.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (parallel && multipartFiles.size() > 1) {
+            return stageFilesParallel(multipartFiles, fileType);
+        }
+
+        List<StagedFile> stagedFiles = new ArrayList<>();
+        try {
+            for (MultipartFile multipartFile : multipartFiles) {
+                if (!multipartFile.isEmpty()) {
+                    stagedFiles.add(stage(multipartFile, fileType));
+                }
+            }
+        } catch (FileStoreException e) {
+            stagedFiles.forEach(this::discard);
+            throw e;
+        }
+        return stagedFiles;
+    }
+
+    /**
+     * 다중 파일을 가상 스레드에 나누어 병렬로 임시 영역에 받아 둡니다.
+     * 요청마다 세마포어로 동시 쓰기 수를 maxConcurrency 개로 제한하며, 결과는 업로드 순서를 유지합니다.
+     * 하나라도 실패하면 이미 받아 둔 임시 파일을 모두 지우고 예외를 던집니다. (전부 저장 또는 전부 취소)
+     *
+     * @param multipartFiles 사용자가 업로드한 파일 리스트
+     * @param fileType 파일 타입(이미지, 첨부)
+     * @return 임시 저장된 파일 목록
+     */
+    private List<StagedFile> stageFilesParallel(List<MultipartFile> multipartFiles, FileTypeEnum fileType) {
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        List<Future<StagedFile>> futures = new ArrayList<>();
+
+        // close()가 모든 작업이 끝날 때까지 기다려 주므로, 블록을 벗어나면 모든 쓰기가 완료된 상태
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile multipartFile : multipartFiles) {
+                if (multipartFile.isEmpty()) {
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return stage(multipartFile, fileType);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<StagedFile> stagedFiles = new ArrayList<>();
+        FileStoreException failure = null;
+
+        for (Future<StagedFile> future : futures) {
+            try {
+                stagedFiles.add(future.get());
+            } catch (ExecutionException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                if (failure == null) {
+                    failure = cause instanceof FileStoreException fse ? fse : new FileStoreException("파일 병렬 저장에 실패했습니다.", cause);
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (failure != null) {
+            stagedFiles.forEach(this::discard);
+            log.warn("병렬 저장 실패로 임시 파일 {}개를 정리했습니다.", stagedFiles.size());
+            throw failure;
+        }
+        return stagedFiles;
+    }
+
+    /**
+     * 업로드 파일을 file.dir/.tmp 아래 임시 파일로 받아 두고, 최종 파일명과 파일 정보(크기, MIME 타입, SHA-256, 이미지 크기)를 정합니다.
+     * 내용 주소 방식이면 받는 동안 SHA-256을 계산하여 해시로 파일명을 만듭니다.
+     * 임시 영역은 최종 경로와 같은 파일시스템에 있으므로 promote는 원자적 이름 변경으로 끝납니다.
+     *
+     * @param multipartFile 사용자가 업로드한 단일 파일
+     * @param fileType 파일 타입(이미지, 첨부)
+     * @return 임시 저장된 파일, 파일이 비어 있으면 null
+     */
+    public StagedFile stage(MultipartFile multipartFile, FileTypeEnum fileType) {
+        if (multipartFile == null || multipartFile.isEmpty()) {
             return null;
         }
 
         String originalFilename = multipartFile.getOriginalFilename();
-        String storeFileName = createStoreFileName(originalFilename);
+        Path tempFile = null;
 
         try {
-            multipartFile.transferTo(new File(getFullPath(storeFileName)));
-        } catch (IOException e) {
+            tempFile = getTempDir().resolve("upload-" + UUID.randomUUID() + ".tmp");
+
+            String storeFileName;
+            String sha256;
+            if (mode == FileStoreMode.CONTENT) {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                try (InputStream in = new DigestInputStream(multipartFile.getInputStream(), digest)) {
+                    Files.copy(in, tempFile);
+                }
+                sha256 = HexFormat.of().formatHex(digest.digest());
+                storeFileName = sha256 + "." + extractExt(originalFilename);
+            } else {
+                // 디스크에 버퍼링된 업로드는 transferTo가 이름 변경으로 끝나므로, 해시는 옮긴 뒤 한 번 읽어 구합니다.
+                multipartFile.transferTo(tempFile.toFile());
+                sha256 = FileInspector.sha256(tempFile);
+                storeFileName = createStoreFileName(originalFilename);
+            }
+
+            UploadFile uploadFile = new UploadFile(originalFilename, storeFileName, fileType);
+            FileInspector.describe(uploadFile, tempFile, sha256);
+            return new StagedFile(uploadFile, tempFile);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(tempFile);
             throw new FileStoreException("파일 저장에 실패했습니다. 파일명: " + originalFilename, e);
         }
+    }
 
-        return new UploadFile(originalFilename, storeFileName, fileType);
+    /**
+     * 이미 임시 영역에 받아 둔 파일(분할 업로드 등)로 StagedFile을 만듭니다.
+     * 내용 주소 방식이면 전달받은 SHA-256으로 파일명을 정합니다.
+     *
+     * @param tempFile         임시 영역(file.dir/.tmp) 안의 파일
+     * @param originalFilename 사용자가 올린 파일명
+     * @param sha256           파일 내용의 SHA-256 (16진수)
+     * @param fileType         파일 타입(이미지, 첨부)
+     * @return 임시 저장된 파일
+     */
+    public StagedFile stageCompleted(Path tempFile, String originalFilename, String sha256, FileTypeEnum fileType) {
+        String storeFileName = mode == FileStoreMode.CONTENT
+                ? sha256.toLowerCase() + "." + extractExt(originalFilename)
+                : createStoreFileName(originalFilename);
+
+        UploadFile uploadFile = new UploadFile(originalFilename, storeFileName, fileType);
+        try {
+            FileInspector.describe(uploadFile, tempFile, sha256.toLowerCase());
+        } catch (IOException e) {
+            throw new FileStoreException("파일 정보를 읽을 수 없습니다. 파일명: " + originalFilename, e);
+        }
+        return new StagedFile(uploadFile, tempFile);
+    }
+
+    /**
+     * 업로드 중인 파일을 받아 두는 임시 디렉터리를 반환합니다. 없으면 만듭니다.
+     * 최종 저장 경로와 같은 파일시스템에 있으므로 promote가 원자적 이름 변경으로 끝납니다.
+     *
+     * @return file.dir/.tmp 경로
+     */
+    public Path getTempDir() throws IOException {
+        return Files.createDirectories(Path.of(fileDir, TEMP_DIR));
+    }
+
+    /**
+     * 임시 파일을 최종 경로로 옮깁니다.
+     * 내용 주소 방식에서 같은 내용의 파일이 이미 있으면 임시 파일만 지우고 기존 파일을 그대로 재사용합니다.
+     * 있는지 확인하는 일과 수정 시각 갱신을 touch 한 번으로 하므로, 확인한 뒤 파일 수거가 지운 파일을 재사용하지 않습니다.
+     * 수거가 먼저 지웠으면 touch가 false를 돌려주고 새로 씁니다.
+     *
+     * @param stagedFile 임시 저장된 파일
+     * @return 저장소에 새로 썼으면 true, 기존 파일을 재사용했으면 false
+     */
+    public boolean promote(StagedFile stagedFile) {
+        String storeFileName = stagedFile.getUploadFile().getStoreFileName();
+        Path tempFile = stagedFile.getTempFile();
+        StorageBackend storage = getStorageBackend();
+
+        try {
+            String key = preferredKey(storeFileName);
+
+            // 재사용된 파일은 수정 시각을 갱신해 두어 "최근에 참조됨"을 남기고, 수거는 유예 시간 동안 지우지 않습니다.
+            if (isContentAddressed(storeFileName) && storage.touch(key)) {
+                Files.deleteIfExists(tempFile);
+                log.info("중복 파일 재사용: {} -> {}", stagedFile.getUploadFile().getUploadFileName(), storeFileName);
+                return false;
+            }
+
+            storage.putFile(key, tempFile);
+            return true;
+        } catch (IOException e) {
+            throw new FileStoreException("파일 저장에 실패했습니다. 파일명: " + stagedFile.getUploadFile().getUploadFileName(), e);
+        }
+    }
+
+    /**
+     * 임시 파일을 지웁니다. 트랜잭션이 롤백되었거나 저장이 취소된 경우에 사용합니다.
+     *
+     * @param stagedFile 임시 저장된 파일
+     */
+    public void discard(StagedFile stagedFile) {
+        if (stagedFile != null) {
+            deleteQuietly(stagedFile.getTempFile());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", path);
+        }
+    }
+
+    /**
+     * 저장된 파일과 그 축소본들을 저장소에서 삭제합니다. 파일이 없으면 아무 일도 하지 않습니다.
+     *
+     * @param storeFileName 서버 내부에서 관리하는 파일명
+     */
+    public void deleteFile(String storeFileName) {
+        StorageBackend storage = getStorageBackend();
+        String key = getStorageKey(storeFileName);
+        try {
+            storage.delete(key);
+            for (int width : variantWidths) {
+                storage.delete(variantKeyOf(key, width));
+            }
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패: {}", storeFileName, e);
+        }
+    }
+
+    /**
+     * 새 파일을 저장할 키를 구합니다. 내용 주소 방식이면 항상 분할 구조, 그 외에는 설정된 구조를 따릅니다.
+     */
+    private String preferredKey(String fileName) {
+        if (isContentAddressed(fileName) || (layout == FileStoreLayout.SHARDED && isShardable(fileName))) {
+            return shardedKey(fileName);
+        }
+        return fileName;
+    }
+
+    private boolean exists(String key) {
+        try {
+            return getStorageBackend().stat(key).isPresent();
+        } catch (IOException e) {
+            throw new FileStoreException("저장소 조회에 실패했습니다. 키: " + key, e);
+        }
+    }
+
+    private static String variantKeyOf(String key, int width) {
+        int pos = key.lastIndexOf(".");
+        if (pos <= key.lastIndexOf("/")) {
+            return key + "_w" + width;
+        }
+        return key.substring(0, pos) + "_w" + width + key.substring(pos);
+    }
+
+    private static String shardedKey(String fileName) {
+        return fileName.substring(0, 2) + "/" + fileName.substring(2, 4) + "/" + fileName;
+    }
+
+    /**
+     * 내용 주소 방식(SHA-256 16진수 64자 + 확장자)으로 만들어진 파일명인지 확인합니다.
+     * 이런 파일은 여러 게시물이 함께 참조할 수 있으므로 게시물 쪽에서 지우지 않고 파일 수거 작업에 맡깁니다.
+     */
+    public static boolean isContentAddressed(String fileName) {
+        if (fileName.length() < 64) {
+            return false;
+        }
+        for (int i = 0; i < 64; i++) {
+            if (Character.digit(fileName.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return fileName.length() == 64 || fileName.charAt(64) == '.';
+    }
+
+    /**
+     * 파일명 앞 4자리가 16진수여서 분할 구조로 나눌 수 있는지 확인합니다.
+     * UUID와 SHA-256 파일명은 앞자리가 고르게 분포하므로 그대로 해시 접두어로 사용합니다.
+     */
+    static boolean isShardable(String fileName) {
+        if (fileName.length() < 5) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (Character.digit(fileName.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 파일명 앞 4자리로 두 단계 하위 디렉터리 경로를 만듭니다. (예: abcd... -> ab/cd/)
+     */
+    private static String shardDir(String fileName) {
+        return fileName.substring(0, 2) + File.separator + fileName.substring(2, 4) + File.separator;
     }
 
     /**
@@ -77,7 +580,7 @@ public class FileStore {
      * @param originalFilename 사용자가 입력한 파일명
      * @return 서버내에서 충돌이 나지 않는 이름 반환
      */
-    private static String createStoreFileName(String originalFilename) {
+    static String createStoreFileName(String originalFilename) {
         String ext = extractExt(originalFilename);
         String uuid = UUID.randomUUID().toString();
 
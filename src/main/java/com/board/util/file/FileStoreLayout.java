@@ -0,0 +1,10 @@
+package com.board.util.file;
+
+/** 업로드 파일을 저장하는 디렉터리 구조 */
+public enum FileStoreLayout {
+    /** 모든 파일을 file.dir 한 디렉터리에 저장한다 */
+    FLAT,
+
+    /** 파일명 앞 4자리로 file.dir/ab/cd/ 두 단계 하위 디렉터리에 나누어 저장한다 */
+    SHARDED
+}
@@ -0,0 +1,10 @@
+package com.board.util.file;
+
+/** 서버 내부 파일명을 만드는 방식 */
+public enum FileStoreMode {
+    /** 업로드마다 UUID로 새 파일을 만든다 */
+    UUID,
+
+    /** 파일 내용의 SHA-256 해시로 이름을 만들어 같은 내용은 하나의 파일로 공유한다 */
+    CONTENT
+}
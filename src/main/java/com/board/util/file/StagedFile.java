@@ -0,0 +1,24 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.UploadFile;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.file.Path;
+
+/**
+ * 임시 영역(file.dir/.tmp)에 받아 두었지만 아직 최종 경로로 옮기지 않은 업로드 파일입니다.
+ * DB 트랜잭션을 시작하기 전에 FileStore.promote로 최종 저장소에 올리고, 저장이 취소되면 FileStore.discard로 지웁니다.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class StagedFile {
+
+    /** DB에 저장할 파일 정보 (최종 파일명 포함) */
+    private final UploadFile uploadFile;
+
+    /** 임시 파일 경로 */
+    private final Path tempFile;
+}
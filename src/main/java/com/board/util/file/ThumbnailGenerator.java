@@ -0,0 +1,206 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.util.file.storage.StorageBackend;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 게시물 이미지의 축소본(썸네일)을 백그라운드에서 만드는 컴포넌트입니다.
+ * 크기가 제한된 작업 큐와 워커 풀을 사용하며, 큐가 가득 차면 해당 작업은 버립니다.
+ * 축소본이 없으면 원본을 내보내므로 작업을 버려도 화면은 깨지지 않습니다.
+ * spring.threads.virtual.enabled=true면 워커를 가상 스레드로 만듭니다. 동시에 도는 작업 수는 워커 수 그대로입니다.
+ * <p>
+ * 작은 파일이 엄청난 크기로 풀리는 이미지(압축 폭탄)가 워커의 메모리를 다 쓰지 않도록, 헤더의 가로 세로만 먼저 읽어
+ * 픽셀 수가 file.thumbnail.max-pixels를 넘으면 건너뜁니다. 그 아래여도 가장 큰 축소본 폭의 두 배까지만 건너뛰며 읽어
+ * 원본 전체를 메모리에 풀지 않습니다.
+ */
+@Slf4j
+@Component
+public class ThumbnailGenerator {
+
+    private final FileStore fileStore;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+
+    public ThumbnailGenerator(FileStore fileStore,
+                              @Value("${file.thumbnail.workers:2}") int workers,
+                              @Value("${file.thumbnail.queue-capacity:200}") int queueCapacity,
+                              @Value("${file.thumbnail.max-pixels:100000000}") long maxPixels,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.fileStore = fileStore;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("thumbnail-", 1).factory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+    }
+
+    /**
+     * 이미지 파일들의 축소본 생성을 워커 풀에 맡깁니다. 첨부파일은 무시합니다.
+     *
+     * @param files 축소본을 만들 업로드 파일 목록
+     */
+    public void generateAsync(List<UploadFile> files) {
+        for (UploadFile file : files) {
+            if (file.getFileType() != FileTypeEnum.IMAGE) {
+                continue;
+            }
+            try {
+                executor.execute(() -> generate(file.getStoreFileName()));
+            } catch (RejectedExecutionException e) {
+                log.warn("썸네일 작업 큐가 가득 차 건너뜁니다: {}", file.getStoreFileName());
+            }
+        }
+    }
+
+    /**
+     * 설정된 모든 폭에 대해 축소본을 만듭니다. 원본보다 작거나 같은 폭은 만들지 않습니다.
+     *
+     * @param storeFileName 원본 이미지의 서버 내부 파일명
+     */
+    void generate(String storeFileName) {
+        String format = imageFormat(storeFileName);
+        if (format == null) {
+            return;
+        }
+
+        StorageBackend storage = fileStore.getStorageBackend();
+        try {
+            BufferedImage original;
+            try (InputStream in = storage.get(fileStore.getStorageKey(storeFileName));
+                 ImageInputStream input = ImageIO.createImageInputStream(in)) {
+                original = decode(input, storeFileName);
+            }
+            if (original == null) {
+                return;
+            }
+
+            for (int width : fileStore.getVariantWidths()) {
+                if (original.getWidth() <= width) {
+                    continue;
+                }
+                String variantKey = fileStore.getVariantKey(storeFileName, width);
+                if (storage.stat(variantKey).isPresent()) {
+                    continue;
+                }
+                writeVariant(storage, resize(original, width, format), format, variantKey);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("썸네일 생성 실패: {}", storeFileName, e);
+        }
+    }
+
+    /**
+     * 헤더로 크기를 확인한 뒤, 가장 큰 축소본 폭의 두 배가 넘는 원본은 행과 열을 건너뛰며 읽습니다.
+     * 건너뛰어도 읽은 폭이 모든 축소본 폭보다 크므로 만들어지는 축소본은 같습니다.
+     *
+     * @return 읽은 이미지, 읽을 수 없는 형식이거나 너무 크면 null
+     */
+    private BufferedImage decode(ImageInputStream input, String storeFileName) throws IOException {
+        Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+        if (readers == null || !readers.hasNext()) {
+            log.info("읽을 수 없는 이미지 형식이라 썸네일을 만들지 않습니다: {}", storeFileName);
+            return null;
+        }
+
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if ((long) width * height > maxPixels) {
+                log.warn("이미지가 너무 커서 썸네일을 만들지 않습니다: {} ({}x{})", storeFileName, width, height);
+                return null;
+            }
+
+            int largestWidth = Arrays.stream(fileStore.getVariantWidths()).max().orElse(width);
+            int step = Math.max(1, width / (largestWidth * 2));
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(step, step, 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * 축소본을 메모리에서 인코딩한 뒤 저장소에 씁니다. 저장소가 원자적으로 쓰므로 덜 써진 축소본은 보이지 않습니다.
+     */
+    private void writeVariant(StorageBackend storage, BufferedImage image, String format, String variantKey) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, encoded)) {
+            log.info("{} 형식의 ImageIO writer가 없어 썸네일을 만들지 않습니다.", format);
+            return;
+        }
+        storage.put(variantKey, new ByteArrayInputStream(encoded.toByteArray()), encoded.size());
+    }
+
+    private static BufferedImage resize(BufferedImage original, int width, String format) {
+        int height = Math.max(1, (int) Math.round((double) original.getHeight() * width / original.getWidth()));
+        // JPEG은 알파 채널을 쓸 수 없으므로 RGB로 그립니다.
+        int type = "jpg".equals(format) || "bmp".equals(format) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    /**
+     * 확장자로 ImageIO 형식 이름을 구합니다. 축소본을 만들지 않는 형식이면 null을 반환합니다.
+     */
+    private static String imageFormat(String storeFileName) {
+        String ext = storeFileName.substring(storeFileName.lastIndexOf(".") + 1).toLowerCase(Locale.ROOT);
+        return switch (ext) {
+            case "jpg", "jpeg" -> "jpg";
+            case "png" -> "png";
+            case "gif" -> "gif";
+            case "bmp" -> "bmp";
+            default -> null;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
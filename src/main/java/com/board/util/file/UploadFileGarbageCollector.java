@@ -0,0 +1,265 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.file.storage.LocalStorageBackend;
+import com.board.util.file.storage.StorageBackend;
+import com.board.util.file.storage.StoredObject;
+import com.board.util.metrics.MetricsRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * upload_file 테이블에서 더 이상 참조하지 않는 물리 파일을 지우는 백그라운드 작업입니다.
+ * <p>
+ * 저장소(StorageBackend.list)의 키를 한 항목씩 읽으면서 batchSize 개씩 묶어 DB에 참조 여부를 묻습니다.
+ * 참조되지 않는 파일은 바로 지우지 않고 처음 발견한 시각을 기억해 두었다가, 유예 시간(grace) 이상 계속
+ * 참조되지 않은 경우에만 삭제합니다. 막 업로드되어 아직 커밋되지 않은 파일을 지우지 않기 위해서입니다.
+ * 파일 확인과 삭제는 초당 maxFilesPerSecond 개로 제한하여 디스크 I/O를 독점하지 않습니다.
+ * 저장소가 S3여도 버킷의 키를 훑어 정리하며, 업로드 중인 파일을 받아 두는 로컬 임시 영역(file.dir/.tmp)은 따로 훑습니다.
+ * 임시 영역의 파일은 DB에 올라가지 않으므로 유예 시간이 지나면 참조 여부와 관계없이 지웁니다.
+ * <p>
+ * 파일이 많으면 한 번의 수거가 몇 시간씩 걸릴 수 있으므로, 스케줄러는 수거를 전용 스레드(file-gc)에 넘기기만 하고 바로 돌아옵니다.
+ * 스프링 기본 스케줄러는 스레드가 하나라 여기서 직접 수거하면 복제 DB 상태 확인, 풀 포화 경고, 분할 업로드 정리가 그동안 멈춥니다.
+ * file.gc.enabled를 지정하지 않으면 내용 주소 방식(file.store.mode=CONTENT)일 때만 켭니다.
+ * 이 방식은 게시물을 지워도 다른 게시물이 같은 파일을 쓰고 있을 수 있어 바로 지우지 않으므로, 수거가 없으면 파일이 계속 쌓입니다.
+ * 여러 서버가 같은 저장소를 쓰면 한 서버에서만 켜는 것을 권장합니다.
+ */
+@Slf4j
+@Component
+public class UploadFileGarbageCollector {
+
+    /** 로컬 임시 영역의 파일을 고아 기록에서 구분하는 접두사이자, 로컬 저장소에서 임시 영역 키의 접두사 */
+    private static final String TEMP_PREFIX = FileStore.TEMP_DIR + "/";
+
+    private final FileStore fileStore;
+    private final UploadFileRepositoryJdbc uploadFileRepository;
+    private final MetricsRegistry metricsRegistry;
+
+    private final boolean enabled;
+    private final Duration grace;
+    private final int batchSize;
+    private final long nanosPerFile;
+
+    /** 참조되지 않는 것으로 확인된 파일 (저장소 키, 임시 영역은 .tmp/ 접두사 -> 처음과 마지막으로 확인한 시각) */
+    private final Map<String, Orphan> orphans = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "file-gc");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UploadFileGarbageCollector(FileStore fileStore,
+                                      UploadFileRepositoryJdbc uploadFileRepository,
+                                      MetricsRegistry metricsRegistry,
+                                      @Value("${file.gc.enabled:#{null}}") Boolean enabled,
+                                      @Value("${file.gc.grace:PT24H}") Duration grace,
+                                      @Value("${file.gc.batch-size:500}") int batchSize,
+                                      @Value("${file.gc.max-files-per-second:200}") int maxFilesPerSecond) {
+        this.fileStore = fileStore;
+        this.uploadFileRepository = uploadFileRepository;
+        this.metricsRegistry = metricsRegistry;
+        this.enabled = enabled != null ? enabled : fileStore.getMode() == FileStoreMode.CONTENT;
+        this.grace = grace;
+        this.batchSize = Math.max(1, batchSize);
+        this.nanosPerFile = TimeUnit.SECONDS.toNanos(1) / Math.max(1, maxFilesPerSecond);
+
+        metricsRegistry.gauge("file.gc.pending.orphans", orphans::size);
+    }
+
+    /**
+     * 설정된 주기마다 수거 작업을 전용 스레드에 넘깁니다. 이전 수거가 아직 실행 중이면 이번 차례는 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${file.gc.interval:PT1H}", initialDelayString = "${file.gc.initial-delay:PT10M}")
+    public void scheduledSweep() {
+        if (!enabled) {
+            return;
+        }
+        if (sweeping.get()) {
+            log.info("이전 파일 수거 작업이 아직 실행 중이라 건너뜁니다.");
+            return;
+        }
+        executor.execute(this::sweep);
+    }
+
+    /**
+     * 저장소 전체와 로컬 임시 영역을 한 번 훑어 유예 시간이 지난 고아 파일을 지웁니다.
+     *
+     * @return 이번 수거에서 회수한 바이트 수
+     */
+    public long sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            log.info("이전 파일 수거 작업이 아직 실행 중이라 건너뜁니다.");
+            return 0;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        Instant sweepStartedAt = Instant.now();
+        SweepResult result = new SweepResult();
+
+        boolean completed = false;
+        try {
+            // 로컬 저장소는 임시 영역도 키로 나오므로 건너뛰고, 아래에서 임시 영역으로 따로 훑습니다.
+            sweep(fileStore.getStorageBackend(), "", result);
+            sweep(new LocalStorageBackend(fileStore.getRootDir().resolve(FileStore.TEMP_DIR)), TEMP_PREFIX, result);
+            completed = !Thread.currentThread().isInterrupted();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("파일 수거 작업 실패", e);
+        } finally {
+            // 끝까지 훑었는데 보이지 않은 파일은 다른 경로로 지워졌거나 옮겨진 것이므로 기록에서 뺍니다.
+            if (completed) {
+                orphans.values().removeIf(orphan -> orphan.lastSeen.isBefore(sweepStartedAt));
+            }
+            sweeping.set(false);
+        }
+
+        metricsRegistry.counter("file.gc.runs").increment();
+        metricsRegistry.counter("file.gc.scanned.files").add(result.scanned);
+        metricsRegistry.counter("file.gc.reclaimed.files").add(result.deleted);
+        metricsRegistry.counter("file.gc.reclaimed.bytes").add(result.reclaimedBytes);
+
+        log.info("파일 수거 완료 [scanned={}, deleted={}, reclaimed={}bytes, pending={}, elapsed={}ms]",
+                result.scanned, result.deleted, result.reclaimedBytes, orphans.size(), System.currentTimeMillis() - startedAt);
+        return result.reclaimedBytes;
+    }
+
+    /**
+     * 저장소 하나를 훑습니다.
+     *
+     * @param prefix 고아 기록에 쓸 키 접두사. 임시 영역(TEMP_PREFIX)이면 DB에 묻지 않고 모두 고아로 봅니다.
+     */
+    private void sweep(StorageBackend storage, String prefix, SweepResult result) throws IOException {
+        boolean temp = TEMP_PREFIX.equals(prefix);
+        try (Stream<StoredObject> objects = storage.list()) {
+            List<StoredObject> batch = new ArrayList<>(batchSize);
+            Iterator<StoredObject> iterator = objects.filter(object -> temp || !object.getKey().startsWith(TEMP_PREFIX)).iterator();
+            while (iterator.hasNext() && !Thread.currentThread().isInterrupted()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    processBatch(storage, prefix, batch, result);
+                    batch.clear();
+                }
+            }
+            processBatch(storage, prefix, batch, result);
+        }
+    }
+
+    private void processBatch(StorageBackend storage, String prefix, List<StoredObject> batch, SweepResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        boolean temp = TEMP_PREFIX.equals(prefix);
+        Set<String> referenced = Set.of();
+        if (!temp) {
+            Set<String> names = new HashSet<>();
+            for (StoredObject object : batch) {
+                names.add(FileStore.originalNameOf(fileNameOf(object.getKey())));
+            }
+            referenced = uploadFileRepository.findReferencedStoreFileNames(names);
+        }
+
+        Instant now = Instant.now();
+        for (StoredObject object : batch) {
+            throttle();
+            result.scanned++;
+
+            String orphanKey = prefix + object.getKey();
+            if (!temp && referenced.contains(FileStore.originalNameOf(fileNameOf(object.getKey())))) {
+                orphans.remove(orphanKey);
+                continue;
+            }
+
+            Orphan orphan = orphans.putIfAbsent(orphanKey, new Orphan(now));
+            if (orphan == null) {
+                continue;
+            }
+            orphan.lastSeen = now;
+            if (Duration.between(orphan.firstSeen, now).compareTo(grace) < 0) {
+                continue;
+            }
+            deleteIfStale(storage, object.getKey(), orphanKey, now, result);
+        }
+    }
+
+    /**
+     * 마지막 수정 시각도 유예 시간보다 오래된 경우에만 지웁니다.
+     * 내용 주소 방식에서 재사용된 파일은 수정 시각이 갱신되므로(StorageBackend.touch) 여기서 다시 걸러집니다.
+     */
+    private void deleteIfStale(StorageBackend storage, String key, String orphanKey, Instant now, SweepResult result) {
+        try {
+            Optional<StoredObject> current = storage.stat(key);
+            if (current.isEmpty()) {
+                orphans.remove(orphanKey);
+                return;
+            }
+            if (Duration.between(current.get().getLastModified(), now).compareTo(grace) < 0) {
+                return;
+            }
+            storage.delete(key);
+            orphans.remove(orphanKey);
+            result.deleted++;
+            result.reclaimedBytes += current.get().getSize();
+            log.info("고아 파일 삭제: {} ({}bytes)", orphanKey, current.get().getSize());
+        } catch (IOException e) {
+            log.warn("고아 파일 삭제 실패: {}", orphanKey, e);
+        }
+    }
+
+    private static String fileNameOf(String key) {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * 파일 하나를 처리할 때마다 호출되어 초당 처리량을 제한합니다.
+     */
+    private void throttle() {
+        LockSupport.parkNanos(nanosPerFile);
+    }
+
+    /**
+     * 종료할 때 진행 중인 수거를 멈춥니다. 지금 묶음(batchSize)까지만 처리하고 끝나며, 다음 기동 때 처음부터 다시 훑습니다.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class Orphan {
+        final Instant firstSeen;
+        volatile Instant lastSeen;
+
+        Orphan(Instant firstSeen) {
+            this.firstSeen = firstSeen;
+            this.lastSeen = firstSeen;
+        }
+    }
+
+    private static class SweepResult {
+        long scanned;
+        long deleted;
+        long reclaimedBytes;
+    }
+}
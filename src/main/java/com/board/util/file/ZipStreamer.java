@@ -0,0 +1,130 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.UploadFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 여러 업로드 파일을 하나의 ZIP으로 묶어 출력 스트림에 바로 씁니다.
+ * <p>
+ * 저장소에서 파일을 하나씩 읽어 그대로 이어 쓰므로 압축 파일 전체를 메모리나 임시 파일에 만들지 않습니다.
+ * JPEG, PNG처럼 이미 압축된 형식은 다시 압축해도 줄지 않으므로 압축 수준 0(무압축 블록)으로 넣고,
+ * 그 외 파일만 기본 수준으로 압축합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ZipStreamer {
+
+    /** 이미 압축되어 있어 다시 압축할 필요가 없는 MIME 타입 */
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp", "image/avif", "image/heic",
+            "application/zip", "application/gzip", "application/x-7z-compressed", "application/vnd.rar");
+
+    private final FileStore fileStore;
+
+    /**
+     * 파일 목록을 ZIP으로 묶어 씁니다. 저장소에 없는 파일은 건너뜁니다.
+     * 출력 스트림은 닫지 않으며, ZIP의 끝(중앙 디렉터리)까지 쓴 뒤 flush만 합니다.
+     *
+     * @param files 묶을 파일 목록
+     * @param out   ZIP을 쓸 출력 스트림 (보통 HTTP 응답)
+     * @return ZIP에 담은 파일 수
+     * @throws IOException 저장소 읽기나 출력 쓰기에 실패한 경우
+     */
+    public int write(List<UploadFile> files, OutputStream out) throws IOException {
+        Set<String> usedNames = new HashSet<>();
+        int written = 0;
+
+        try (ZipOutputStream zip = new ZipOutputStream(new NonClosingOutputStream(out))) {
+            for (UploadFile file : files) {
+                InputStream in;
+                try {
+                    in = fileStore.open(file.getStoreFileName());
+                } catch (NoSuchFileException e) {
+                    log.warn("저장소에 없는 파일이라 ZIP에서 제외합니다: {}", file.getStoreFileName());
+                    continue;
+                }
+
+                try (in) {
+                    zip.setLevel(isCompressed(file) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                    zip.putNextEntry(new ZipEntry(uniqueName(file.getUploadFileName(), usedNames)));
+                    in.transferTo(zip);
+                    zip.closeEntry();
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    private static boolean isCompressed(UploadFile file) {
+        String contentType = file.getContentType();
+        if (contentType == null) {
+            contentType = MediaTypeFactory.getMediaType(file.getUploadFileName())
+                    .map(Object::toString)
+                    .orElse("");
+        }
+        return COMPRESSED_TYPES.contains(contentType)
+                || contentType.startsWith("video/") || contentType.startsWith("audio/");
+    }
+
+    /**
+     * 경로 구분자를 없애고, 같은 이름이 이미 있으면 "이름 (2).확장자" 형태로 바꿉니다.
+     */
+    static String uniqueName(String uploadFileName, Set<String> usedNames) {
+        String name = uploadFileName == null || uploadFileName.isBlank() ? "file" : uploadFileName;
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            name = "file";
+        }
+
+        if (usedNames.add(name)) {
+            return name;
+        }
+
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String ext = dot > 0 ? name.substring(dot) : "";
+        for (int n = 2; ; n++) {
+            String candidate = base + " (" + n + ")" + ext;
+            if (usedNames.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * ZipOutputStream을 닫아도 응답 스트림은 서블릿 컨테이너가 닫도록 close를 flush로 바꿉니다.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
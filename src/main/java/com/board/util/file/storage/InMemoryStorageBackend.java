@@ -0,0 +1,86 @@
+package com.board.util.file.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 파일 내용을 메모리에 보관하는 저장소입니다. 테스트와 벤치마크에서 디스크 영향을 없애기 위해 사용합니다.
+ * 내용은 애플리케이션이 종료되면 사라집니다.
+ */
+public class InMemoryStorageBackend implements StorageBackend {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String key, InputStream content, long length) throws IOException {
+        entries.put(key, new Entry(content.readAllBytes(), Instant.now()));
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        Entry entry = find(key);
+        return new ByteArrayInputStream(entry.data);
+    }
+
+    @Override
+    public InputStream getRange(String key, long offset, long length) throws IOException {
+        Entry entry = find(key);
+        int from = (int) Math.min(offset, entry.data.length);
+        int count = (int) Math.min(length, entry.data.length - from);
+        return new ByteArrayInputStream(entry.data, from, count);
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? Optional.empty() : Optional.of(new StoredObject(key, entry.data.length, entry.lastModified));
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public Stream<StoredObject> list() {
+        return entries.entrySet().stream()
+                .map(entry -> new StoredObject(entry.getKey(), entry.getValue().data.length, entry.getValue().lastModified));
+    }
+
+    @Override
+    public boolean touch(String key) {
+        return entries.computeIfPresent(key, (k, entry) -> new Entry(entry.data, Instant.now())) != null;
+    }
+
+    /**
+     * 저장된 파일 수를 반환합니다.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry find(String key) throws NoSuchFileException {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            throw new NoSuchFileException(key);
+        }
+        return entry;
+    }
+
+    private static class Entry {
+        final byte[] data;
+        final Instant lastModified;
+
+        Entry(byte[] data, Instant lastModified) {
+            this.data = data;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.board.util.file.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+/**
+ * S3 요청에 AWS Signature Version 4 서명을 붙이는 도구입니다.
+ * 요청 본문은 스트림으로 보내므로 본문 해시 대신 UNSIGNED-PAYLOAD를 사용합니다.
+ */
+class S3RequestSigner {
+
+    static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+
+    S3RequestSigner(String accessKey, String secretKey, String region) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+    }
+
+    /**
+     * Authorization 헤더 값을 만듭니다.
+     *
+     * @param method       HTTP 메서드
+     * @param canonicalUri 인코딩된 경로 (예: /bucket/ab/cd/file.png)
+     * @param headers      서명에 포함할 헤더 (소문자 이름, host와 x-amz-date 포함)
+     * @param payloadHash  x-amz-content-sha256 값
+     * @param amzDate      x-amz-date 값 (yyyyMMdd'T'HHmmss'Z')
+     * @return Authorization 헤더 값
+     */
+    String authorization(String method, String canonicalUri, SortedMap<String, String> headers, String payloadHash, String amzDate) {
+        return authorization(method, canonicalUri, "", headers, payloadHash, amzDate);
+    }
+
+    /**
+     * 쿼리 문자열이 있는 요청(멀티파트 업로드 등)의 Authorization 헤더 값을 만듭니다.
+     *
+     * @param canonicalQuery 이름순으로 정렬하고 인코딩한 쿼리 문자열 (예: partNumber=1&uploadId=abc), 없으면 빈 문자열
+     */
+    String authorization(String method, String canonicalUri, String canonicalQuery, SortedMap<String, String> headers,
+                         String payloadHash, String amzDate) {
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/s3/aws4_request";
+
+        String canonicalHeaders = headers.entrySet().stream()
+                .map(header -> header.getKey() + ":" + header.getValue().trim() + "\n")
+                .collect(Collectors.joining());
+        String signedHeaders = String.join(";", headers.keySet());
+
+        String canonicalRequest = method + "\n" + canonicalUri + "\n" + canonicalQuery + "\n"
+                + canonicalHeaders + "\n" + signedHeaders + "\n" + payloadHash;
+        String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n" + hex(sha256(canonicalRequest));
+
+        byte[] signingKey = hmac(hmac(hmac(hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date), region), "s3"), "aws4_request");
+        String signature = hex(hmac(signingKey, stringToSign));
+
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature;
+    }
+
+    /**
+     * 키의 각 경로 조각을 RFC 3986 규칙으로 인코딩합니다. 구분자 '/'는 그대로 둡니다.
+     */
+    static String encodePath(String path) {
+        return encode(path, true);
+    }
+
+    /**
+     * 쿼리 문자열의 이름이나 값을 RFC 3986 규칙으로 인코딩합니다. '/'도 인코딩합니다.
+     */
+    static String encodeQueryValue(String value) {
+        return encode(value, false);
+    }
+
+    private static String encode(String value, boolean keepSlash) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (keepSlash && c == '/')) {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(HexFormat.of().withUpperCase().toHexDigits(b));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static byte[] sha256(String data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}
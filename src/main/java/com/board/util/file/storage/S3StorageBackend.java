@@ -0,0 +1,393 @@
+package com.board.util.file.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * S3 호환 오브젝트 스토리지(AWS S3, MinIO 등)를 저장소로 사용하는 구현입니다.
+ * <p>
+ * SDK 없이 JDK HttpClient로 REST API(PUT/GET/HEAD/DELETE/Copy Object, ListObjectsV2)를 직접 호출하며, 경로 방식 주소(endpoint/bucket/key)와
+ * Signature Version 4 서명을 사용합니다. 업로드와 다운로드 모두 스트림으로 처리하고, 범위 읽기는 Range 헤더로 요청합니다.
+ * <p>
+ * 한 번의 PUT은 5GB까지만 받으므로 multipartThreshold를 넘는 파일은 멀티파트 업로드로 조각(partSize)마다 나누어 보냅니다.
+ * 조각은 10,000개까지만 허용되므로 파일이 아주 크면 조각 크기를 그만큼 키웁니다.
+ * requestTimeout은 본문이 없거나 작은 요청(GET 응답 헤더, HEAD, DELETE, 멀티파트 시작/취소)에만 걸고,
+ * 본문을 보내는 PUT과 조각 업로드에는 걸지 않습니다. 크기에 비례해 오래 걸리는 전송이 중간에 끊기지 않도록 하기 위함입니다.
+ */
+public class S3StorageBackend implements StorageBackend {
+
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final Pattern UPLOAD_ID = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+    private static final Pattern CONTENTS = Pattern.compile("<Contents>(.*?)</Contents>", Pattern.DOTALL);
+    private static final Pattern KEY = Pattern.compile("<Key>([^<]*)</Key>");
+    private static final Pattern SIZE = Pattern.compile("<Size>(\\d+)</Size>");
+    private static final Pattern LAST_MODIFIED = Pattern.compile("<LastModified>([^<]+)</LastModified>");
+    private static final Pattern NEXT_CONTINUATION_TOKEN = Pattern.compile("<NextContinuationToken>([^<]+)</NextContinuationToken>");
+    private static final int MAX_PARTS = 10_000;
+
+    private final URI endpoint;
+    private final String bucket;
+    private final S3RequestSigner signer;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final long multipartThreshold;
+    private final long partSize;
+
+    public S3StorageBackend(URI endpoint, String region, String bucket, String accessKey, String secretKey, Duration requestTimeout,
+                            long multipartThreshold, long partSize) {
+        this.endpoint = endpoint;
+        this.bucket = bucket;
+        this.signer = new S3RequestSigner(accessKey, secretKey, region);
+        this.requestTimeout = requestTimeout;
+        this.multipartThreshold = multipartThreshold;
+        this.partSize = partSize;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    @Override
+    public void put(String key, InputStream content, long length) throws IOException {
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> content), length);
+        HttpResponse<Void> response = send(request("PUT", key).PUT(body), HttpResponse.BodyHandlers.discarding());
+        expectSuccess("PUT", key, response.statusCode());
+    }
+
+    @Override
+    public void putFile(String key, Path source) throws IOException {
+        long size = Files.size(source);
+        if (size > multipartThreshold) {
+            putMultipart(key, source, size);
+        } else {
+            HttpResponse<Void> response = send(request("PUT", key).PUT(HttpRequest.BodyPublishers.ofFile(source)),
+                    HttpResponse.BodyHandlers.discarding());
+            expectSuccess("PUT", key, response.statusCode());
+        }
+        Files.deleteIfExists(source);
+    }
+
+    /**
+     * 멀티파트 업로드(시작 -> 조각 PUT -> 완료)로 파일을 보냅니다. 도중에 실패하면 업로드를 취소해 남은 조각을 지웁니다.
+     */
+    private void putMultipart(String key, Path source, long size) throws IOException {
+        HttpResponse<String> initiated = send(request("POST", key, "uploads=")
+                        .timeout(requestTimeout)
+                        .POST(HttpRequest.BodyPublishers.noBody()),
+                HttpResponse.BodyHandlers.ofString());
+        expectSuccess("POST", key, initiated.statusCode());
+        Matcher matcher = UPLOAD_ID.matcher(initiated.body());
+        if (!matcher.find()) {
+            throw new IOException("S3 멀티파트 업로드 ID를 받지 못했습니다 [key=" + key + "]");
+        }
+        String uploadIdQuery = "uploadId=" + S3RequestSigner.encodeQueryValue(matcher.group(1));
+
+        try {
+            long effectivePartSize = Math.max(partSize, (size + MAX_PARTS - 1) / MAX_PARTS);
+            List<String> etags = new ArrayList<>();
+            for (long offset = 0; offset < size; offset += effectivePartSize) {
+                int partNumber = etags.size() + 1;
+                long offsetOfPart = offset;
+                long lengthOfPart = Math.min(effectivePartSize, size - offset);
+                HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                        HttpRequest.BodyPublishers.ofInputStream(() -> openPart(source, offsetOfPart, lengthOfPart)), lengthOfPart);
+                HttpResponse<Void> uploaded = send(request("PUT", key, "partNumber=" + partNumber + "&" + uploadIdQuery).PUT(body),
+                        HttpResponse.BodyHandlers.discarding());
+                expectSuccess("PUT", key, uploaded.statusCode());
+                etags.add(uploaded.headers().firstValue("ETag")
+                        .orElseThrow(() -> new IOException("S3 조각 업로드 응답에 ETag가 없습니다 [key=" + key + ", part=" + partNumber + "]")));
+            }
+
+            StringBuilder xml = new StringBuilder("<CompleteMultipartUpload>");
+            for (int i = 0; i < etags.size(); i++) {
+                xml.append("<Part><PartNumber>").append(i + 1).append("</PartNumber><ETag>")
+                        .append(etags.get(i)).append("</ETag></Part>");
+            }
+            xml.append("</CompleteMultipartUpload>");
+            // 완료 요청은 조각을 합치는 동안 응답이 늦어질 수 있어 시간 제한을 걸지 않습니다.
+            // 200 응답 본문에 오류가 담겨 올 수도 있으므로 본문도 확인합니다.
+            HttpResponse<String> completed = send(request("POST", key, uploadIdQuery)
+                            .POST(HttpRequest.BodyPublishers.ofString(xml.toString(), StandardCharsets.UTF_8)),
+                    HttpResponse.BodyHandlers.ofString());
+            expectSuccess("POST", key, completed.statusCode());
+            if (completed.body().contains("<Error>")) {
+                throw new IOException("S3 멀티파트 업로드 완료 실패 [key=" + key + "]: " + completed.body());
+            }
+        } catch (IOException | RuntimeException e) {
+            abortMultipart(key, uploadIdQuery, e);
+            throw e;
+        }
+    }
+
+    private void abortMultipart(String key, String uploadIdQuery, Exception cause) {
+        try {
+            send(request("DELETE", key, uploadIdQuery).timeout(requestTimeout).DELETE(), HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static InputStream openPart(Path source, long offset, long length) {
+        try {
+            InputStream in = Files.newInputStream(source);
+            in.skipNBytes(offset);
+            return new FilterInputStream(in) {
+                private long remaining = length;
+
+                @Override
+                public int read() throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int b = super.read();
+                    if (b >= 0) {
+                        remaining--;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int off, int len) throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int n = super.read(buffer, off, (int) Math.min(len, remaining));
+                    if (n > 0) {
+                        remaining -= n;
+                    }
+                    return n;
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return open(request("GET", key).timeout(requestTimeout).GET(), key);
+    }
+
+    @Override
+    public InputStream getRange(String key, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        HttpRequest.Builder builder = request("GET", key)
+                .timeout(requestTimeout)
+                .header("Range", "bytes=" + offset + "-" + (offset + length - 1))
+                .GET();
+        return open(builder, key);
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        HttpResponse<Void> response = send(request("HEAD", key).timeout(requestTimeout).method("HEAD", HttpRequest.BodyPublishers.noBody()),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        expectSuccess("HEAD", key, response.statusCode());
+
+        long size = response.headers().firstValueAsLong("Content-Length").orElse(0);
+        Instant lastModified = response.headers().firstValue("Last-Modified")
+                .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant())
+                .orElse(Instant.EPOCH);
+        return Optional.of(new StoredObject(key, size, lastModified));
+    }
+
+    /**
+     * ListObjectsV2로 버킷 전체를 훑습니다. 한 번에 한 페이지(최대 1,000개)씩 필요할 때 가져옵니다.
+     */
+    @Override
+    public Stream<StoredObject> list() {
+        Iterator<StoredObject> objects = new Iterator<>() {
+            private Iterator<StoredObject> page = Collections.emptyIterator();
+            private String continuationToken;
+            private boolean hasMorePages = true;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && hasMorePages) {
+                    String body = listPage(continuationToken);
+                    List<StoredObject> fetched = new ArrayList<>();
+                    Matcher contents = CONTENTS.matcher(body);
+                    while (contents.find()) {
+                        fetched.add(parseObject(contents.group(1)));
+                    }
+                    page = fetched.iterator();
+                    Matcher next = NEXT_CONTINUATION_TOKEN.matcher(body);
+                    hasMorePages = body.contains("<IsTruncated>true</IsTruncated>") && next.find();
+                    continuationToken = hasMorePages ? unescapeXml(next.group(1)) : null;
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public StoredObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(objects, Spliterator.NONNULL), false);
+    }
+
+    private String listPage(String continuationToken) {
+        // 서명할 쿼리 문자열은 이름순으로 정렬되어 있어야 합니다.
+        String query = continuationToken == null
+                ? "list-type=2"
+                : "continuation-token=" + S3RequestSigner.encodeQueryValue(continuationToken) + "&list-type=2";
+        try {
+            HttpResponse<String> response = send(signedRequest("GET", "/" + bucket, query, Map.of()).timeout(requestTimeout).GET(),
+                    HttpResponse.BodyHandlers.ofString());
+            expectSuccess("GET", "", response.statusCode());
+            return response.body();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static StoredObject parseObject(String contents) {
+        Matcher key = KEY.matcher(contents);
+        Matcher size = SIZE.matcher(contents);
+        Matcher lastModified = LAST_MODIFIED.matcher(contents);
+        if (!key.find()) {
+            throw new UncheckedIOException(new IOException("S3 목록 응답에 키가 없습니다: " + contents));
+        }
+        return new StoredObject(unescapeXml(key.group(1)),
+                size.find() ? Long.parseLong(size.group(1)) : 0,
+                lastModified.find() ? Instant.parse(lastModified.group(1)) : Instant.EPOCH);
+    }
+
+    private static String unescapeXml(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    /**
+     * 같은 키로 복사(CopyObject)하여 수정 시각을 갱신합니다. 복사는 저장소 안에서만 이루어지고 내용을 내려받지 않습니다.
+     * 내용 주소 방식에서 재사용한 파일을 수거 작업이 유예 시간 안의 파일로 보게 하기 위함입니다.
+     * 크기에 비례해 오래 걸릴 수 있으므로 시간 제한을 걸지 않습니다.
+     */
+    @Override
+    public boolean touch(String key) throws IOException {
+        Map<String, String> copyHeaders = Map.of(
+                "x-amz-copy-source", S3RequestSigner.encodePath("/" + bucket + "/" + key),
+                "x-amz-metadata-directive", "REPLACE");
+        HttpResponse<String> response = send(signedRequest("PUT", "/" + bucket + "/" + key, "", copyHeaders).PUT(HttpRequest.BodyPublishers.noBody()),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        expectSuccess("PUT", key, response.statusCode());
+        // 복사는 200 응답 본문에 오류가 담겨 올 수도 있습니다.
+        if (response.body().contains("<Error>")) {
+            throw new IOException("S3 복사 실패 [key=" + key + "]: " + response.body());
+        }
+        return true;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<Void> response = send(request("DELETE", key).timeout(requestTimeout).DELETE(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 404) {
+            expectSuccess("DELETE", key, response.statusCode());
+        }
+    }
+
+    private InputStream open(HttpRequest.Builder builder, String key) throws IOException {
+        HttpResponse<InputStream> response = send(builder, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() / 100 == 2) {
+            return response.body();
+        }
+        response.body().close();
+        if (response.statusCode() == 404) {
+            throw new NoSuchFileException(key);
+        }
+        throw new IOException("S3 GET 실패 [key=" + key + ", status=" + response.statusCode() + "]");
+    }
+
+    private HttpRequest.Builder request(String method, String key) {
+        return request(method, key, "");
+    }
+
+    /**
+     * @param canonicalQuery 이름순으로 정렬하고 인코딩한 쿼리 문자열, 없으면 빈 문자열
+     */
+    private HttpRequest.Builder request(String method, String key, String canonicalQuery) {
+        return signedRequest(method, "/" + bucket + "/" + key, canonicalQuery, Map.of());
+    }
+
+    /**
+     * 서명 헤더를 붙인 요청 빌더를 만듭니다. HTTP 메서드, 본문, 시간 제한은 호출한 쪽에서 정합니다.
+     *
+     * @param path           버킷부터 시작하는 인코딩 전 경로 (예: /bucket/ab/cd/file.png)
+     * @param canonicalQuery 이름순으로 정렬하고 인코딩한 쿼리 문자열, 없으면 빈 문자열
+     * @param amzHeaders     서명에 함께 넣을 x-amz-* 헤더 (소문자 이름)
+     */
+    private HttpRequest.Builder signedRequest(String method, String path, String canonicalQuery, Map<String, String> amzHeaders) {
+        String canonicalUri = S3RequestSigner.encodePath(path);
+        URI uri = endpoint.resolve(canonicalQuery.isEmpty() ? canonicalUri : canonicalUri + "?" + canonicalQuery);
+        String amzDate = AMZ_DATE.format(Instant.now());
+
+        SortedMap<String, String> signedHeaders = new TreeMap<>();
+        signedHeaders.put("host", uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort());
+        signedHeaders.put("x-amz-content-sha256", S3RequestSigner.UNSIGNED_PAYLOAD);
+        signedHeaders.put("x-amz-date", amzDate);
+        signedHeaders.putAll(amzHeaders);
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .header("x-amz-content-sha256", S3RequestSigner.UNSIGNED_PAYLOAD)
+                .header("x-amz-date", amzDate)
+                .header("Authorization", signer.authorization(method, canonicalUri, canonicalQuery, signedHeaders, S3RequestSigner.UNSIGNED_PAYLOAD, amzDate));
+        amzHeaders.forEach(builder::header);
+        return builder;
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder builder, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(builder.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 요청이 중단되었습니다.", e);
+        }
+    }
+
+    private static void expectSuccess(String method, String key, int status) throws IOException {
+        if (status / 100 != 2) {
+            throw new IOException("S3 " + method + " 실패 [key=" + key + ", status=" + status + "]");
+        }
+    }
+}
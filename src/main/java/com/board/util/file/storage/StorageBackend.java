@@ -0,0 +1,89 @@
+package com.board.util.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 업로드 파일의 실제 저장소를 추상화한 인터페이스입니다.
+ * <p>
+ * 키는 저장소 루트 기준의 상대 경로이며 구분자로 항상 '/'를 사용합니다. (예: ab/cd/abcd....png)
+ * 모든 읽기와 쓰기는 스트림 단위로 이루어지므로 파일 전체를 힙에 올리지 않습니다.
+ * 없는 키를 읽으면 {@link java.nio.file.NoSuchFileException}을 던집니다.
+ */
+public interface StorageBackend {
+
+    /**
+     * 스트림 내용을 key에 저장합니다. 같은 키가 있으면 덮어씁니다.
+     * 저장이 끝나기 전에는 다른 요청이 덜 써진 내용을 읽을 수 없어야 합니다.
+     *
+     * @param key     저장할 키
+     * @param content 저장할 내용 (호출한 쪽에서 닫습니다)
+     * @param length  내용의 길이 (바이트)
+     */
+    void put(String key, InputStream content, long length) throws IOException;
+
+    /**
+     * 로컬 파일을 key로 옮겨 저장합니다. 저장 후 source 파일은 남지 않습니다.
+     * 로컬 저장소는 이름 변경으로, 원격 저장소는 업로드 후 삭제로 처리합니다.
+     *
+     * @param key    저장할 키
+     * @param source 옮길 로컬 파일
+     */
+    default void putFile(String key, Path source) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            put(key, in, Files.size(source));
+        }
+        Files.deleteIfExists(source);
+    }
+
+    /**
+     * 저장된 내용 전체를 읽는 스트림을 엽니다.
+     */
+    InputStream get(String key) throws IOException;
+
+    /**
+     * 저장된 내용 중 [offset, offset + length) 구간만 읽는 스트림을 엽니다.
+     */
+    InputStream getRange(String key, long offset, long length) throws IOException;
+
+    /**
+     * 저장된 파일의 크기와 수정 시각을 조회합니다.
+     *
+     * @return 파일 정보, 없으면 빈 Optional
+     */
+    Optional<StoredObject> stat(String key) throws IOException;
+
+    /**
+     * 저장된 파일을 지웁니다. 없으면 아무 일도 하지 않습니다.
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * 저장된 모든 파일을 훑는 스트림을 엽니다. 순서는 정해져 있지 않습니다.
+     * 파일이 많아도 한꺼번에 읽어 들이지 않고 나누어 가져오며, 도중의 입출력 오류는 UncheckedIOException으로 던집니다.
+     * 사용한 뒤에는 스트림을 닫아야 합니다.
+     */
+    Stream<StoredObject> list() throws IOException;
+
+    /**
+     * 기존 파일이 다시 참조되었음을 기록합니다. (로컬 저장소는 수정 시각을 갱신)
+     * 이를 지원하지 않는 저장소는 파일이 있는지만 확인합니다.
+     *
+     * @return 파일이 있었으면 true, 없으면 false
+     */
+    default boolean touch(String key) throws IOException {
+        return stat(key).isPresent();
+    }
+
+    /**
+     * 로컬 파일시스템에 있는 저장소라면 key의 실제 경로를 반환합니다.
+     * 응답 시 FileChannel.transferTo로 복사 없이 내보내는 데 사용합니다.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+}
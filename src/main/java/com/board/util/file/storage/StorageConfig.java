@@ -0,0 +1,40 @@
+package com.board.util.file.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * file.storage.type 설정에 따라 업로드 파일 저장소(StorageBackend)를 등록합니다.
+ * 여러 서버가 같은 파일을 보려면 공유 디스크 대신 S3 호환 저장소를 사용합니다.
+ */
+@Slf4j
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    public StorageBackend storageBackend(@Value("${file.storage.type:LOCAL}") StorageType type,
+                                         @Value("${file.dir}") String fileDir,
+                                         @Value("${file.storage.s3.endpoint:}") String endpoint,
+                                         @Value("${file.storage.s3.region:us-east-1}") String region,
+                                         @Value("${file.storage.s3.bucket:}") String bucket,
+                                         @Value("${file.storage.s3.access-key:}") String accessKey,
+                                         @Value("${file.storage.s3.secret-key:}") String secretKey,
+                                         @Value("${file.storage.s3.request-timeout:PT30S}") Duration requestTimeout,
+                                         @Value("${file.storage.s3.multipart-threshold:64MB}") DataSize multipartThreshold,
+                                         @Value("${file.storage.s3.part-size:16MB}") DataSize partSize) {
+        log.info("업로드 파일 저장소: {}", type);
+        return switch (type) {
+            case LOCAL -> new LocalStorageBackend(Path.of(fileDir));
+            case MEMORY -> new InMemoryStorageBackend();
+            case S3 -> new S3StorageBackend(URI.create(endpoint), region, bucket, accessKey, secretKey, requestTimeout,
+                    multipartThreshold.toBytes(), partSize.toBytes());
+        };
+    }
+}
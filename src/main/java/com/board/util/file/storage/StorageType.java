@@ -0,0 +1,13 @@
+package com.board.util.file.storage;
+
+/**
+ * 업로드 파일 저장소 종류 (file.storage.type)
+ */
+public enum StorageType {
+    /** file.dir 아래 로컬 디스크 */
+    LOCAL,
+    /** 메모리 (테스트, 벤치마크용) */
+    MEMORY,
+    /** S3 호환 오브젝트 스토리지 */
+    S3
+}
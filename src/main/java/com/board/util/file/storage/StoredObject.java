@@ -0,0 +1,24 @@
+package com.board.util.file.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * 저장소에 있는 파일 하나의 정보입니다.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class StoredObject {
+
+    private final String key;
+
+    /** 파일 크기 (바이트) */
+    private final long size;
+
+    /** 마지막 수정 시각 */
+    private final Instant lastModified;
+}
@@ -0,0 +1,53 @@
+package com.board.util.jdbc;
+
+import com.board.util.metrics.MetricsRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * jdbc.concurrency.limit이 0보다 크면 DataSource 빈을 {@link ConcurrencyLimitedDataSource}로 감싸고,
+ * 한도, 사용 중, 대기, 거절 수를 /metrics에 등록합니다.
+ * {@link JdbcMetricsPostProcessor}보다 먼저 적용되므로 문장 실행 시간에는 허가를 기다린 시간이 들어가지 않습니다.
+ */
+@Component
+public class ConcurrencyLimitPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<MetricsRegistry> metricsRegistry;
+    private final int limit;
+    private final Duration acquireTimeout;
+
+    public ConcurrencyLimitPostProcessor(ObjectProvider<MetricsRegistry> metricsRegistry,
+                                         @Value("${jdbc.concurrency.limit:0}") int limit,
+                                         @Value("${jdbc.concurrency.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.metricsRegistry = metricsRegistry;
+        this.limit = limit;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (limit <= 0 || !(bean instanceof DataSource dataSource)
+                || bean instanceof ConcurrencyLimitedDataSource || bean instanceof TimedDataSource) {
+            return bean;
+        }
+
+        ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(dataSource, limit, acquireTimeout);
+        MetricsRegistry registry = metricsRegistry.getObject();
+        registry.gauge("jdbc.concurrency.limit", limited::getLimit);
+        registry.gauge("jdbc.concurrency.in-use", limited::getInUse);
+        registry.gauge("jdbc.concurrency.waiting", limited::getWaiting);
+        registry.gauge("jdbc.concurrency.rejected", limited::getRejected);
+        return limited;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
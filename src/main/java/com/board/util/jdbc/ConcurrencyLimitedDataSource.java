@@ -0,0 +1,107 @@
+package com.board.util.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 동시에 열 수 있는 커넥션 수를 세마포어로 제한하는 DataSource 데코레이터입니다.
+ * <p>
+ * 가상 스레드로 요청을 처리하면 요청 수만큼 스레드가 생기므로, 수천 개의 스레드가 커넥션 풀 앞에서 기다릴 수 있습니다.
+ * 한도를 풀 크기에 맞춰 두면 풀 밖(공정한 세마포어)에서 순서대로 기다리고, 정해진 시간 안에 얻지 못하면
+ * {@link SQLTransientConnectionException}으로 빨리 실패합니다. 허가는 커넥션을 닫을 때 한 번만 돌려줍니다.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final int limit;
+    private final long acquireTimeoutNanos;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimitedDataSource(DataSource targetDataSource, int limit, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.limit = limit;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.permits = new Semaphore(limit, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return wrap(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return wrap(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /** 지금 커넥션을 쥐고 있는 수 */
+    public int getInUse() {
+        return limit - permits.availablePermits();
+    }
+
+    /** 허가를 기다리는 스레드 수 (근삿값) */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    /** 시간 안에 허가를 얻지 못해 실패한 누적 횟수 */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new SQLTransientConnectionException("DB 동시 접근 한도(" + limit + ")를 "
+                        + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + "ms 안에 얻지 못했습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("DB 동시 접근 허가를 기다리는 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
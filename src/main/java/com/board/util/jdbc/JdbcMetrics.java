@@ -0,0 +1,335 @@
+package com.board.util.jdbc;
+
+import com.board.util.metrics.LatencyHistogram;
+import com.board.util.metrics.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JDBC 문장과 리포지토리 메서드의 실행 지표를 모으는 컴포넌트입니다.
+ * <p>
+ * 문장은 SQL 모양(SqlShape)별로 {@code jdbc.statements{sql=...}} 히스토그램과 {@code jdbc.rows{sql=...}} 카운터에,
+ * 리포지토리 메서드는 {@code repository.calls{method=...}} 히스토그램과 rows, statements 카운터에 기록합니다.
+ * 실행 시간이 임계값(jdbc.slow-query.threshold)을 넘은 문장만 바인드 값과 함께 WARN으로 남깁니다.
+ * <p>
+ * {@link #beginRequest}로 요청 범위를 열면 그 스레드에서 같은 모양의 문장이 몇 번 실행됐는지 세고,
+ * jdbc.n-plus-one.threshold번을 넘으면 N+1 의심으로 한 번 WARN을 남기고 {@code jdbc.n-plus-one.detected}를 올립니다.
+ * 다른 스레드(@Async 등)에서 실행된 문장은 요청 범위에 들어가지 않고, {@link #withCurrentRequest}로 넘긴 작업만 함께 셉니다.
+ */
+@Slf4j
+@Component
+public class JdbcMetrics {
+
+    /** 따로 집계할 SQL 모양의 최대 수. 넘으면 나머지는 하나로 묶습니다. */
+    static final int MAX_SHAPES = 500;
+
+    /**
+     * 모양 계산 결과를 기억해 둘 원본 SQL의 최대 수. IN 목록 길이만 다른 문장처럼 모양은 같고 원본만 다른 SQL이 많으므로
+     * 모양 수와 따로 제한합니다. 가득 차면 비우고 다시 채웁니다.
+     */
+    static final int MAX_CACHED_SQL = 2_000;
+
+    /** 느린 쿼리 로그에 남길 바인드 값의 최대 개수 */
+    private static final int MAX_LOGGED_BINDS = 20;
+
+    private final MetricsRegistry metricsRegistry;
+    private final long slowThresholdNanos;
+    private final int maxBindLength;
+
+    /** SQL 모양 -> 지표. MAX_SHAPES개까지만 만듭니다. */
+    private final Map<String, StatementMetrics> shapes = new ConcurrentHashMap<>();
+    /** 원본 SQL -> 지표. 같은 SQL 문자열이면 모양 계산을 다시 하지 않습니다. */
+    private final Map<String, StatementMetrics> statements = new ConcurrentHashMap<>();
+    private final Map<String, RepositoryMetrics> repositories = new ConcurrentHashMap<>();
+    private final StatementMetrics otherStatements;
+
+    /** 현재 스레드에서 실행 중인 리포지토리 메서드 */
+    private final ThreadLocal<RepositoryCall> currentCall = new ThreadLocal<>();
+
+    /** 현재 스레드에서 처리 중인 요청 */
+    private final ThreadLocal<RequestScope> currentRequest = new ThreadLocal<>();
+
+    private final int nPlusOneThreshold;
+    private final LongAdder nPlusOneDetected;
+
+    public JdbcMetrics(MetricsRegistry metricsRegistry,
+                       @Value("${jdbc.slow-query.threshold:200ms}") Duration slowThreshold,
+                       @Value("${jdbc.slow-query.max-bind-length:64}") int maxBindLength,
+                       @Value("${jdbc.n-plus-one.threshold:10}") int nPlusOneThreshold) {
+        this.metricsRegistry = metricsRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxBindLength = Math.max(8, maxBindLength);
+        this.nPlusOneThreshold = Math.max(1, nPlusOneThreshold);
+        this.nPlusOneDetected = metricsRegistry.counter("jdbc.n-plus-one.detected");
+        this.otherStatements = new StatementMetrics("other");
+    }
+
+    /**
+     * SQL에 해당하는 문장 지표를 반환합니다.
+     */
+    StatementMetrics statement(String sql) {
+        StatementMetrics metrics = statements.get(sql);
+        if (metrics != null) {
+            return metrics;
+        }
+
+        String shape = SqlShape.normalize(sql);
+        metrics = shapes.get(shape);
+        if (metrics == null) {
+            metrics = shapes.size() >= MAX_SHAPES ? otherStatements : shapes.computeIfAbsent(shape, StatementMetrics::new);
+        }
+
+        if (statements.size() >= MAX_CACHED_SQL) {
+            statements.clear();
+        }
+        statements.put(sql, metrics);
+        return metrics;
+    }
+
+    /**
+     * 따로 집계 중인 SQL 모양의 수입니다.
+     */
+    int shapeCount() {
+        return shapes.size();
+    }
+
+    /**
+     * 모양 계산 결과를 기억해 둔 원본 SQL의 수입니다.
+     */
+    int cachedSqlCount() {
+        return statements.size();
+    }
+
+    /**
+     * 문장 한 번의 실행을 기록합니다.
+     *
+     * @param metrics 문장 지표
+     * @param binds   바인드 값 (없으면 빈 목록)
+     * @param nanos   실행 시간 (나노초)
+     * @param rows    변경된 행 수 (조회는 0, 읽은 행은 {@link #recordRow}로 따로 셉니다)
+     */
+    void recordExecution(StatementMetrics metrics, List<Object> binds, long nanos, long rows) {
+        metrics.latency.record(nanos);
+        if (rows > 0) {
+            metrics.rows.add(rows);
+        }
+
+        RepositoryCall call = currentCall.get();
+        if (call != null) {
+            call.statements++;
+            call.rows += rows;
+        }
+
+        if (nanos >= slowThresholdNanos) {
+            log.warn("느린 쿼리 [{}ms][{}] {} binds={}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                    call != null ? call.metrics.name : "-", metrics.shape, formatBinds(binds));
+        }
+
+        RequestScope request = currentRequest.get();
+        if (request != null) {
+            request.statements.increment();
+            int count = request.counts.merge(metrics, 1, Integer::sum);
+            if (count == nPlusOneThreshold + 1) {
+                nPlusOneDetected.increment();
+                log.warn("N+1 의심 [{}][{}] 한 요청에서 같은 SQL이 {}번 넘게 실행되었습니다: {}", request.label,
+                        call != null ? call.metrics.name : "-", nPlusOneThreshold, metrics.shape);
+            }
+        }
+    }
+
+    /**
+     * 조회 결과에서 행 하나를 읽었음을 기록합니다.
+     */
+    void recordRow(StatementMetrics metrics) {
+        metrics.rows.increment();
+        RepositoryCall call = currentCall.get();
+        if (call != null) {
+            call.rows++;
+        }
+    }
+
+    /**
+     * 리포지토리 메서드 실행을 시작합니다. 반환된 호출 정보는 반드시 {@link #endRepositoryCall}로 끝내야 합니다.
+     *
+     * @param name 리포지토리 메서드 이름 (예: PostRepositoryJdbc.postSearchFindAll)
+     */
+    RepositoryCall beginRepositoryCall(String name) {
+        RepositoryMetrics metrics = repositories.computeIfAbsent(name, RepositoryMetrics::new);
+        RepositoryCall call = new RepositoryCall(metrics, currentCall.get());
+        currentCall.set(call);
+        return call;
+    }
+
+    void endRepositoryCall(RepositoryCall call, long nanos) {
+        if (call.previous == null) {
+            currentCall.remove();
+        } else {
+            currentCall.set(call.previous);
+            // 바깥 리포지토리 메서드에도 안쪽에서 실행한 문장을 더합니다.
+            call.previous.statements += call.statements;
+            call.previous.rows += call.rows;
+        }
+        call.metrics.latency.record(nanos);
+        call.metrics.rows.add(call.rows);
+        call.metrics.statements.add(call.statements);
+    }
+
+    /**
+     * 현재 스레드에서 요청 하나의 처리를 시작합니다. 반드시 {@link #endRequest}로 끝내야 합니다.
+     *
+     * @param label 로그에 남길 요청 이름 (예: GET /posts/1)
+     */
+    public void beginRequest(String label) {
+        currentRequest.set(new RequestScope(label));
+    }
+
+    /**
+     * 현재 스레드의 요청 처리를 끝냅니다.
+     *
+     * @return 요청 안에서 실행된 문장 수 (요청 범위가 없었다면 0)
+     */
+    public long endRequest() {
+        RequestScope request = currentRequest.get();
+        currentRequest.remove();
+        return request != null ? request.statements.sum() : 0;
+    }
+
+    /**
+     * 현재 스레드의 요청 범위를 이어받아 실행하는 작업을 반환합니다. 요청을 나눠 다른 스레드에서 조회할 때 사용합니다.
+     * 리포지토리 메서드 호출 정보는 넘기지 않으므로, 작업 안의 리포지토리 호출은 그 스레드에서 새로 집계됩니다.
+     *
+     * @param task 다른 스레드에서 실행할 작업
+     * @return 요청 범위를 이어받는 작업, 요청 범위가 없으면 task 그대로
+     */
+    public <T> Callable<T> withCurrentRequest(Callable<T> task) {
+        RequestScope request = currentRequest.get();
+        if (request == null) {
+            return task;
+        }
+        return () -> {
+            RequestScope previous = currentRequest.get();
+            currentRequest.set(request);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    currentRequest.remove();
+                } else {
+                    currentRequest.set(previous);
+                }
+            }
+        };
+    }
+
+    private String formatBinds(List<Object> binds) {
+        if (binds.isEmpty()) {
+            return "[]";
+        }
+        StringBuilder sb = new StringBuilder("[");
+        int limit = Math.min(binds.size(), MAX_LOGGED_BINDS);
+        for (int i = 0; i < limit; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(formatBind(binds.get(i)));
+        }
+        if (binds.size() > limit) {
+            sb.append(", ...(+").append(binds.size() - limit).append(")");
+        }
+        return sb.append("]").toString();
+    }
+
+    private String formatBind(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (!(value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Date || value instanceof Temporal)) {
+            return "<" + value.getClass().getSimpleName() + ">";
+        }
+        String text = value.toString();
+        if (text.length() > maxBindLength) {
+            text = text.substring(0, maxBindLength) + "…(" + text.length() + ")";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    /**
+     * SQL 모양 하나의 지표입니다.
+     */
+    class StatementMetrics {
+
+        final String shape;
+        final LatencyHistogram latency;
+        final LongAdder rows;
+
+        StatementMetrics(String shape) {
+            this.shape = shape;
+            this.latency = metricsRegistry.histogram("jdbc.statements{sql=" + shape + "}");
+            this.rows = metricsRegistry.counter("jdbc.rows{sql=" + shape + "}");
+        }
+    }
+
+    /**
+     * 리포지토리 메서드 하나의 지표입니다.
+     */
+    class RepositoryMetrics {
+
+        final String name;
+        final LatencyHistogram latency;
+        final LongAdder rows;
+        final LongAdder statements;
+
+        RepositoryMetrics(String name) {
+            this.name = name;
+            this.latency = metricsRegistry.histogram("repository.calls{method=" + name + "}");
+            this.rows = metricsRegistry.counter("repository.rows{method=" + name + "}");
+            this.statements = metricsRegistry.counter("repository.statements{method=" + name + "}");
+        }
+    }
+
+    /**
+     * 요청 하나에서 SQL 모양별 실행 횟수입니다. {@link #withCurrentRequest}로 넘긴 작업과 함께 쓰므로 스레드에 안전해야 합니다.
+     */
+    static class RequestScope {
+
+        final String label;
+        /** StatementMetrics는 equals를 재정의하지 않으므로 동일성으로 구분됩니다. */
+        final Map<StatementMetrics, Integer> counts = new ConcurrentHashMap<>();
+        final LongAdder statements = new LongAdder();
+
+        RequestScope(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * 실행 중인 리포지토리 메서드 호출 하나의 상태입니다. 한 스레드 안에서만 사용합니다.
+     */
+    static class RepositoryCall {
+
+        final RepositoryMetrics metrics;
+        final RepositoryCall previous;
+        long statements;
+        long rows;
+
+        RepositoryCall(RepositoryMetrics metrics, RepositoryCall previous) {
+            this.metrics = metrics;
+            this.previous = previous;
+        }
+    }
+}
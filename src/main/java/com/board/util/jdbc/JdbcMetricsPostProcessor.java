@@ -0,0 +1,93 @@
+package com.board.util.jdbc;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DataSource 빈을 {@link TimedDataSource}로 감싸고, @Repository 빈의 메서드 호출을 {@link JdbcMetrics}에 기록하도록 프록시를 씌웁니다.
+ * jdbc.metrics.enabled=false면 아무것도 감싸지 않습니다.
+ */
+@Component
+public class JdbcMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<JdbcMetrics> jdbcMetrics;
+    private final boolean enabled;
+
+    public JdbcMetricsPostProcessor(ObjectProvider<JdbcMetrics> jdbcMetrics,
+                                    @Value("${jdbc.metrics.enabled:true}") boolean enabled) {
+        this.jdbcMetrics = jdbcMetrics;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled) {
+            return bean;
+        }
+
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)) {
+            return new TimedDataSource(dataSource, jdbcMetrics.getObject());
+        }
+
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (AnnotationUtils.findAnnotation(targetClass, Repository.class) == null) {
+            return bean;
+        }
+
+        RepositoryMetricsInterceptor interceptor = new RepositoryMetricsInterceptor(jdbcMetrics.getObject(), targetClass);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(targetClass.getClassLoader());
+    }
+
+    /**
+     * 리포지토리 메서드 하나의 호출 시간과, 그 안에서 실행된 문장 수와 행 수를 기록합니다.
+     */
+    static class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+        private final JdbcMetrics jdbcMetrics;
+        private final String repositoryName;
+        private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+        RepositoryMetricsInterceptor(JdbcMetrics jdbcMetrics, Class<?> repositoryClass) {
+            this.jdbcMetrics = jdbcMetrics;
+            this.repositoryName = repositoryClass.getSimpleName();
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+
+            String name = names.computeIfAbsent(method, m -> repositoryName + "." + m.getName());
+            JdbcMetrics.RepositoryCall call = jdbcMetrics.beginRepositoryCall(name);
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                jdbcMetrics.endRepositoryCall(call, System.nanoTime() - start);
+            }
+        }
+    }
+}
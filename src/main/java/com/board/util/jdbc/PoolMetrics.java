@@ -0,0 +1,140 @@
+package com.board.util.jdbc;
+
+import com.board.util.metrics.LatencyHistogram;
+import com.board.util.metrics.MetricsRegistry;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HikariCP 커넥션 풀의 상태를 /metrics에 기록하고, 풀이 포화되면 경고하는 컴포넌트입니다.
+ * <p>
+ * {@link PoolMetricsPostProcessor}가 HikariDataSource에 이 객체를 MetricsTrackerFactory로 꽂으면, 풀이 시작될 때
+ * {@code jdbc.pool.active/idle/pending/total/max{pool=...}} 게이지와 커넥션 획득 시간({@code jdbc.pool.acquire}),
+ * 사용 시간({@code jdbc.pool.usage}) 히스토그램, 획득 시간 초과 카운터({@code jdbc.pool.timeouts})를 등록합니다.
+ * <p>
+ * jdbc.pool.alert.interval마다 풀을 확인해 대기 스레드가 jdbc.pool.alert.pending 이상이거나, 사용률이 jdbc.pool.alert.utilization 이상이거나,
+ * 직전 확인 뒤 획득 시간 초과가 있으면 포화로 봅니다. 포화에 들어갈 때 한 번 WARN을 남기고 {@code jdbc.pool.saturation.alerts}를 올리며,
+ * 풀릴 때 INFO를 남깁니다. 외부 알림은 {@code jdbc.pool.saturated{pool=...}} 게이지(1: 포화)를 보면 됩니다.
+ */
+@Slf4j
+@Component
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final MetricsRegistry metricsRegistry;
+    private final double alertUtilization;
+    private final int alertPending;
+    private final LongAdder saturationAlerts;
+
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    public PoolMetrics(MetricsRegistry metricsRegistry,
+                       @Value("${jdbc.pool.alert.utilization:0.9}") double alertUtilization,
+                       @Value("${jdbc.pool.alert.pending:1}") int alertPending) {
+        this.metricsRegistry = metricsRegistry;
+        this.alertUtilization = alertUtilization;
+        this.alertPending = Math.max(1, alertPending);
+        this.saturationAlerts = metricsRegistry.counter("jdbc.pool.saturation.alerts");
+    }
+
+    /**
+     * 풀이 시작될 때 HikariCP가 호출합니다.
+     */
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Pool pool = new Pool(poolName, poolStats);
+        pools.put(poolName, pool);
+
+        String tag = "{pool=" + poolName + "}";
+        metricsRegistry.gauge("jdbc.pool.active" + tag, poolStats::getActiveConnections);
+        metricsRegistry.gauge("jdbc.pool.idle" + tag, poolStats::getIdleConnections);
+        metricsRegistry.gauge("jdbc.pool.pending" + tag, poolStats::getPendingThreads);
+        metricsRegistry.gauge("jdbc.pool.total" + tag, poolStats::getTotalConnections);
+        metricsRegistry.gauge("jdbc.pool.max" + tag, poolStats::getMaxConnections);
+        metricsRegistry.gauge("jdbc.pool.saturated" + tag, () -> pool.saturated ? 1 : 0);
+        return pool;
+    }
+
+    /**
+     * 모든 풀의 포화 여부를 확인합니다. 상태가 바뀔 때만 로그를 남깁니다.
+     */
+    @Scheduled(fixedDelayString = "${jdbc.pool.alert.interval:PT10S}", initialDelayString = "${jdbc.pool.alert.interval:PT10S}")
+    public void checkSaturation() {
+        pools.values().forEach(this::check);
+    }
+
+    private void check(Pool pool) {
+        PoolStats stats = pool.stats;
+        int active = stats.getActiveConnections();
+        int pending = stats.getPendingThreads();
+        int max = Math.max(1, stats.getMaxConnections());
+        long timeouts = pool.timeouts.sum();
+        long newTimeouts = timeouts - pool.lastTimeouts;
+        pool.lastTimeouts = timeouts;
+
+        boolean saturated = pending >= alertPending || (double) active / max >= alertUtilization || newTimeouts > 0;
+        if (saturated && !pool.saturated) {
+            saturationAlerts.increment();
+            log.warn("커넥션 풀 포화 [pool={}, active={}/{}, idle={}, pending={}, timeouts=+{}, acquire p99={}ms]",
+                    pool.name, active, max, stats.getIdleConnections(), pending, newTimeouts,
+                    TimeUnit.MICROSECONDS.toMillis(pool.acquire.percentile(99.0)));
+        } else if (!saturated && pool.saturated) {
+            log.info("커넥션 풀 포화 해소 [pool={}, active={}/{}, pending={}]", pool.name, active, max, pending);
+        }
+        pool.saturated = saturated;
+    }
+
+    /**
+     * 풀 하나의 지표입니다. HikariCP가 커넥션을 얻고 돌려줄 때마다 호출합니다.
+     */
+    private class Pool implements IMetricsTracker {
+
+        final String name;
+        final PoolStats stats;
+        final LatencyHistogram acquire;
+        final LatencyHistogram usage;
+        final LatencyHistogram creation;
+        final LongAdder timeouts;
+        long lastTimeouts;
+        volatile boolean saturated;
+
+        Pool(String name, PoolStats stats) {
+            this.name = name;
+            this.stats = stats;
+            String tag = "{pool=" + name + "}";
+            this.acquire = metricsRegistry.histogram("jdbc.pool.acquire" + tag);
+            this.usage = metricsRegistry.histogram("jdbc.pool.usage" + tag);
+            this.creation = metricsRegistry.histogram("jdbc.pool.creation" + tag);
+            this.timeouts = metricsRegistry.counter("jdbc.pool.timeouts" + tag);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquire.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            creation.record(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+    }
+}
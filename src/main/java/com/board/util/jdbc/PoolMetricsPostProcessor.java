@@ -0,0 +1,28 @@
+package com.board.util.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * HikariDataSource 빈에 {@link PoolMetrics}를 MetricsTrackerFactory로 설정합니다.
+ * 다른 후처리기가 DataSource를 감싸기 전(초기화 전)에 원래 풀에 설정하므로, 감싼 순서와 관계없이 풀 지표를 모을 수 있습니다.
+ */
+@Component
+public class PoolMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<PoolMetrics> poolMetrics;
+
+    public PoolMetricsPostProcessor(ObjectProvider<PoolMetrics> poolMetrics) {
+        this.poolMetrics = poolMetrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+            hikari.setMetricsTrackerFactory(poolMetrics.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,80 @@
+package com.board.util.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * 회원이 방금 쓴 데이터를 바로 다시 읽을 때 복제 지연으로 예전 값이 보이지 않도록, 요청을 주 DB에 고정하는 컴포넌트입니다.
+ * <p>
+ * 쓰기 요청 자체와, 그 회원의 마지막 쓰기 뒤 jdbc.replica.read-your-writes(기본 5초) 안에 들어온 요청은
+ * 읽기 전용 트랜잭션이어도 {@link ReplicaRoutingDataSource}가 주 DB로 보냅니다.
+ * 마지막 쓰기 시각은 세션({@link #LAST_WRITE_AT})에 두므로 요청이 다른 서버로 가도 세션을 공유하면 그대로 지켜집니다.
+ * 고정 여부는 요청 스레드에만 적용됩니다. 요청을 나눠 다른 스레드에서 조회할 때는 {@link #withCurrentRequest}로 고정을 넘깁니다.
+ */
+@Component
+public class ReadYourWrites {
+
+    /** 회원의 마지막 쓰기 시각(epoch 밀리초)을 담는 세션 속성 이름 */
+    public static final String LAST_WRITE_AT = "readYourWrites.lastWriteAt";
+
+    private final long windowMillis;
+
+    /** 현재 스레드의 요청이 주 DB에 고정되었는지 */
+    private final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+    public ReadYourWrites(@Value("${jdbc.replica.read-your-writes:PT5S}") Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    /**
+     * 현재 스레드에서 요청 하나의 처리를 시작합니다. 반드시 {@link #endRequest}로 끝내야 합니다.
+     *
+     * @param write       쓰기 요청인지
+     * @param lastWriteAt 회원의 마지막 쓰기 시각(epoch 밀리초), 없으면 null
+     */
+    public void beginRequest(boolean write, Long lastWriteAt) {
+        if (write || (lastWriteAt != null && System.currentTimeMillis() - lastWriteAt < windowMillis)) {
+            pinned.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 현재 스레드의 요청 처리를 끝냅니다.
+     */
+    public void endRequest() {
+        pinned.remove();
+    }
+
+    /**
+     * 현재 스레드의 읽기를 주 DB에서 해야 하는지 반환합니다.
+     */
+    public boolean isPinned() {
+        return pinned.get() != null;
+    }
+
+    /**
+     * 현재 스레드의 고정 여부를 이어받아 실행하는 작업을 반환합니다.
+     *
+     * @param task 다른 스레드에서 실행할 작업
+     * @return 주 DB 고정을 이어받는 작업, 고정되지 않았으면 task 그대로
+     */
+    public <T> Callable<T> withCurrentRequest(Callable<T> task) {
+        if (!isPinned()) {
+            return task;
+        }
+        return () -> {
+            boolean previous = isPinned();
+            pinned.set(Boolean.TRUE);
+            try {
+                return task.call();
+            } finally {
+                if (!previous) {
+                    pinned.remove();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.board.util.jdbc;
+
+import com.board.util.metrics.MetricsRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * jdbc.replica.urls가 있으면 주 DB와 복제 DB를 나누어 쓰는 {@link ReplicaRoutingDataSource}를 DataSource로 등록합니다.
+ * 없으면 Spring Boot가 spring.datasource.*로 만든 DataSource 하나를 그대로 씁니다.
+ * <p>
+ * 주 DB와 복제 DB 풀은 모두 spring.datasource.hikari.* 설정을 따르고, 복제 DB 풀은 이름에 -replica-N이 붙고 읽기 전용으로 엽니다.
+ * 각 풀의 지표는 {@link PoolMetrics}에, 라우팅 결과는 {@code jdbc.replica.*}로 /metrics에 남깁니다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "jdbc.replica.urls")
+public class ReplicaDataSourceConfig {
+
+    private final Environment environment;
+    private final ObjectProvider<PoolMetrics> poolMetrics;
+
+    public ReplicaDataSourceConfig(Environment environment, ObjectProvider<PoolMetrics> poolMetrics) {
+        this.environment = environment;
+        this.poolMetrics = poolMetrics;
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(DataSourceProperties properties,
+                                   MetricsRegistry metricsRegistry,
+                                   @Value("${jdbc.replica.urls}") List<String> urls,
+                                   @Value("${jdbc.replica.username:}") String username,
+                                   @Value("${jdbc.replica.password:}") String password,
+                                   @Value("${jdbc.replica.validation-timeout:PT1S}") Duration validationTimeout) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = hikari();
+            replica.setPoolName(poolName(replica) + "-replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        log.info("복제 DB {}개로 읽기 전용 트랜잭션을 나눕니다. {}", replicas.size(), replicas.keySet());
+
+        ReplicaPool replicaPool = new ReplicaPool(replicas, validationTimeout);
+        metricsRegistry.gauge("jdbc.replica.count", replicaPool::getSize);
+        metricsRegistry.gauge("jdbc.replica.healthy", replicaPool::getHealthyCount);
+        return replicaPool;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, ReplicaPool replicaPool,
+                                               ReadYourWrites readYourWrites, MetricsRegistry metricsRegistry) {
+        HikariDataSource primary = hikari();
+        primary.setPoolName(poolName(primary));
+        primary.setJdbcUrl(properties.determineUrl());
+        primary.setUsername(properties.determineUsername());
+        primary.setPassword(properties.determinePassword());
+        primary.setDriverClassName(properties.determineDriverClassName());
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicaPool, readYourWrites);
+        metricsRegistry.gauge("jdbc.replica.reads", routing::getReplicaReads);
+        metricsRegistry.gauge("jdbc.replica.pinned-reads", routing::getPinnedReads);
+        metricsRegistry.gauge("jdbc.replica.fallback-reads", routing::getFallbackReads);
+        return routing;
+    }
+
+    /**
+     * spring.datasource.hikari.* 설정을 적용한 풀을 만듭니다. 빈이 아니므로 풀 지표도 여기서 연결합니다.
+     */
+    private HikariDataSource hikari() {
+        HikariDataSource hikari = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(hikari));
+        hikari.setMetricsTrackerFactory(poolMetrics.getObject());
+        return hikari;
+    }
+
+    private static String poolName(HikariDataSource hikari) {
+        return hikari.getPoolName() != null ? hikari.getPoolName() : "board";
+    }
+}
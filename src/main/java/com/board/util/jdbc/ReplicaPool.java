@@ -0,0 +1,128 @@
+package com.board.util.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 복제 DB 여러 개를 돌아가며 쓰고, 응답하지 않는 복제 DB는 건너뛰는 풀입니다.
+ * <p>
+ * 커넥션을 얻다가 실패한 복제 DB는 바로 제외하고 WARN을 남깁니다. jdbc.replica.health-check-interval마다
+ * 모든 복제 DB에서 커넥션을 얻어 {@link Connection#isValid}로 확인하고, 응답하면 다시 넣습니다.
+ * 복제 지연은 여기서 보지 않으며, 방금 쓴 데이터는 {@link ReadYourWrites}가 주 DB에서 읽게 합니다.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param replicas          이름 -> 복제 DB (순서대로 돌아가며 사용)
+     * @param validationTimeout 상태 확인 한 번의 최대 대기 시간 (초 단위로 올림)
+     */
+    public ReplicaPool(Map<String, DataSource> replicas, Duration validationTimeout) {
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.validationTimeoutSeconds = (int) Math.max(1, (validationTimeout.toMillis() + 999) / 1000);
+    }
+
+    /**
+     * 건강한 복제 DB 중 다음 차례의 커넥션을 반환합니다.
+     *
+     * @return 복제 DB 커넥션, 건강한 복제 DB가 없으면 null
+     */
+    public Connection getConnection() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 모든 복제 DB의 상태를 확인합니다. 상태가 바뀔 때만 로그를 남깁니다.
+     */
+    @Scheduled(fixedDelayString = "${jdbc.replica.health-check-interval:PT5S}",
+            initialDelayString = "${jdbc.replica.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(validationTimeoutSeconds)) {
+                    markUp(replica);
+                } else {
+                    markDown(replica, "isValid=false");
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    public int getSize() {
+        return replicas.size();
+    }
+
+    /** 지금 읽기를 받는 복제 DB 수 */
+    public int getHealthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * 복제 DB 풀을 모두 닫습니다.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("복제 DB 제외 [replica={}, reason={}]", replica.name, reason);
+        }
+    }
+
+    private void markUp(Replica replica) {
+        if (!replica.healthy) {
+            replica.healthy = true;
+            log.info("복제 DB 복구 [replica={}]", replica.name);
+        }
+    }
+
+    private static class Replica {
+
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.board.util.jdbc;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 트랜잭션은 복제 DB로, 나머지는 주 DB로 보내는 DataSource입니다.
+ * <p>
+ * 트랜잭션 매니저는 커넥션을 먼저 얻은 뒤에 읽기 전용 여부를 설정하므로, {@link LazyConnectionDataSourceProxy}로 실제 커넥션을
+ * 첫 문장 실행까지 미루고 그때 읽기 전용이면 {@link ReplicaPool}에서 커넥션을 얻습니다. 트랜잭션 밖의 문장은 모두 주 DB로 갑니다.
+ * 현재 요청이 쓰기 직후({@link ReadYourWrites})이거나 건강한 복제 DB가 없으면 읽기 전용이어도 주 DB를 씁니다.
+ * <p>
+ * 닫으면 주 DB 풀만 닫습니다. 복제 DB 풀은 {@link ReplicaPool}이 닫습니다.
+ */
+public class ReplicaRoutingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final ReadYourWrites readYourWrites;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder pinnedReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicas, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(primary);
+        lazy.setReadOnlyDataSource(new ReadOnlyDataSource());
+        setTargetDataSource(lazy);
+    }
+
+    /** 복제 DB에서 읽은 읽기 전용 트랜잭션 수 */
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    /** 쓰기 직후라 주 DB에서 읽은 읽기 전용 트랜잭션 수 */
+    public long getPinnedReads() {
+        return pinnedReads.sum();
+    }
+
+    /** 건강한 복제 DB가 없어 주 DB에서 읽은 읽기 전용 트랜잭션 수 */
+    public long getFallbackReads() {
+        return fallbackReads.sum();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * 읽기 전용 커넥션을 고르는 DataSource입니다. LazyConnectionDataSourceProxy가 읽기 전용 트랜잭션의 첫 문장에서 호출합니다.
+     */
+    private class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (readYourWrites.isPinned()) {
+                pinnedReads.increment();
+                return primary.getConnection();
+            }
+            Connection connection = replicas.getConnection();
+            if (connection == null) {
+                fallbackReads.increment();
+                return primary.getConnection();
+            }
+            replicaReads.increment();
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.board.util.jdbc;
+
+import java.util.regex.Pattern;
+
+/**
+ * SQL 문장을 값에 관계없는 모양(shape)으로 바꾸는 도구입니다.
+ * 공백을 하나로 줄이고, 문자열과 숫자 리터럴을 ?로, IN (?, ?, ...)과 여러 행 VALUES 목록을 하나로 줄여
+ * 값이나 개수만 다른 문장이 같은 지표로 묶이게 합니다.
+ */
+final class SqlShape {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin \\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))(?:\\s*,\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))+");
+
+    private SqlShape() {
+    }
+
+    /**
+     * SQL의 모양을 구합니다.
+     *
+     * @param sql 원본 SQL
+     * @return 리터럴과 목록 길이를 지운 SQL
+     */
+    static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        shape = VALUES_ROWS.matcher(shape).replaceAll("$1");
+        return shape;
+    }
+}
@@ -0,0 +1,168 @@
+package com.board.util.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 실행되는 모든 JDBC 문장의 시간을 재어 {@link JdbcMetrics}에 기록하는 DataSource 데코레이터입니다.
+ * <p>
+ * 커넥션, 문장, 결과 집합을 JDK 동적 프록시로 감싸 execute* 호출 시간과 바인드 값, 읽은 행 수를 수집합니다.
+ * 바인드 값은 느린 쿼리 로그에만 사용하고, 실행이 끝나면 다음 실행을 위해 그대로 유지합니다(JDBC 규약과 같음).
+ * 풀(HikariDataSource 등)은 그대로 두고 바깥에서 감싸므로 unwrap으로 원래 DataSource를 꺼낼 수 있습니다.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    private final JdbcMetrics jdbcMetrics;
+
+    public TimedDataSource(DataSource targetDataSource, JdbcMetrics jdbcMetrics) {
+        super(targetDataSource);
+        this.jdbcMetrics = jdbcMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TimedDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String name = method.getName();
+                String sql = ("prepareStatement".equals(name) || "prepareCall".equals(name)) ? (String) args[0] : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final List<Object> binds = new ArrayList<>();
+        private JdbcMetrics.StatementMetrics current;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                binds.clear();
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            } else if ("getResultSet".equals(name)) {
+                Object result = TimedDataSource.invoke(target, method, args);
+                return result instanceof ResultSet rs && current != null ? wrapResultSet(rs, current) : result;
+            }
+            return TimedDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            if (executed == null) {
+                // Statement.addBatch(sql)로 모은 배치는 문장이 여러 개일 수 있습니다.
+                executed = "(statement batch)";
+            }
+            JdbcMetrics.StatementMetrics metrics = jdbcMetrics.statement(executed);
+            current = metrics;
+
+            long start = System.nanoTime();
+            Object result = TimedDataSource.invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+
+            jdbcMetrics.recordExecution(metrics, binds, elapsed, updatedRows(result));
+            return result instanceof ResultSet rs ? wrapResultSet(rs, metrics) : result;
+        }
+
+        private void bind(int index, Object value) {
+            while (binds.size() < index) {
+                binds.add(null);
+            }
+            binds.set(index - 1, value);
+        }
+    }
+
+    private ResultSet wrapResultSet(ResultSet resultSet, JdbcMetrics.StatementMetrics metrics) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                        jdbcMetrics.recordRow(metrics);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * executeUpdate, executeBatch의 결과에서 변경된 행 수를 구합니다. 알 수 없는 값(SUCCESS_NO_INFO 등)은 세지 않습니다.
+     */
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+}
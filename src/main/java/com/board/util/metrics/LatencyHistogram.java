@@ -0,0 +1,159 @@
+package com.board.util.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 잠금 없이 응답 시간을 기록하는 히스토그램입니다.
+ * <p>
+ * 마이크로초 단위 값을 로그-선형 버킷(2의 거듭제곱 구간마다 32칸)에 세므로 어느 구간에서든 오차가 약 3% 이내이고,
+ * 기록은 AtomicLongArray의 칸 하나를 증가시키는 것이 전부라 요청 스레드가 서로 기다리지 않습니다.
+ * 백분위수는 기동 이후 누적 값이며, 처리량은 최근 60초 동안의 초당 요청 수입니다.
+ */
+public class LatencyHistogram {
+
+    /** 2의 거듭제곱 구간 하나를 나누는 칸 수의 로그 값 (2^5 = 32칸) */
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /** 기록할 수 있는 최대 값 (마이크로초, 약 19시간). 넘는 값은 마지막 칸에 셉니다. */
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    /** 처리량 계산에 사용하는 구간 (초) */
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /** 초 단위 칸마다의 요청 수와, 그 칸이 어느 초의 값인지 */
+    private final AtomicLongArray rateCounts = new AtomicLongArray(RATE_WINDOW_SECONDS);
+    private final AtomicLongArray rateSeconds = new AtomicLongArray(RATE_WINDOW_SECONDS);
+
+    /**
+     * 소요 시간 하나를 기록합니다.
+     *
+     * @param nanos 소요 시간 (나노초)
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        buckets.incrementAndGet(indexOf(micros));
+        count.increment();
+        sumMicros.add(micros);
+        if (micros > maxMicros.get()) {
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+        recordRate(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()));
+    }
+
+    /**
+     * 지금까지 기록된 값의 백분위수를 구합니다.
+     *
+     * @param percentile 0 초과 100 이하의 백분위 (예: 99.0)
+     * @return 백분위수 (마이크로초), 기록이 없으면 0
+     */
+    public long percentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 최근 60초 동안의 초당 평균 기록 수를 구합니다. 칸을 비우는 순간의 경합으로 약간 적게 셀 수 있는 근사치입니다.
+     */
+    public double throughput() {
+        long now = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long total = 0;
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            long second = rateSeconds.get(i);
+            // 지금 진행 중인 초는 아직 덜 찼으므로 제외합니다.
+            if (second < now && now - second <= RATE_WINDOW_SECONDS) {
+                total += rateCounts.get(i);
+            }
+        }
+        return (double) total / RATE_WINDOW_SECONDS;
+    }
+
+    /**
+     * /metrics 응답에 넣을 요약 값을 밀리초 단위로 만듭니다.
+     */
+    public Map<String, Object> summary() {
+        long total = count.sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", total);
+        summary.put("throughput", round(throughput()));
+        summary.put("mean", total == 0 ? 0.0 : round(sumMicros.sum() / 1000.0 / total));
+        summary.put("p50", round(percentile(50) / 1000.0));
+        summary.put("p95", round(percentile(95) / 1000.0));
+        summary.put("p99", round(percentile(99) / 1000.0));
+        summary.put("max", round(maxMicros.get() / 1000.0));
+        return summary;
+    }
+
+    private void recordRate(long second) {
+        int slot = (int) (second % RATE_WINDOW_SECONDS);
+        long stamped = rateSeconds.get(slot);
+        if (stamped != second && rateSeconds.compareAndSet(slot, stamped, second)) {
+            rateCounts.set(slot, 0);
+        }
+        rateCounts.incrementAndGet(slot);
+    }
+
+    /**
+     * 값이 들어갈 칸 번호를 구합니다. 32 미만은 값 그대로, 그 이상은 최상위 비트 아래 5비트로 칸을 나눕니다.
+     */
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 칸에 들어갈 수 있는 가장 큰 값을 구합니다.
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.board.util.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 애플리케이션 내부 지표(카운터, 게이지, 응답 시간 히스토그램)를 이름별로 모아 두는 저장소입니다.
+ * 카운터는 LongAdder를, 히스토그램은 AtomicLongArray를 사용하므로 여러 스레드가 동시에 기록해도 잠금이 없습니다.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<?>> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * 이름에 해당하는 카운터를 반환합니다. 없으면 새로 만듭니다.
+     *
+     * @param name 지표 이름 (예: file.gc.reclaimed.bytes)
+     * @return 카운터
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * 조회 시점에 값을 계산하는 게이지를 등록합니다.
+     *
+     * @param name 지표 이름
+     * @param supplier 현재 값을 돌려주는 함수
+     */
+    public void gauge(String name, Supplier<?> supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * 이름에 해당하는 응답 시간 히스토그램을 반환합니다. 없으면 새로 만듭니다.
+     * 요청마다 부르지 말고 받은 히스토그램을 보관해 두고 기록하는 것이 좋습니다.
+     *
+     * @param name 지표 이름 (예: http.server.requests{handler=PostController.post,status=200})
+     * @return 히스토그램
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * 등록된 모든 지표의 현재 값을 이름순으로 반환합니다.
+     * 히스토그램은 건수, 처리량(초당), 평균, p50/p95/p99, 최댓값(밀리초)을 담은 객체로 반환합니다.
+     *
+     * @return 지표 이름과 값
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> snapshot.put(name, gauge.get()));
+        histograms.forEach((name, histogram) -> snapshot.put(name, histogram.summary()));
+        return snapshot;
+    }
+}
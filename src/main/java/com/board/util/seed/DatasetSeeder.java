@@ -0,0 +1,396 @@
+package com.board.util.seed;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 규모 테스트용 합성 데이터(회원, 게시물, 댓글 트리, 첨부 파일 메타데이터)를 만드는 도구입니다.
+ * <p>
+ * seed.enabled=true로 기동하면 애플리케이션 준비가 끝난 뒤 한 번 실행합니다. 예:
+ * {@code --spring.profiles.active=embedded --seed.enabled=true --seed.posts=1000000 --seed.comments-per-post=10}
+ * <p>
+ * 각 테이블의 현재 max(id) 다음부터 id를 직접 정해 넣으므로, 댓글이 부모 댓글 id를 생성 키 조회 없이 참조할 수 있습니다.
+ * 행은 커넥션 하나에서 여러 행 INSERT(... VALUES (...), (...))로 seed.batch-rows개씩 넣고 문장마다 커밋하며,
+ * 외래키를 지키도록 댓글, 파일 행을 넣기 전에 아직 넣지 않은 게시물 행을 먼저 넣습니다.
+ * 게시물 하나씩 만들고 흘려보내므로 데이터 크기와 관계없이 메모리는 회원 이름 목록만큼만 사용합니다.
+ * 같은 seed.random-seed와 설정이면 batch-rows와 관계없이 항상 같은 데이터가 만들어집니다.
+ * upload_file에는 메타데이터만 넣고 실제 파일은 만들지 않습니다.
+ */
+@Slf4j
+@Component
+public class DatasetSeeder {
+
+    /** MySQL 한 문장의 최대 바인드 변수 수 */
+    private static final int MAX_PLACEHOLDERS = 65_535;
+
+    /** 게시물 작성 시각을 퍼뜨릴 구간. 실행 시각과 관계없이 같은 데이터가 나오도록 고정합니다. */
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final long SPAN_SECONDS = 2L * 365 * 24 * 60 * 60;
+
+    private static final String[] IMAGE_EXTENSIONS = {"jpg", "png", "webp"};
+    private static final String[] IMAGE_CONTENT_TYPES = {"image/jpeg", "image/png", "image/webp"};
+    private static final int[][] IMAGE_SIZES = {{640, 480}, {800, 600}, {1024, 768}, {1280, 720}, {1920, 1080}, {1080, 1350}, {3024, 4032}};
+    private static final String[] ATTACHMENTS = {"report.pdf", "slides.pptx", "data.xlsx", "source.zip", "notes.txt"};
+    private static final String[] ATTACHMENT_CONTENT_TYPES = {"application/pdf",
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "application/zip", "text/plain"};
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final long randomSeed;
+    private final int members;
+    private final long posts;
+    private final int commentsPerPost;
+    private final int maxCommentDepth;
+    private final double imageRatio;
+    private final int batchRows;
+
+    public DatasetSeeder(DataSource dataSource,
+                         @Value("${seed.enabled:false}") boolean enabled,
+                         @Value("${seed.random-seed:42}") long randomSeed,
+                         @Value("${seed.members:1000}") int members,
+                         @Value("${seed.posts:10000}") long posts,
+                         @Value("${seed.comments-per-post:10}") int commentsPerPost,
+                         @Value("${seed.max-comment-depth:30}") int maxCommentDepth,
+                         @Value("${seed.image-ratio:0.3}") double imageRatio,
+                         @Value("${seed.batch-rows:1000}") int batchRows) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.randomSeed = randomSeed;
+        this.members = Math.max(1, members);
+        this.posts = Math.max(0, posts);
+        this.commentsPerPost = Math.max(0, commentsPerPost);
+        this.maxCommentDepth = Math.max(1, maxCommentDepth);
+        this.imageRatio = Math.min(1.0, Math.max(0.0, imageRatio));
+        this.batchRows = Math.max(1, batchRows);
+    }
+
+    /**
+     * 애플리케이션 기동이 끝나면 설정에 따라 데이터를 만듭니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnReady() {
+        if (enabled) {
+            seed();
+        }
+    }
+
+    /**
+     * 설정한 수만큼 회원, 게시물, 댓글, 파일 메타데이터를 만듭니다.
+     *
+     * @return 테이블별로 넣은 행 수와 걸린 시간
+     */
+    public Result seed() {
+        long startedAt = System.nanoTime();
+        log.info("합성 데이터 생성 시작 [seed={}, members={}, posts={}, commentsPerPost={}, batchRows={}]",
+                randomSeed, members, posts, commentsPerPost, batchRows);
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                Result result = seed(connection);
+                result.elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+                log.info("합성 데이터 생성 완료 [members={}, posts={}, comments={}, files={}, {}ms]",
+                        result.members, result.posts, result.comments, result.files, result.elapsedMillis);
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("합성 데이터 생성 실패", e);
+        }
+    }
+
+    private Result seed(Connection connection) throws SQLException {
+        Random random = new Random(randomSeed);
+        long firstMemberId = nextId(connection, "member");
+        long postId = nextId(connection, "post");
+        long commentId = nextId(connection, "comment");
+        long fileId = nextId(connection, "upload_file");
+
+        String[] names = new String[members];
+        try (MultiRowInsert memberInsert = new MultiRowInsert(connection, "member",
+                new String[]{"id", "login_id", "name", "password"})) {
+            for (int i = 0; i < members; i++) {
+                long id = firstMemberId + i;
+                names[i] = SyntheticText.name(random);
+                memberInsert.add(id, "seed" + id, names[i], "password" + id);
+            }
+            memberInsert.flush();
+        }
+
+        Result result = new Result();
+        result.members = members;
+        long[] commentIds = new long[0];
+        int[] depths = new int[0];
+        long progressStartedAt = System.nanoTime();
+
+        try (MultiRowInsert postInsert = new MultiRowInsert(connection, "post",
+                new String[]{"id", "title", "content", "author", "author_id"});
+             MultiRowInsert commentInsert = new MultiRowInsert(connection, "comment",
+                     new String[]{"id", "post_id", "parent_comment_id", "author", "author_id", "content", "created_at", "updated_at"},
+                     postInsert);
+             MultiRowInsert fileInsert = new MultiRowInsert(connection, "upload_file",
+                     new String[]{"id", "post_id", "store_file_name", "upload_file_name", "file_type", "file_size",
+                             "content_type", "sha256", "width", "height"},
+                     postInsert)) {
+
+            for (long p = 0; p < posts; p++, postId++) {
+                int author = random.nextInt(members);
+                postInsert.add(postId, SyntheticText.title(random), SyntheticText.content(random, 2, 8),
+                        names[author], firstMemberId + author);
+
+                fileId = addFiles(fileInsert, random, postId, fileId);
+
+                int count = commentCount(random);
+                if (commentIds.length < count) {
+                    commentIds = new long[count * 2];
+                    depths = new int[count * 2];
+                }
+                LocalDateTime postedAt = EPOCH.plusSeconds(SPAN_SECONDS * p / Math.max(1, posts));
+                for (int c = 0; c < count; c++, commentId++) {
+                    int parent = parentIndex(random, c, depths);
+                    commentIds[c] = commentId;
+                    depths[c] = parent < 0 ? 0 : depths[parent] + 1;
+                    int commenter = random.nextInt(members);
+                    Timestamp createdAt = Timestamp.valueOf(postedAt.plusMinutes(c * 7L + random.nextInt(7)));
+                    commentInsert.add(commentId, postId, parent < 0 ? null : commentIds[parent],
+                            names[commenter], firstMemberId + commenter, SyntheticText.content(random, 1, 3),
+                            createdAt, createdAt);
+                }
+
+                if ((p + 1) % 100_000 == 0) {
+                    double seconds = (System.nanoTime() - progressStartedAt) / 1e9;
+                    log.info("합성 데이터 생성 중 [posts={}/{}, comments={}, {} posts/s]", p + 1, posts,
+                            commentInsert.total + commentInsert.pending, Math.round((p + 1) / seconds));
+                }
+            }
+
+            postInsert.flush();
+            commentInsert.flush();
+            fileInsert.flush();
+            result.posts = postInsert.total;
+            result.comments = commentInsert.total;
+            result.files = fileInsert.total;
+        }
+
+        restartIdentities(connection);
+        return result;
+    }
+
+    /**
+     * 게시물 imageRatio 비율에 이미지 1~4개를, 그중 일부와 나머지 게시물 일부에 첨부 파일 하나를 붙입니다.
+     *
+     * @return 다음 upload_file id
+     */
+    private long addFiles(MultiRowInsert fileInsert, Random random, long postId, long fileId) throws SQLException {
+        if (random.nextDouble() < imageRatio) {
+            int images = 1 + random.nextInt(4);
+            for (int i = 0; i < images; i++) {
+                int type = random.nextInt(IMAGE_EXTENSIONS.length);
+                int[] size = IMAGE_SIZES[random.nextInt(IMAGE_SIZES.length)];
+                long bytes = (long) size[0] * size[1] / (4 + random.nextInt(8));
+                fileInsert.add(fileId++, postId, storeFileName(random, IMAGE_EXTENSIONS[type]),
+                        "IMG_" + (1000 + random.nextInt(9000)) + "." + IMAGE_EXTENSIONS[type], FileTypeEnum.IMAGE.name(),
+                        bytes, IMAGE_CONTENT_TYPES[type], sha256(random), size[0], size[1]);
+            }
+        }
+        if (random.nextInt(10) == 0) {
+            int type = random.nextInt(ATTACHMENTS.length);
+            String name = ATTACHMENTS[type];
+            fileInsert.add(fileId++, postId, storeFileName(random, name.substring(name.lastIndexOf('.') + 1)), name,
+                    FileTypeEnum.ATTACHED.name(), 1024L + random.nextInt(20 * 1024 * 1024),
+                    ATTACHMENT_CONTENT_TYPES[type], sha256(random), null, null);
+        }
+        return fileId;
+    }
+
+    /**
+     * 게시물 하나의 댓글 수. 평균이 commentsPerPost인 지수 분포라 대부분은 적고 일부 게시물에 댓글이 몰립니다.
+     */
+    private int commentCount(Random random) {
+        if (commentsPerPost == 0) {
+            return 0;
+        }
+        double count = -Math.log(1.0 - random.nextDouble()) * commentsPerPost;
+        return (int) Math.min(count, commentsPerPost * 50L);
+    }
+
+    /**
+     * index번째 댓글의 부모 댓글 위치를 고릅니다. 절반은 바로 앞 댓글에 답글을 달아 깊은 스레드를 만들고,
+     * 나머지는 새 루트 댓글이나 앞선 아무 댓글의 답글이 됩니다. maxCommentDepth를 넘으면 루트 댓글로 만듭니다.
+     *
+     * @return 부모 댓글 위치, 루트 댓글이면 -1
+     */
+    private int parentIndex(Random random, int index, int[] depths) {
+        int roll = random.nextInt(100);
+        if (index == 0 || roll < 25) {
+            return -1;
+        }
+        int parent = roll < 75 ? index - 1 : random.nextInt(index);
+        return depths[parent] + 1 > maxCommentDepth ? -1 : parent;
+    }
+
+    private static String storeFileName(Random random, String extension) {
+        return new UUID(random.nextLong(), random.nextLong()) + "." + extension;
+    }
+
+    private static String sha256(Random random) {
+        char[] chars = new char[64];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = HEX[random.nextInt(16)];
+        }
+        return new String(chars);
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * id를 직접 넣은 뒤에도 이후 INSERT가 겹치지 않도록 자동 증가 값을 max(id) 다음으로 맞춥니다.
+     * MySQL은 직접 넣은 id에 맞춰 AUTO_INCREMENT를 올리므로 H2에서만 필요합니다.
+     */
+    private static void restartIdentities(Connection connection) throws SQLException {
+        if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+            return;
+        }
+        for (String table : new String[]{"member", "post", "comment", "upload_file"}) {
+            long next = nextId(connection, table);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter table " + table + " alter column id restart with " + next);
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * 테이블 하나에 여러 행 INSERT를 모아 실행합니다. 가득 찬 문장은 PreparedStatement 하나를 재사용하고 실행할 때마다 커밋합니다.
+     * 부모 테이블이 주어지면 넣기 전에 부모에 모아 둔 행을 먼저 넣습니다.
+     */
+    private final class MultiRowInsert implements AutoCloseable {
+
+        private final Connection connection;
+        private final String table;
+        private final String[] columns;
+        private final MultiRowInsert[] parents;
+        private final int rowsPerStatement;
+        private final Object[] buffer;
+        private PreparedStatement fullStatement;
+        private int pending;
+        private long total;
+
+        MultiRowInsert(Connection connection, String table, String[] columns, MultiRowInsert... parents) {
+            this.connection = connection;
+            this.table = table;
+            this.columns = columns;
+            this.parents = parents;
+            this.rowsPerStatement = Math.min(batchRows, MAX_PLACEHOLDERS / columns.length);
+            this.buffer = new Object[rowsPerStatement * columns.length];
+        }
+
+        void add(Object... values) throws SQLException {
+            System.arraycopy(values, 0, buffer, pending * columns.length, columns.length);
+            if (++pending == rowsPerStatement) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            for (MultiRowInsert parent : parents) {
+                parent.flush();
+            }
+            if (pending == rowsPerStatement) {
+                if (fullStatement == null) {
+                    fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+                }
+                execute(fullStatement);
+            } else {
+                try (PreparedStatement statement = connection.prepareStatement(sql(pending))) {
+                    execute(statement);
+                }
+            }
+            connection.commit();
+            total += pending;
+            pending = 0;
+        }
+
+        private void execute(PreparedStatement statement) throws SQLException {
+            int length = pending * columns.length;
+            for (int i = 0; i < length; i++) {
+                if (buffer[i] == null) {
+                    statement.setNull(i + 1, Types.NULL);
+                } else {
+                    statement.setObject(i + 1, buffer[i]);
+                }
+            }
+            statement.executeUpdate();
+        }
+
+        private String sql(int rows) {
+            String row = "(" + "?, ".repeat(columns.length - 1) + "?)";
+            StringBuilder sb = new StringBuilder(64 + rows * (row.length() + 2))
+                    .append("insert into ").append(table).append(" (").append(String.join(", ", columns)).append(") values ");
+            for (int i = 0; i < rows; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(row);
+            }
+            return sb.toString();
+        }
+
+        /**
+         * 재사용하던 문장을 닫습니다. 남은 행은 넣지 않으므로 먼저 {@link #flush}를 호출해야 합니다.
+         */
+        @Override
+        public void close() throws SQLException {
+            if (fullStatement != null) {
+                fullStatement.close();
+            }
+        }
+    }
+
+    /**
+     * 한 번의 생성 결과입니다.
+     */
+    @Getter
+    public static class Result {
+
+        private long members;
+        private long posts;
+        private long comments;
+        private long files;
+        private long elapsedMillis;
+    }
+}
@@ -0,0 +1,85 @@
+package com.board.util.seed;
+
+import java.util.Random;
+
+/**
+ * 합성 데이터용 한글/영문 제목, 본문, 이름을 만듭니다. 같은 Random 상태면 항상 같은 문자열을 만듭니다.
+ */
+final class SyntheticText {
+
+    private static final String[] PREFIXES = {"[질문]", "[공지]", "[후기]", "[정보]", "[잡담]", "[Q&A]", "", "", ""};
+    private static final String[] KOREAN_SUBJECTS = {
+            "스프링 부트", "트랜잭션", "가상 스레드", "MySQL 인덱스", "커넥션 풀", "게시판 페이징", "파일 업로드",
+            "N+1 문제", "캐시 전략", "타임리프 레이아웃", "배포 자동화", "대댓글 구조", "검색 기능", "세션 로그인", "이미지 썸네일"};
+    private static final String[] ENGLISH_SUBJECTS = {
+            "Spring Boot", "JdbcTemplate", "HikariCP", "virtual threads", "Thymeleaf", "Docker", "Kubernetes",
+            "Gradle build", "MySQL 8", "H2 database", "REST API", "JUnit 5", "Lombok", "connection pool", "query plan"};
+    private static final String[] KOREAN_PREDICATES = {
+            "질문 있습니다", "정리해 봤어요", "에러가 납니다", "도와주세요", "사용 후기", "비교해 봤습니다",
+            "튜닝 팁 공유", "어떻게 하나요?", "적용기", "삽질 기록"};
+    private static final String[] ENGLISH_PREDICATES = {
+            "not working", "best practices", "how to fix?", "performance tips", "explained", "vs alternatives",
+            "migration notes", "quick question", "deep dive", "gotchas"};
+    private static final String[] SENTENCES = {
+            "로컬에서는 잘 되는데 운영 서버에서만 문제가 생깁니다.",
+            "설정 파일은 아래와 같이 바꿔 보았습니다.",
+            "혹시 비슷한 경험 있으신 분 계신가요?",
+            "공식 문서를 참고해서 단계별로 정리했습니다.",
+            "응답 시간이 두 배 가까이 줄었습니다.",
+            "The stack trace points to the connection pool.",
+            "I tried increasing the timeout but nothing changed.",
+            "Here is a minimal example that reproduces the issue.",
+            "Benchmarks were run on a single laptop, so take them with a grain of salt.",
+            "댓글로 의견 남겨 주시면 감사하겠습니다."};
+    private static final String[] SURNAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임"};
+    private static final String[] GIVEN_NAMES = {"민준", "서연", "도윤", "하은", "지호", "수아", "예준", "지우", "현우", "채원"};
+    private static final String[] ENGLISH_NAMES = {"Alex", "Jamie", "Chris", "Taylor", "Jordan", "Morgan", "Sam", "Robin"};
+
+    private SyntheticText() {
+    }
+
+    /**
+     * 한글 제목 약 70%, 영문 제목 약 30%를 만듭니다. 길이는 post.title(255자)보다 항상 짧습니다.
+     */
+    static String title(Random random) {
+        String prefix = pick(random, PREFIXES);
+        String title;
+        if (random.nextInt(10) < 7) {
+            String subject = random.nextBoolean() ? pick(random, KOREAN_SUBJECTS) : pick(random, ENGLISH_SUBJECTS);
+            String second = random.nextInt(3) == 0 ? " " + pick(random, KOREAN_SUBJECTS) : "";
+            title = subject + second + " " + pick(random, KOREAN_PREDICATES);
+        } else {
+            title = pick(random, ENGLISH_SUBJECTS) + " " + pick(random, ENGLISH_PREDICATES);
+        }
+        return prefix.isEmpty() ? title : prefix + " " + title;
+    }
+
+    /**
+     * 문장 minSentences ~ maxSentences개로 된 본문을 만듭니다.
+     */
+    static String content(Random random, int minSentences, int maxSentences) {
+        int count = minSentences + random.nextInt(maxSentences - minSentences + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(pick(random, SENTENCES));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 한글 이름 약 80%, 영문 이름 약 20%를 만듭니다.
+     */
+    static String name(Random random) {
+        if (random.nextInt(5) == 0) {
+            return pick(random, ENGLISH_NAMES) + random.nextInt(100);
+        }
+        return pick(random, SURNAMES) + pick(random, GIVEN_NAMES);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
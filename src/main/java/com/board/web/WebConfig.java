@@ -1,18 +1,37 @@
 package com.board.web;
 
+import com.board.util.jdbc.JdbcMetrics;
+import com.board.util.jdbc.ReadYourWrites;
+import com.board.util.metrics.MetricsRegistry;
 import com.board.web.interceptor.LogInterceptor;
 import com.board.web.interceptor.LoginCheckInterceptor;
+import com.board.web.interceptor.MetricsAccessInterceptor;
+import com.board.web.interceptor.QueryCountInterceptor;
+import com.board.web.interceptor.ReadYourWritesInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Spring MVC 설정을 담당하는 Configuration 클래스.
  * 인터셉터를 등록하고 관리하는 역할을 수행합니다.
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final MetricsRegistry metricsRegistry;
+    private final JdbcMetrics jdbcMetrics;
+    private final ReadYourWrites readYourWrites;
+
+    /** 내부 지표(/metrics)를 볼 수 있는 주소 또는 대역 */
+    @Value("${metrics.allowed-addresses:127.0.0.1,::1}")
+    private List<String> metricsAllowedAddresses;
+
     /**
      * 인터셉터를 등록하는 메서드.
      * 다양한 인터셉터를 체인으로 구성하여 요청 처리 전후에 공통 로직을 적용할 수 있습니다.
@@ -21,14 +40,28 @@ public class WebConfig implements WebMvcConfigurer {
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new LogInterceptor())
+        registry.addInterceptor(new LogInterceptor(metricsRegistry))
                 .order(1)
                 .addPathPatterns("/**")
                 .excludePathPatterns("/css/**", "/*.ico", "/error"); // 정적 리소스 및 에러 페이지 제외
 
-        registry.addInterceptor(new LoginCheckInterceptor())
+        registry.addInterceptor(new QueryCountInterceptor(jdbcMetrics))
                 .order(2)
                 .addPathPatterns("/**")
-                .excludePathPatterns("/", "/members/add", "/login", "/login/**", "/logout", "/css/**", "/*.ico", "/error"); // 홈, 회원가입, 로그인 관련, 정적 리소스, 에러 페이지 제외
+                .excludePathPatterns("/css/**", "/*.ico", "/error");
+
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWrites))
+                .order(3)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/css/**", "/*.ico", "/error");
+
+        registry.addInterceptor(new MetricsAccessInterceptor(metricsAllowedAddresses))
+                .order(4)
+                .addPathPatterns("/metrics");
+
+        registry.addInterceptor(new LoginCheckInterceptor())
+                .order(5)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/", "/members/add", "/login", "/login/**", "/logout", "/css/**", "/*.ico", "/error", "/metrics"); // 홈, 회원가입, 로그인 관련, 정적 리소스, 에러 페이지, 지표(주소로 제한) 제외
     }
 }
@@ -1,5 +1,7 @@
 package com.board.web.interceptor;
 
+import com.board.util.metrics.LatencyHistogram;
+import com.board.util.metrics.MetricsRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -7,11 +9,16 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * 모든 HTTP 요청에 대해 로그를 기록하는 인터셉터.
- * 요청 시작 시 고유 ID를 부여하여 요청의 전 생애주기를 추적할 수 있도록 지원합니다.
+ * 모든 HTTP 요청의 처리 시간을 핸들러와 응답 상태별 히스토그램에 기록하는 인터셉터.
+ * 기록한 p50/p95/p99와 처리량은 /metrics에서 {@code http.server.requests{handler=...,status=...}} 이름으로 조회할 수 있습니다.
+ * 요청별 로그는 DEBUG 레벨에서만 남기며, 이때만 요청 고유 ID를 만들어 전 생애주기를 추적합니다.
  */
 @Slf4j
 public class LogInterceptor implements HandlerInterceptor {
@@ -19,9 +26,26 @@ public class LogInterceptor implements HandlerInterceptor {
     // 요청 고유 ID를 HTTP 요청 속성에 저장할 때 사용되는 키
     public static final String LOGIN_ID = "logId";
 
+    // 요청 시작 시각(System.nanoTime)을 HTTP 요청 속성에 저장할 때 사용되는 키
+    private static final String START_NANOS = LogInterceptor.class.getName() + ".startNanos";
+
+    private static final String METRIC_NAME = "http.server.requests";
+
+    private final MetricsRegistry metricsRegistry;
+
+    /** 핸들러 메서드별 히스토그램 모음. 요청마다 지표 이름 문자열을 만들지 않도록 메서드 객체로 찾습니다. */
+    private final Map<Method, HandlerMetrics> handlerMetrics = new ConcurrentHashMap<>();
+
+    /** 정적 리소스 등 컨트롤러 메서드가 아닌 핸들러의 히스토그램 모음 (핸들러 클래스별) */
+    private final Map<Class<?>, HandlerMetrics> otherMetrics = new ConcurrentHashMap<>();
+
+    public LogInterceptor(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
     /**
      * 컨트롤러 실행 전 호출됩니다.
-     * 요청에 고유한 ID를 부여하고, 요청 정보를 로깅합니다.
+     * 요청 시작 시각을 기록하고, DEBUG 레벨이면 요청에 고유한 ID를 부여하여 요청 정보를 로깅합니다.
      *
      * @param request 현재 HTTP 요청 객체
      * @param response 현재 HTTP 응답 객체
@@ -29,46 +53,85 @@ public class LogInterceptor implements HandlerInterceptor {
      * @return 다음 인터셉터 또는 컨트롤러로 요청을 계속 진행할지 여부 (true: 진행, false: 중단)
      * @throws Exception 예외 발생 시
      */
-        @Override
-        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String requestURI = request.getRequestURI();
-
-        String uuid = UUID.randomUUID().toString();
-        request.setAttribute(LOGIN_ID, uuid);
-
-        //@RequestMapping: HandlerMethod
-        //정적 리소스: ResourceHttpRequestHandler
-         if (handler instanceof HandlerMethod) {
-             HandlerMethod hm = (HandlerMethod) handler;
-         }
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        request.setAttribute(START_NANOS, System.nanoTime());
 
-        log.info("REQUEST [{}][{}][{}]", uuid, requestURI, handler);
+        if (log.isDebugEnabled()) {
+            String uuid = UUID.randomUUID().toString();
+            request.setAttribute(LOGIN_ID, uuid);
+            log.debug("REQUEST [{}][{}][{}]", uuid, request.getRequestURI(), handler);
+        }
         return true;
     }
 
     /**
      * 컨트롤러 실행 후 뷰 렌더링 전 호출됩니다.
-     * 모델앤뷰 정보를 로깅합니다.
+     * DEBUG 레벨이면 모델앤뷰 정보를 로깅합니다.
      */
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        String logId = (String) request.getAttribute(LOGIN_ID);
-        log.info("POST HANDLE [{}][{}][{}]", logId, handler, modelAndView);
+        if (log.isDebugEnabled()) {
+            log.debug("POST HANDLE [{}][{}][{}]", request.getAttribute(LOGIN_ID), handler, modelAndView);
+        }
     }
 
     /**
      * 뷰 렌더링 후 (또는 예외 발생 후) 최종적으로 호출됩니다.
-     * 요청 처리 완료 정보를 로깅하고, 예외 발생 시 에러를 로깅합니다.
+     * 처리 시간을 핸들러와 응답 상태별 히스토그램에 기록하고, 예외 발생 시 에러를 로깅합니다.
+     * 예외로 끝난 요청은 아직 응답 상태가 정해지지 않았으므로 500으로 기록합니다.
      */
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-        String requestURI = request.getRequestURI();
-        String logId = (String) request.getAttribute(LOGIN_ID);
+        Object startNanos = request.getAttribute(START_NANOS);
+        long elapsedNanos = startNanos instanceof Long start ? System.nanoTime() - start : -1;
+
+        int status = response.getStatus();
+        if (ex != null && status < 400) {
+            status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        }
+        if (elapsedNanos >= 0) {
+            metricsOf(handler).histogram(status).record(elapsedNanos);
+        }
 
-        log.info("RESPONSE [{}][{}][{}]", logId, requestURI, handler);
+        String requestURI = request.getRequestURI();
+        Object logId = request.getAttribute(LOGIN_ID);
+        if (log.isDebugEnabled()) {
+            log.debug("RESPONSE [{}][{}][{}][{}][{}ms]", logId, requestURI, handler, status, elapsedNanos / 1_000_000);
+        }
         if (ex != null) {
             log.error("AFTER COMPLETION error [{}][{}][{}]", logId, requestURI, ex);
         }
     }
 
+    private HandlerMetrics metricsOf(Object handler) {
+        if (handler instanceof HandlerMethod hm) {
+            return handlerMetrics.computeIfAbsent(hm.getMethod(),
+                    method -> new HandlerMetrics(method.getDeclaringClass().getSimpleName() + "." + method.getName()));
+        }
+        return otherMetrics.computeIfAbsent(handler.getClass(), type -> new HandlerMetrics(type.getSimpleName()));
+    }
+
+    /**
+     * 핸들러 하나의 응답 상태별 히스토그램입니다. 상태 코드(100~599)를 배열 인덱스로 바로 찾습니다.
+     */
+    private class HandlerMetrics {
+
+        private final String handlerName;
+        private final AtomicReferenceArray<LatencyHistogram> byStatus = new AtomicReferenceArray<>(600);
+
+        HandlerMetrics(String handlerName) {
+            this.handlerName = handlerName;
+        }
+
+        LatencyHistogram histogram(int status) {
+            int index = status >= 100 && status < 600 ? status : 0;
+            LatencyHistogram histogram = byStatus.get(index);
+            if (histogram == null) {
+                histogram = metricsRegistry.histogram(METRIC_NAME + "{handler=" + handlerName + ",status=" + status + "}");
+                byStatus.compareAndSet(index, null, histogram);
+            }
+            return histogram;
+        }
+    }
 }
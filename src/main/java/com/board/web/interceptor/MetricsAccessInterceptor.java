@@ -0,0 +1,105 @@
+package com.board.web.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * 내부 지표(/metrics)를 허용된 주소에서 온 요청에만 보여 주는 인터셉터.
+ * <p>
+ * 지표에는 SQL 모양, 파일 저장소와 커넥션 풀 상태처럼 일반 회원에게 보일 필요가 없는 내부 정보가 담기므로
+ * 로그인 여부 대신 요청을 보낸 주소로 막습니다. 수집기는 세션 없이 호출하므로 로그인 확인은 하지 않습니다.
+ * 허용 목록은 metrics.allowed-addresses에 주소(127.0.0.1) 또는 대역(10.0.0.0/8)으로 적습니다.
+ * 프록시 뒤에서는 요청 주소가 프록시 주소가 되므로, server.forward-headers-strategy로 실제 주소를 받도록 설정해야 합니다.
+ */
+@Slf4j
+public class MetricsAccessInterceptor implements HandlerInterceptor {
+
+    private final List<AddressRange> allowed;
+
+    public MetricsAccessInterceptor(List<String> allowedAddresses) {
+        this.allowed = allowedAddresses.stream()
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .map(AddressRange::parse)
+                .toList();
+    }
+
+    /**
+     * 허용 목록에 없는 주소의 요청은 403으로 거절합니다.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        String remoteAddr = request.getRemoteAddr();
+        if (isAllowed(remoteAddr)) {
+            return true;
+        }
+        log.warn("허용되지 않은 주소의 지표 요청 [주소={}, 요청 경로={}]", remoteAddr, request.getRequestURI());
+        response.sendError(HttpServletResponse.SC_FORBIDDEN);
+        return false;
+    }
+
+    private boolean isAllowed(String remoteAddr) {
+        byte[] address;
+        try {
+            // 요청 주소는 항상 IP 문자열이므로 이름 조회가 일어나지 않습니다.
+            address = InetAddress.getByName(remoteAddr).getAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+        return allowed.stream().anyMatch(range -> range.contains(address));
+    }
+
+    /**
+     * 주소 하나 또는 CIDR 대역입니다.
+     */
+    private static class AddressRange {
+
+        final byte[] network;
+        final int prefixLength;
+
+        AddressRange(byte[] network, int prefixLength) {
+            this.network = network;
+            this.prefixLength = prefixLength;
+        }
+
+        static AddressRange parse(String value) {
+            int slash = value.indexOf('/');
+            String host = slash < 0 ? value : value.substring(0, slash);
+            try {
+                byte[] network = InetAddress.getByName(host).getAddress();
+                int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(value.substring(slash + 1));
+                if (prefixLength < 0 || prefixLength > network.length * 8) {
+                    throw new IllegalArgumentException("잘못된 대역입니다: " + value);
+                }
+                return new AddressRange(network, prefixLength);
+            } catch (UnknownHostException | NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 지표 허용 주소입니다: " + value, e);
+            }
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xff << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
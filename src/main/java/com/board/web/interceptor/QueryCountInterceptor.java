@@ -0,0 +1,47 @@
+package com.board.web.interceptor;
+
+import com.board.util.jdbc.JdbcMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 요청 하나를 JDBC 문장 집계의 범위로 묶는 인터셉터.
+ * 같은 SQL 모양이 한 요청에서 여러 번 실행되면 {@link JdbcMetrics}가 N+1 의심 로그를 남깁니다.
+ */
+@Slf4j
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final JdbcMetrics jdbcMetrics;
+
+    public QueryCountInterceptor(JdbcMetrics jdbcMetrics) {
+        this.jdbcMetrics = jdbcMetrics;
+    }
+
+    /**
+     * 컨트롤러 실행 전에 현재 스레드의 요청 범위를 엽니다.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        jdbcMetrics.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        return true;
+    }
+
+    /**
+     * 요청이 끝나면 범위를 닫고, 실행된 문장 수를 DEBUG로 남깁니다.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        long statements = jdbcMetrics.endRequest();
+        log.debug("요청 SQL 실행 수 [{} {}] {}", request.getMethod(), request.getRequestURI(), statements);
+    }
+
+    /**
+     * 비동기 처리로 넘어가면 요청 스레드가 풀로 돌아가므로 여기서 범위를 닫습니다.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        jdbcMetrics.endRequest();
+    }
+}
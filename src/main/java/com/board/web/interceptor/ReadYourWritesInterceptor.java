@@ -0,0 +1,64 @@
+package com.board.web.interceptor;
+
+import com.board.util.jdbc.ReadYourWrites;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 로그인한 회원의 쓰기 요청이 성공하면 세션에 시각을 남기고, 그 뒤 일정 시간 동안 들어온 요청의 읽기를 주 DB에 고정하는 인터셉터.
+ * 게시물 등록 후 /posts/{postId}로 리다이렉트될 때 아직 복제되지 않은 복제 DB에서 읽지 않도록 합니다.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String WRITE_REQUEST = ReadYourWritesInterceptor.class.getName() + ".write";
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReadYourWritesInterceptor(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    /**
+     * 쓰기 요청이거나 마지막 쓰기 뒤 얼마 지나지 않았으면 현재 스레드를 주 DB에 고정합니다.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HttpSession session = request.getSession(false);
+        boolean loggedIn = session != null && session.getAttribute("loginMember") != null;
+        boolean write = loggedIn && isWrite(request.getMethod());
+        request.setAttribute(WRITE_REQUEST, write);
+        readYourWrites.beginRequest(write, loggedIn ? (Long) session.getAttribute(ReadYourWrites.LAST_WRITE_AT) : null);
+        return true;
+    }
+
+    /**
+     * 쓰기 요청이 성공했으면 세션에 쓰기 시각을 남기고, 현재 스레드의 고정을 풉니다.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        try {
+            if (Boolean.TRUE.equals(request.getAttribute(WRITE_REQUEST)) && ex == null && response.getStatus() < 400) {
+                HttpSession session = request.getSession(false);
+                if (session != null) {
+                    session.setAttribute(ReadYourWrites.LAST_WRITE_AT, System.currentTimeMillis());
+                }
+            }
+        } finally {
+            readYourWrites.endRequest();
+        }
+    }
+
+    /**
+     * 비동기 처리로 넘어가면 요청 스레드가 풀로 돌아가므로 여기서 고정을 풉니다.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        readYourWrites.endRequest();
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+}
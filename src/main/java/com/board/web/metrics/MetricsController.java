@@ -0,0 +1,30 @@
+package com.board.web.metrics;
+
+import com.board.util.metrics.MetricsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 애플리케이션 내부 지표를 JSON으로 내보내는 컨트롤러.
+ * <p>
+ * GET 요청 {@code /metrics}를 처리한다. 허용된 주소에서 온 요청만 들어온다. (MetricsAccessInterceptor)
+ */
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * 현재 등록된 모든 지표를 반환한다.
+     *
+     * @return 지표 이름과 값
+     */
+    @GetMapping("/metrics")
+    public Map<String, Object> metrics() {
+        return metricsRegistry.snapshot();
+    }
+}
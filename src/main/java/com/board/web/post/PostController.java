@@ -1,32 +1,40 @@
 package com.board.web.post;
 
-import com.board.domain.comment.Comment;
-import com.board.domain.comment.CommentRepository;
+import com.board.domain.post.postService.PostDetail;
+import com.board.domain.post.postService.PostDetailLoader;
 import com.board.domain.post.postService.PostService;
 import com.board.web.comment.form.CommentForm;
+import com.board.domain.post.Page;
 import com.board.domain.post.Post;
+import com.board.domain.post.PostSummary;
 import com.board.domain.member.Member;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileLookup;
+import com.board.util.file.FileServer;
 import com.board.util.file.FileStore;
+import com.board.util.file.ZipStreamer;
+import com.board.util.file.storage.StorageBackend;
+import com.board.util.file.storage.StoredObject;
 import com.board.web.post.form.PagedResultForm;
 import com.board.web.post.form.PostForm;
 import com.board.web.post.form.PostSearchForm;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import java.net.MalformedURLException;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import org.springframework.web.util.UriUtils;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 게시물 관련 웹 요청을 처리하는 컨트롤러 클래스.
@@ -40,22 +48,59 @@ import java.util.List;
 @RequestMapping("posts")
 public class PostController {
 
-    private final CommentRepository commentRepository;
     private final FileStore fileStore;
+    private final FileServer fileServer;
+    private final UploadFileLookup uploadFileLookup;
+    private final ZipStreamer zipStreamer;
     private final PostService postService;
+    private final PostDetailLoader postDetailLoader;
 
     /**
      * 지정된 파일 이름의 이미지를 응답 본문에 직접 반환합니다.
      * 주로 <img> 태그의 src 속성에서 이미지를 표시하는 데 사용됩니다.
+     * {@code w} 파라미터로 축소본의 폭을 지정할 수 있으며, 축소본이 아직 준비되지 않았으면 원본을 반환합니다.
+     * UUID 파일명은 내용이 바뀌지 않으므로 immutable 캐시 헤더를 붙이되, 축소본 대신 원본을 보낸 경우에는 ETag로 재검증하게 합니다.
+     * 원본은 업로드 때 저장해 둔 크기와 해시로 저장소 정보 조회 없이 보내고, 축소본만 정보 조회 한 번으로 확인합니다.
+     * 조건부 요청과 Range 요청을 지원합니다.
+     * 파일은 설정된 저장소(file.storage.type)에서 읽어 그대로 스트리밍합니다.
      *
      * @param filename 서버에 저장된 이미지 파일의 이름
-     * @return 이미지 파일에 대한 리소스
-     * @throws MalformedURLException 파일 경로가 잘못된 형식일 경우
+     * @param width 요청할 축소본의 가로 폭 (선택)
+     * @param request 현재 HTTP 요청 (조건부/Range 헤더 확인용)
+     * @param response 이미지를 기록할 HTTP 응답
+     * @throws IOException 응답 쓰기에 실패한 경우
      */
-    @ResponseBody
     @GetMapping("/images/{filename}")
-    public Resource downloadImage(@PathVariable String filename) throws MalformedURLException {
-        return new UrlResource("file:" + fileStore.getFullPath(filename));
+    public void downloadImage(@PathVariable String filename, @RequestParam(name = "w", required = false) Integer width,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (filename.contains("..")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        StorageBackend storage = fileStore.getStorageBackend();
+        UploadFile image = uploadFileLookup.findByStoreFileName(filename);
+        boolean immutable = true;
+
+        if (width != null && !isNarrowerThan(image, width)) {
+            // 축소본은 크기와 해시를 따로 저장하지 않으므로 정보 조회 한 번으로 존재 확인과 응답 헤더를 함께 처리합니다.
+            for (String variantKey : fileStore.getVariantKeys(filename, width)) {
+                Optional<StoredObject> variant = storage.stat(variantKey);
+                if (variant.isPresent()) {
+                    fileServer.serve(storage, variant.get(), null, true, request, response);
+                    return;
+                }
+            }
+            // 축소본이 아직 없어 원본을 보내면 같은 URL이 곧 축소본을 가리키게 되므로 immutable로 캐시하지 않습니다.
+            immutable = false;
+        }
+        fileServer.serve(storage, fileStore.getStorageKeys(filename), image, null, immutable, request, response);
+    }
+
+    /**
+     * 원본 폭이 요청한 폭 이하라 축소본이 만들어지지 않는 이미지인지 저장해 둔 크기로 확인합니다.
+     */
+    private static boolean isNarrowerThan(UploadFile image, int width) {
+        return image != null && image.getWidth() != null && image.getWidth() <= width;
     }
 
 
@@ -63,30 +108,60 @@ public class PostController {
      * 게시물에 첨부된 파일을 다운로드합니다.
      * Content-Disposition 헤더를 'attachment'로 설정하여 브라우저가 파일을 직접 표시하는 대신 다운로드 대화상자를 표시하도록 합니다.
      * 파일 이름은 UTF-8로 인코딩되어 다국어 문자가 깨지는 것을 방지합니다.
+     * 게시물 전체를 조회하지 않고 캐시된 첨부파일 정보만 사용하며, 같은 URL이 수정 후 다른 파일을 가리킬 수 있어 ETag로 재검증합니다.
+     * 파일은 설정된 저장소(file.storage.type)에서 읽어 그대로 스트리밍합니다.
      *
      * @param postId 파일을 다운로드할 게시물의 ID
-     * @return 다운로드할 파일과 HTTP 헤더를 포함하는 ResponseEntity
-     * @throws MalformedURLException 파일 경로가 잘못된 형식일 경우
+     * @param request 현재 HTTP 요청 (조건부/Range 헤더 확인용)
+     * @param response 파일을 기록할 HTTP 응답
+     * @throws IOException 응답 쓰기에 실패한 경우
      */
     @GetMapping("/attach/{postId}")
-    public ResponseEntity<Resource> downloadAttach(@PathVariable Long postId) throws MalformedURLException {
-        Post post = postService.getPost(postId);
-        String storeFileName = post.getAttachFile().getStoreFileName();
-        String uploadFileName = post.getAttachFile().getUploadFileName();
+    public void downloadAttach(@PathVariable Long postId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UploadFile attachFile = uploadFileLookup.findAttachFile(postId);
+        if (attachFile == null) {
+            log.warn("게시물 ID[{}]의 첨부파일을 찾을 수 없습니다.", postId);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
 
-        UrlResource resource = new UrlResource("file:" + fileStore.getFullPath(storeFileName));
+        String uploadFileName = attachFile.getUploadFileName();
         log.info("uploadFileName={}", uploadFileName);
 
         String encodedUploadFileName = UriUtils.encode(uploadFileName, StandardCharsets.UTF_8);
         String contentDisposition = "attachment; filename=\"" + encodedUploadFileName + "\"";
 
-        return ResponseEntity.ok().header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition).body(resource);
+        fileServer.serve(fileStore.getStorageBackend(), fileStore.getStorageKeys(attachFile.getStoreFileName()), attachFile, contentDisposition, false, request, response);
+    }
+
+    /**
+     * 게시물의 첨부파일과 이미지 파일을 하나의 ZIP으로 묶어 다운로드합니다.
+     * 압축 파일을 미리 만들지 않고 저장소에서 읽는 대로 응답에 바로 쓰므로 Content-Length 없이 전송됩니다.
+     *
+     * @param postId 파일을 내려받을 게시물의 ID
+     * @param response ZIP을 기록할 HTTP 응답
+     * @throws IOException 응답 쓰기에 실패한 경우
+     */
+    @GetMapping("/{postId}/files.zip")
+    public void downloadZip(@PathVariable Long postId, HttpServletResponse response) throws IOException {
+        List<UploadFile> files = postService.getUploadFiles(postId);
+        if (files.isEmpty()) {
+            log.warn("게시물 ID[{}]에 내려받을 파일이 없습니다.", postId);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"post-" + postId + "-files.zip\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        zipStreamer.write(files, response.getOutputStream());
     }
 
     /**
      * 검색 조건 및 페이징이 적용된 게시물 목록을 조회하여 뷰에 전달한다.
      * <p>
      * GET 요청 {@code /posts}를 처리하며, 검색어 유무에 따라 전체 또는 필터링된 목록을 반환한다.
+     * 목록과 전체 게시물 수는 한 번의 쿼리로 함께 조회한다.
      *
      * @param loginMember 세션에서 가져온 로그인 회원 정보 (비로그인 허용)
      * @param form        검색 타입, 키워드, 현재 페이지 번호를 담은 객체
@@ -95,12 +170,10 @@ public class PostController {
      */
     @GetMapping
     public String posts(@SessionAttribute(name = "loginMember", required = false) Member loginMember, @ModelAttribute("form") PostSearchForm form, Model model) {
-        int totalCount = postService.getTotalCount(form.getSearchType(),form.getKeyword());
+        Page<PostSummary> page = postService.findPostPage(form.getSearchType(), form.getKeyword(), form.getCurrentPage(), 10);
+        PagedResultForm pagedResult = new PagedResultForm(page.getTotalCount(), page.getCurrentPage(), page.getSize());
 
-        List<Post> posts = postService.findPosts(form.getSearchType(), form.getKeyword(), form.getCurrentPage(), 10);
-        PagedResultForm pagedResult = new PagedResultForm(totalCount, form.getCurrentPage(), 10);
-
-        model.addAttribute("posts", posts);
+        model.addAttribute("posts", page.getContent());
         model.addAttribute("loginMember", loginMember);
         model.addAttribute("pagedResult", pagedResult);
         return "posts/posts";
@@ -109,6 +182,7 @@ public class PostController {
     /**
      * 특정 게시물 ID에 해당하는 게시물을 조회하여 뷰에 전달한다.
      * 댓글 목록과 댓글 작성을 위한 폼도 함께 전달한다.
+     * 게시물 본문, 파일 정보, 댓글은 {@link PostDetailLoader}가 동시에 조회한다.
      * <p>
      * GET 요청 {@code /posts/{postId}}를 처리한다.
      *
@@ -118,17 +192,15 @@ public class PostController {
      */
     @GetMapping("/{postId}")
     public String post(@PathVariable("postId") Long postId, Model model) {
-        Post post = postService.getPost(postId);
+        PostDetail detail = postDetailLoader.load(postId);
 
-        if (post == null) {
+        if (detail == null) {
             log.warn("요청된 게시물 ID[{}]를 찾을 수 없습니다.", postId);
             return "redirect:/posts";
         }
 
-        List<Comment> comments = commentRepository.findAllByPostId(postId);
-
-        model.addAttribute("post", post);
-        model.addAttribute("comments", comments);
+        model.addAttribute("post", detail.getPost());
+        model.addAttribute("comments", detail.getComments());
         model.addAttribute("commentForm", new CommentForm());
 
         return "posts/post";
@@ -172,7 +244,7 @@ public class PostController {
         post.setAuthor(loginMember.getName());
         post.setAuthorId(loginMember.getId());
 
-        Long savedPostId = postService.savePost(post, form.getAttachFile(), form.getImageFiles());
+        Long savedPostId = postService.savePost(post, form.getAttachFile(), form.getImageFiles(), form.getAttachUploadId());
 
         log.info("새 게시물 저장 완료 [ID={}, Author={}]", savedPostId, post.getAuthor());
 
@@ -250,7 +322,7 @@ public class PostController {
             return "redirect:/posts";
         }
 
-        postService.updatePost(postId, form.getTitle(), form.getContent(), form.getAttachFile(), form.getImageFiles());
+        postService.updatePost(postId, form.getTitle(), form.getContent(), form.getAttachFile(), form.getImageFiles(), form.getRemoveFileIds());
 
         log.info("게시물 ID[{}] 업데이트 완료", postId);
 
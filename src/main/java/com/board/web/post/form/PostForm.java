@@ -26,6 +26,12 @@ public class PostForm {
     /** 파일 첨부 */
     private MultipartFile attachFile;
 
+    /** 분할 업로드 API(/uploads)로 미리 올린 첨부파일의 업로드 ID. 있으면 attachFile 대신 사용한다. */
+    private String attachUploadId;
+
+    /** 게시물 수정 시 삭제할 기존 파일(UploadFile) ID 목록. 목록에 없는 기존 파일은 그대로 유지된다. */
+    private List<Long> removeFileIds;
+
 
     /** 이미지파일이 비어있는가 또는 비어있지 않은가 확인하는 메서드*/
     public boolean hasImageFiles() {
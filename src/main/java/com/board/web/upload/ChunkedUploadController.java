@@ -0,0 +1,117 @@
+package com.board.web.upload;
+
+import com.board.domain.member.Member;
+import com.board.util.file.ChunkedUploadException;
+import com.board.util.file.ChunkedUploadStatus;
+import com.board.util.file.ChunkedUploadStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.SessionAttribute;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 큰 첨부파일을 여러 조각으로 나누어 올리는 분할 업로드 API 컨트롤러.
+ * <p>
+ * 조각은 multipart가 아닌 요청 본문 그대로 받으므로 서블릿 컨테이너가 파일 전체를 버퍼링하지 않는다.
+ * 완료된 업로드의 ID를 게시물 등록 폼의 {@code attachUploadId}로 보내면 첨부파일로 저장된다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/uploads")
+public class ChunkedUploadController {
+
+    private final ChunkedUploadStore chunkedUploadStore;
+
+    /**
+     * 새 분할 업로드를 시작한다.
+     *
+     * @param fileName    사용자가 올린 파일명
+     * @param size        전체 파일 크기 (바이트)
+     * @param loginMember 세션에서 가져온 로그인 회원 객체
+     * @return 업로드 상태 (uploadId 포함)
+     */
+    @PostMapping
+    public ResponseEntity<ChunkedUploadStatus> begin(@RequestParam("fileName") String fileName,
+                                                     @RequestParam("size") long size,
+                                                     @SessionAttribute("loginMember") Member loginMember) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(chunkedUploadStore.begin(loginMember.getId(), fileName, size));
+    }
+
+    /**
+     * 조각 하나를 offset 위치에 쓴다. 요청 본문이 조각 내용이다.
+     *
+     * @param uploadId    업로드 ID
+     * @param offset      조각의 시작 위치
+     * @param request     조각 내용을 읽을 요청
+     * @param loginMember 세션에서 가져온 로그인 회원 객체
+     * @return 쓰기 후 업로드 상태
+     */
+    @PutMapping("/{uploadId}")
+    public ChunkedUploadStatus writeChunk(@PathVariable("uploadId") String uploadId,
+                                          @RequestParam("offset") long offset,
+                                          HttpServletRequest request,
+                                          @SessionAttribute("loginMember") Member loginMember) throws IOException {
+        return chunkedUploadStore.write(uploadId, loginMember.getId(), offset, request.getInputStream());
+    }
+
+    /**
+     * 업로드 상태를 조회한다. 연결이 끊긴 뒤 이어서 보낼 구간을 확인하는 데 사용한다.
+     */
+    @GetMapping("/{uploadId}")
+    public ChunkedUploadStatus status(@PathVariable("uploadId") String uploadId,
+                                      @SessionAttribute("loginMember") Member loginMember) {
+        return chunkedUploadStore.status(uploadId, loginMember.getId());
+    }
+
+    /**
+     * 모든 조각을 받았는지와 SHA-256 체크섬을 확인하고 업로드를 완료한다.
+     *
+     * @param uploadId    업로드 ID
+     * @param sha256      클라이언트가 계산한 파일 전체의 SHA-256 (16진수)
+     * @param loginMember 세션에서 가져온 로그인 회원 객체
+     * @return 완료된 업로드 상태
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ChunkedUploadStatus complete(@PathVariable("uploadId") String uploadId,
+                                        @RequestParam("sha256") String sha256,
+                                        @SessionAttribute("loginMember") Member loginMember) {
+        return chunkedUploadStore.complete(uploadId, loginMember.getId(), sha256);
+    }
+
+    /**
+     * 업로드를 취소하고 받은 조각을 지운다.
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(@PathVariable("uploadId") String uploadId,
+                                      @SessionAttribute("loginMember") Member loginMember) {
+        chunkedUploadStore.abort(uploadId, loginMember.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(ChunkedUploadException.class)
+    public ResponseEntity<Map<String, String>> handleChunkedUploadException(ChunkedUploadException e) {
+        HttpStatus status = switch (e.getReason()) {
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case BAD_RANGE -> HttpStatus.BAD_REQUEST;
+            case INCOMPLETE, ALREADY_COMPLETED -> HttpStatus.CONFLICT;
+            case CHECKSUM_MISMATCH -> HttpStatus.UNPROCESSABLE_CONTENT;
+        };
+        log.warn("분할 업로드 요청 실패 [reason={}, message={}]", e.getReason(), e.getMessage());
+        return ResponseEntity.status(status).body(Map.of("reason", e.getReason().name(), "message", e.getMessage()));
+    }
+}
@@ -0,0 +1,39 @@
+-- 게시판 기본 테이블 (MySQL 8, H2 MODE=MySQL 공통)
+
+create table member (
+    id       bigint       not null auto_increment,
+    login_id varchar(50)  not null,
+    name     varchar(50)  not null,
+    password varchar(100) not null,
+    primary key (id)
+);
+
+create table post (
+    id        bigint       not null auto_increment,
+    title     varchar(255) not null,
+    content   text,
+    author    varchar(50),
+    author_id bigint,
+    primary key (id)
+);
+
+create table comment (
+    id                bigint      not null auto_increment,
+    post_id           bigint      not null,
+    parent_comment_id bigint,
+    author            varchar(50),
+    author_id         bigint,
+    content           text        not null,
+    created_at        datetime(6),
+    updated_at        datetime(6),
+    primary key (id)
+);
+
+create table upload_file (
+    id               bigint       not null auto_increment,
+    post_id          bigint,
+    store_file_name  varchar(255) not null,
+    upload_file_name varchar(255),
+    file_type        varchar(20),
+    primary key (id)
+);
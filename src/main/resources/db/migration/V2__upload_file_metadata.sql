@@ -0,0 +1,7 @@
+-- 업로드 시 계산한 파일 메타데이터 컬럼 (기존 행은 NULL로 남고, 다운로드 시 저장소 정보 조회로 처리합니다)
+
+alter table upload_file add column file_size bigint null;
+alter table upload_file add column content_type varchar(100) null;
+alter table upload_file add column sha256 char(64) null;
+alter table upload_file add column width int null;
+alter table upload_file add column height int null;
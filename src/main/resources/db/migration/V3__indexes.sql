@@ -0,0 +1,20 @@
+-- 리포지토리 쿼리가 기대하는 인덱스. 각 인덱스를 사용하는 쿼리는 RepositoryQueryPlanTest에서 EXPLAIN으로 확인합니다.
+-- member.login_id에 중복 값이 있으면 unique 제약을 만들지 못하므로, 기존 DB는 먼저 중복을 정리해야 합니다.
+
+-- 로그인, 회원가입 중복 확인 (findByLoginId)
+alter table member add constraint uk_member_login_id unique (login_id);
+
+-- 내 게시물 목록, 작성자명 일괄 변경 (findByMemberId, updateAuthorByAuthorId). id를 붙여 작성자별 최신순 페이징에도 씁니다.
+create index idx_post_author_id on post (author_id, id);
+
+-- 게시물 상세의 댓글 목록, 게시물 삭제 시 댓글 삭제 (findAllByPostId, deleteByPostId, updateAuthorInPosts)
+create index idx_comment_post_id on comment (post_id, id);
+
+-- 대댓글 삭제 시 하위 댓글 탐색 (findAllDescendantCommentIds)
+create index idx_comment_parent_comment_id on comment (parent_comment_id);
+
+-- 게시물의 파일 목록을 업로드 순서로 조회 (findByPostId, findFirstByPostIdAndType, deleteByPostId)
+create index idx_upload_file_post_id on upload_file (post_id, id);
+
+-- 내용 주소 저장 중복 확인, 고아 파일 수거 (countByStoreFileName, findReferencedStoreFileNames)
+create index idx_upload_file_store_file_name on upload_file (store_file_name);
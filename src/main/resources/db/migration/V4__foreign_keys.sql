@@ -0,0 +1,26 @@
+-- 게시물, 회원을 지우면 딸린 행도 함께 지워지도록 외래키를 겁니다. (PostRepositoryJdbc.delete, MemberRepositoryJdbc.delete)
+-- 외래키가 없던 동안 부모를 잃은 행은 제약을 만들 수 없으므로 먼저 지웁니다. 지워진 파일 행의 물리 파일은 UploadFileGarbageCollector가 수거합니다.
+-- 부모 댓글을 잃은 답글은 지우면 그 답글의 답글이 다시 부모를 잃으므로, 한 문장으로 끝나도록 루트 댓글로 돌립니다.
+-- MySQL은 고치는 테이블을 하위 쿼리에서 바로 읽을 수 없어 파생 테이블로 한 번 감쌉니다.
+
+delete from post where author_id is not null and author_id not in (select id from member);
+delete from comment where post_id not in (select id from post);
+update comment set parent_comment_id = null where parent_comment_id is not null
+    and parent_comment_id not in (select id from (select id from comment) as existing);
+delete from upload_file where post_id is not null and post_id not in (select id from post);
+
+-- 회원 탈퇴 시 작성한 게시물 (그 게시물의 댓글, 파일은 아래 제약으로 이어서 지워집니다)
+alter table post add constraint fk_post_author_id
+    foreign key (author_id) references member (id) on delete cascade;
+
+-- 게시물 삭제 시 댓글
+alter table comment add constraint fk_comment_post_id
+    foreign key (post_id) references post (id) on delete cascade;
+
+-- 댓글 삭제 시 답글
+alter table comment add constraint fk_comment_parent_comment_id
+    foreign key (parent_comment_id) references comment (id) on delete cascade;
+
+-- 게시물 삭제 시 파일 정보
+alter table upload_file add constraint fk_upload_file_post_id
+    foreign key (post_id) references post (id) on delete cascade;
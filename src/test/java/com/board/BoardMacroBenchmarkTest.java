@@ -0,0 +1,216 @@
+package com.board;
+
+import com.board.domain.member.Member;
+import com.board.util.metrics.LatencyHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * embedded 프로필(H2 MySQL 호환 모드, Flyway 마이그레이션) 위에서 *RepositoryJdbc까지 포함한 전체 요청 경로를
+ * 목록, 검색, 상세, 댓글 작성, 업로드 흐름별로 반복 실행하고 처리량과 백분위 지연 시간을 출력하는 매크로 벤치마크입니다.
+ * <p>
+ * 데이터와 요청 파라미터는 bench.seed로 정해지므로 같은 설정이면 같은 요청을 같은 순서로 보냅니다.
+ * HTTP 대신 MockMvc로 호출하므로 인터셉터, 컨트롤러, 서비스, 리포지토리, 뷰 렌더링까지 측정하고 네트워크는 제외합니다.
+ * <p>
+ * 실행 예: {@code gradle test --tests '*BoardMacroBenchmarkTest' -Dbench.macro=true -Dbench.threads=8 -Dbench.iterations=2000}
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:macro-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "logging.level.com.board=WARN",
+        "file.gc.enabled=false"
+})
+@ActiveProfiles("embedded")
+@EnabledIfSystemProperty(named = "bench.macro", matches = "true")
+class BoardMacroBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardMacroBenchmarkTest.class);
+
+    static final long SEED = Long.getLong("bench.seed", 42L);
+    static final int THREADS = Integer.getInteger("bench.threads", 8);
+    static final int ITERATIONS = Integer.getInteger("bench.iterations", 2000);
+    static final int WARMUP_ITERATIONS = Integer.getInteger("bench.warmup-iterations", 500);
+    static final int POST_COUNT = Integer.getInteger("bench.posts", 2000);
+    static final int COMMENTS_PER_POST = 5;
+    static final String[] KEYWORDS = {"공지", "질문", "spring", "jdbc", "후기", "없는검색어"};
+
+    @Autowired
+    WebApplicationContext context;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    MockMvc mockMvc;
+    MockHttpSession session;
+    long firstPostId;
+    byte[] image;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        Member member = seed();
+        session = new MockHttpSession();
+        session.setAttribute("loginMember", member);
+        image = png(64, 48);
+    }
+
+    @Test
+    void 목록_검색_상세_댓글_업로드_흐름별_처리량과_지연시간() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(measure("list", ITERATIONS, (random, i) -> get("/posts")
+                .param("currentPage", String.valueOf(1 + random.nextInt(POST_COUNT / 10)))
+                .session(session)));
+        report.add(measure("search", ITERATIONS, (random, i) -> get("/posts")
+                .param("searchType", random.nextBoolean() ? "title" : "author")
+                .param("keyword", KEYWORDS[random.nextInt(KEYWORDS.length)])
+                .session(session)));
+        report.add(measure("detail", ITERATIONS, (random, i) -> get("/posts/{postId}", randomPostId(random))
+                .session(session)));
+        report.add(measure("comment", ITERATIONS, (random, i) -> post("/posts/{postId}/comments", randomPostId(random))
+                .param("content", "벤치마크 댓글 " + i)
+                .session(session)));
+        report.add(measure("upload", Math.max(1, ITERATIONS / 10), (random, i) -> multipart("/posts/add")
+                .file(new MockMultipartFile("imageFiles", "bench" + i + ".png", "image/png", image))
+                .param("title", "벤치마크 업로드 " + i)
+                .param("content", "본문")
+                .session(session)));
+
+        log.info("[매크로 벤치마크] embedded H2, threads={}, posts={}, comments/post={}, seed={}",
+                THREADS, POST_COUNT, COMMENTS_PER_POST, SEED);
+        log.info(String.format("  %-8s %7s %12s %9s %9s %9s %9s %7s", "flow", "ops", "throughput", "p50", "p95", "p99", "max", "errors"));
+        report.forEach(line -> log.info("  {}", line));
+    }
+
+    /**
+     * 흐름 하나를 워밍업 후 THREADS개 스레드로 iterations번 실행합니다. 2xx, 3xx 응답만 성공으로 셉니다.
+     */
+    private String measure(String flow, int iterations, BiFunction<Random, Integer, RequestBuilder> request) throws Exception {
+        run(request, Math.min(WARMUP_ITERATIONS, iterations), new LatencyHistogram(), new LongAdder(), new AtomicReference<>());
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        long start = System.nanoTime();
+        run(request, iterations, latency, errors, firstError);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        return String.format("%-8s %7d %8.0f ops/s %7.2fms %7.2fms %7.2fms %7.2fms %7d%s",
+                flow, latency.getCount(), latency.getCount() / seconds,
+                latency.percentile(50) / 1000.0, latency.percentile(95) / 1000.0,
+                latency.percentile(99) / 1000.0, latency.percentile(100) / 1000.0, errors.sum(),
+                firstError.get() != null ? " (first error: " + firstError.get() + ")" : "");
+    }
+
+    private void run(BiFunction<Random, Integer, RequestBuilder> request, int iterations,
+                     LatencyHistogram latency, LongAdder errors, AtomicReference<String> firstError) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int worker = t;
+                workers.add(executor.submit(() -> {
+                    Random random = new Random(SEED + worker);
+                    for (int i = worker; i < iterations; i += THREADS) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = mockMvc.perform(request.apply(random, i)).andReturn().getResponse().getStatus();
+                            if (status >= 400) {
+                                errors.increment();
+                                firstError.compareAndSet(null, "HTTP " + status);
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                            firstError.compareAndSet(null, e.toString());
+                            continue;
+                        }
+                        latency.record(System.nanoTime() - start);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private long randomPostId(Random random) {
+        return firstPostId + random.nextInt(POST_COUNT);
+    }
+
+    /**
+     * 회원 한 명, 게시물 POST_COUNT개, 게시물마다 댓글 COMMENTS_PER_POST개를 넣습니다.
+     */
+    private Member seed() {
+        Random random = new Random(SEED);
+        jdbcTemplate.update("insert into member (login_id, name, password) values ('bench', '벤치', 'bench')");
+        Member member = jdbcTemplate.queryForObject("select * from member where login_id = 'bench' order by id desc limit 1",
+                (rs, rowNum) -> {
+                    Member m = new Member(rs.getString("login_id"), rs.getString("name"), rs.getString("password"));
+                    m.setId(rs.getLong("id"));
+                    return m;
+                });
+
+        List<Object[]> posts = new ArrayList<>();
+        for (int i = 0; i < POST_COUNT; i++) {
+            String keyword = KEYWORDS[random.nextInt(KEYWORDS.length - 1)];
+            posts.add(new Object[]{keyword + " 게시물 " + i, "본문 " + i, member.getName(), member.getId()});
+        }
+        jdbcTemplate.batchUpdate("insert into post (title, content, author, author_id) values (?, ?, ?, ?)", posts);
+        firstPostId = jdbcTemplate.queryForObject("select max(id) from post", Long.class) - POST_COUNT + 1;
+
+        List<Object[]> comments = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < POST_COUNT; i++) {
+            for (int c = 0; c < COMMENTS_PER_POST; c++) {
+                comments.add(new Object[]{firstPostId + i, member.getName(), member.getId(), "댓글 " + c, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into comment (post_id, author, author_id, content, created_at, updated_at) values (?, ?, ?, ?, ?, ?)", comments);
+        return member;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 4) << 16 | (y * 5) << 8 | 0x40);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,257 @@
+package com.board;
+
+import com.board.util.metrics.LatencyHistogram;
+import com.board.util.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 플랫폼 스레드(기본 Tomcat 스레드 풀)와 가상 스레드(virtual 프로필)로 각각 애플리케이션을 띄우고,
+ * 로그인한 독자 2,000명이 동시에 /posts를 반복해서 읽을 때의 처리량과 지연 시간을 비교하는 부하 벤치마크입니다.
+ * <p>
+ * DB는 embedded 프로필의 H2 인메모리 DB(Flyway 마이그레이션)이고, 원격 DB의 왕복 시간을 흉내 내기 위해 문장마다 bench.db-latency만큼 기다립니다.
+ * 두 모드 모두 커넥션 풀은 20개입니다.
+ * <p>
+ * 실행 예: {@code gradle test --tests '*ThreadModeLoadBenchmarkTest' -Dbench.load=true -Dbench.readers=2000 -Dbench.duration=PT20S}
+ */
+@EnabledIfSystemProperty(named = "bench.load", matches = "true")
+class ThreadModeLoadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeLoadBenchmarkTest.class);
+
+    static final int READERS = Integer.getInteger("bench.readers", 2000);
+    static final Duration WARMUP = Duration.parse(System.getProperty("bench.warmup", "PT5S"));
+    static final Duration DURATION = Duration.parse(System.getProperty("bench.duration", "PT20S"));
+    static final Duration DB_LATENCY = Duration.parse(System.getProperty("bench.db-latency", "PT0.002S"));
+    static final int POST_COUNT = 500;
+    static final int POOL_SIZE = 20;
+
+    @Test
+    void 플랫폼_스레드와_가상_스레드의_게시물_목록_부하_비교() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info("[스레드 모드 부하 벤치마크] GET /posts, readers={}, duration={}, db-latency={}, pool={}",
+                READERS, DURATION, DB_LATENCY, POOL_SIZE);
+        log.info("  {}", platform.format("platform"));
+        log.info("  {}", virtual.format("virtual "));
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        // application.properties보다 우선하도록 명령행 인자로 넘깁니다.
+        String[] args = Map.of(
+                        "server.port", "0",
+                        "spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size", String.valueOf(POOL_SIZE),
+                        "file.gc.enabled", "false",
+                        "logging.level.com.board", "WARN")
+                .entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BoardApplication.class)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new DbLatencyInjector(DB_LATENCY)));
+        builder.profiles(virtualThreads ? new String[]{"embedded", "virtual"} : new String[]{"embedded"});
+
+        try (ConfigurableApplicationContext context = builder.run(args)) {
+            seed(context.getBean(DataSource.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Result result = load("http://localhost:" + port);
+            result.dbRejected = context.getBean(MetricsRegistry.class).snapshot().get("jdbc.concurrency.rejected");
+            return result;
+        }
+    }
+
+    private void seed(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into member (login_id, name, password) values ('bench', '벤치', 'bench')");
+        List<Object[]> posts = new ArrayList<>();
+        for (int i = 0; i < POST_COUNT; i++) {
+            posts.add(new Object[]{"게시물 " + i, "본문 " + i, "벤치", 1L});
+        }
+        jdbcTemplate.batchUpdate("insert into post (title, content, author, author_id) values (?, ?, ?, ?)", posts);
+    }
+
+    private Result load(String baseUrl) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .executor(clientExecutor)
+                     .followRedirects(HttpClient.Redirect.NEVER)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            String cookie = login(client, baseUrl);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/posts"))
+                    .header("Cookie", cookie)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+
+            LatencyHistogram latency = new LatencyHistogram();
+            LongAdder errors = new LongAdder();
+            AtomicReference<String> firstError = new AtomicReference<>();
+            long measureFrom = System.nanoTime() + WARMUP.toNanos();
+            long deadline = measureFrom + DURATION.toNanos();
+
+            threads.resetPeakThreadCount();
+            ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor();
+            for (int i = 0; i < READERS; i++) {
+                readers.execute(() -> {
+                    while (true) {
+                        long start = System.nanoTime();
+                        if (start >= deadline) {
+                            return;
+                        }
+                        boolean ok;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            ok = status == 200;
+                            if (!ok) {
+                                firstError.compareAndSet(null, "HTTP " + status);
+                            }
+                        } catch (Exception e) {
+                            ok = false;
+                            firstError.compareAndSet(null, e.toString());
+                        }
+                        // 측정 구간 안에 끝난 요청만 셉니다.
+                        long end = System.nanoTime();
+                        if (end < measureFrom || end > deadline) {
+                            continue;
+                        }
+                        if (ok) {
+                            latency.record(end - start);
+                        } else {
+                            errors.increment();
+                        }
+                    }
+                });
+            }
+            readers.shutdown();
+            readers.awaitTermination(DURATION.plus(WARMUP).toSeconds() + 120, TimeUnit.SECONDS);
+            return new Result(latency, errors.sum(), firstError.get(), threads.getPeakThreadCount());
+        }
+    }
+
+    private String login(HttpClient client, String baseUrl) throws Exception {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("loginId=bench&password=bench"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(value -> value.startsWith("JSESSIONID="))
+                .map(value -> value.substring(0, value.indexOf(';')))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("로그인 실패: " + response.statusCode()));
+    }
+
+    static class Result {
+
+        final LatencyHistogram latency;
+        final long errors;
+        final String firstError;
+        final int peakPlatformThreads;
+        /** DB 동시 접근 한도(jdbc.concurrency.limit)에 막혀 실패한 수. 한도가 꺼져 있으면 null */
+        Object dbRejected;
+
+        Result(LatencyHistogram latency, long errors, String firstError, int peakPlatformThreads) {
+            this.latency = latency;
+            this.errors = errors;
+            this.firstError = firstError;
+            this.peakPlatformThreads = peakPlatformThreads;
+        }
+
+        String format(String name) {
+            return String.format("%s: %,.0f req/s, p50=%.1fms, p99=%.1fms, max=%.1fms, errors=%d, db rejected=%s, peak platform threads=%d",
+                    name, latency.getCount() / (double) DURATION.toSeconds(),
+                    latency.percentile(50) / 1000.0, latency.percentile(99) / 1000.0,
+                    latency.percentile(100) / 1000.0, errors, dbRejected != null ? dbRejected : "-", peakPlatformThreads)
+                    + (firstError != null ? " (first error: " + firstError + ")" : "");
+        }
+    }
+
+    /**
+     * 문장을 실행할 때마다 지정한 시간만큼 기다려 원격 DB의 왕복 시간을 흉내 냅니다.
+     * 다른 DataSource 후처리기보다 먼저 등록되므로 커넥션 풀 바로 바깥에서 감쌉니다.
+     */
+    static class DbLatencyInjector implements BeanPostProcessor {
+
+        private final Duration latency;
+
+        DbLatencyInjector(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (latency.isZero() || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection connection = obtainTargetDataSource().getConnection();
+                    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                            (proxy, method, args) -> {
+                                Object result = invoke(connection, method, args);
+                                if (result instanceof PreparedStatement statement) {
+                                    return delayed(statement, PreparedStatement.class);
+                                }
+                                if (result instanceof Statement statement) {
+                                    return delayed(statement, Statement.class);
+                                }
+                                return result;
+                            });
+                }
+            };
+        }
+
+        private Object delayed(Statement statement, Class<?> type) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(latency);
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
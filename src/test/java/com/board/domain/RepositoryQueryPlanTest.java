@@ -0,0 +1,221 @@
+package com.board.domain;
+
+import com.board.domain.comment.Comment;
+import com.board.domain.comment.CommentRepositoryJdbc;
+import com.board.domain.member.Member;
+import com.board.domain.member.MemberRepositoryJdbc;
+import com.board.domain.post.Post;
+import com.board.domain.post.PostRepositoryJdbc;
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.jdbc.StatementCountingDataSource;
+import com.board.util.seed.DatasetSeeder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 모든 *RepositoryJdbc 메서드가 실행하는 문장을 EXPLAIN으로 확인해, 인덱스 없이 테이블 전체를 읽는 쿼리가 없는지 검사합니다.
+ * <p>
+ * Flyway 마이그레이션으로 만든 H2(MySQL 호환 모드)에 DatasetSeeder로 데이터를 채운 뒤, 리포지토리의 public 메서드를 모두 호출하며
+ * 실제 SQL과 바인드 값을 기록하고 같은 값으로 EXPLAIN을 실행합니다. 리포지토리에 메서드를 추가하면 여기서도 호출해야 통과합니다.
+ * 전체 조회처럼 의도한 전체 스캔은 {@link #FULL_SCAN_ALLOWED}에 이유와 함께 적습니다.
+ */
+class RepositoryQueryPlanTest {
+
+    /** 전체 스캔을 허용하는 문장 (SQL -> 이유) */
+    private static final Map<String, String> FULL_SCAN_ALLOWED = Map.ofEntries(
+            Map.entry("select * from post", "전체 게시물 조회(findAll)"),
+            Map.entry("SELECT * FROM member", "전체 회원 조회(findAll)"),
+            Map.entry("SELECT * FROM comment", "전체 댓글 조회(findAll)"),
+            Map.entry("select * from post where 1=1 order by id desc limit ? offset ?", "최신순 목록은 PK를 역순으로 읽다가 offset+limit 행에서 멈춥니다"),
+            Map.entry("select * from post where 1=1 and title like ? order by id desc limit ? offset ?", "앞에 %가 붙은 LIKE 검색은 인덱스를 쓸 수 없습니다"),
+            Map.entry("select * from post where 1=1 and author like ? order by id desc limit ? offset ?", "앞에 %가 붙은 LIKE 검색은 인덱스를 쓸 수 없습니다"),
+            Map.entry("select count(*) from post where 1=1 and title like ?", "앞에 %가 붙은 LIKE 검색은 인덱스를 쓸 수 없습니다"),
+            Map.entry("select count(*) from post where 1=1 and author like ?", "앞에 %가 붙은 LIKE 검색은 인덱스를 쓸 수 없습니다"),
+            Map.entry("select p.id, p.title, p.author, p.author_id, t.total_count from (select id, count(*) over() as total_count from post where 1=1 order by id desc limit ? offset ?) t join post p on p.id = t.id order by p.id desc",
+                    "전체 개수를 함께 세므로 조건에 맞는 행을 모두 읽습니다 (id와 검색 컬럼만 읽고, 제목과 작성자는 한 페이지만 PK로 읽습니다)"),
+            Map.entry("select p.id, p.title, p.author, p.author_id, t.total_count from (select id, count(*) over() as total_count from post where 1=1 and title like ? order by id desc limit ? offset ?) t join post p on p.id = t.id order by p.id desc",
+                    "전체 개수를 함께 세므로 조건에 맞는 행을 모두 읽습니다 (id와 검색 컬럼만 읽고, 제목과 작성자는 한 페이지만 PK로 읽습니다)"),
+            Map.entry("select p.id, p.title, p.author, p.author_id, t.total_count from (select id, count(*) over() as total_count from post where 1=1 and author like ? order by id desc limit ? offset ?) t join post p on p.id = t.id order by p.id desc",
+                    "전체 개수를 함께 세므로 조건에 맞는 행을 모두 읽습니다 (id와 검색 컬럼만 읽고, 제목과 작성자는 한 페이지만 PK로 읽습니다)"));
+
+    /** 조건 없이 인덱스 전체를 읽는 계획. 조건이 있으면 {@code /* PUBLIC.IDX: POST_ID = ?1 *}{@code /}처럼 콜론이 붙습니다. */
+    private static final Pattern UNCONDITIONAL_INDEX_SCAN = Pattern.compile("/\\* [\\w.\"]+ \\*/");
+
+    @Test
+    void 리포지토리_쿼리는_전체_테이블_스캔을_하지_않음() throws SQLException {
+        //given
+        DataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(h2).load().migrate();
+        new DatasetSeeder(h2, true, 42L, 30, 300, 5, 10, 0.5, 500).seed();
+        new JdbcTemplate(h2).execute("analyze");
+
+        StatementCountingDataSource dataSource = new StatementCountingDataSource(h2);
+        Set<String> called = new TreeSet<>();
+        PostRepositoryJdbc postRepository = recording(new PostRepositoryJdbc(dataSource), called);
+        CommentRepositoryJdbc commentRepository = recording(new CommentRepositoryJdbc(dataSource), called);
+        MemberRepositoryJdbc memberRepository = recording(new MemberRepositoryJdbc(dataSource), called);
+        UploadFileRepositoryJdbc uploadFileRepository = recording(
+                new UploadFileRepositoryJdbc(new JdbcTemplate(dataSource), dataSource), called);
+
+        //when
+        Member member = memberRepository.findById(1L);
+        memberRepository.findByLoginId(member.getLoginId());
+        memberRepository.findAll();
+        memberRepository.update(member.getId(), "새이름", "newPassword");
+
+        postRepository.findAll();
+        postRepository.findById(1L);
+        postRepository.findByIdWithoutFiles(1L);
+        postRepository.findByMemberId(member.getId());
+        for (String type : new String[]{"title", "author"}) {
+            postRepository.postSearchFindAll(type, "스프링", 3, 10);
+            postRepository.postSearchCount(type, "스프링");
+            postRepository.postSearchPage(type, "스프링", 3, 10);
+        }
+        postRepository.postSearchFindAll(null, null, 3, 10);
+        postRepository.postSearchCount(null, null);
+        postRepository.postSearchPage(null, null, 3, 10);
+        postRepository.update(1L, "제목", "내용");
+        postRepository.updateAuthor(1L, "작성자");
+        postRepository.updateAuthorByAuthorId(member.getId(), "새이름");
+
+        Comment comment = commentRepository.save(new Comment(1L, "작성자", 1L, "댓글"));
+        commentRepository.save(new Comment(1L, comment.getId(), "작성자", 1L, "답글"));
+        commentRepository.findAllByPostId(1L);
+        commentRepository.findAll();
+        commentRepository.findById(comment.getId());
+        commentRepository.update(comment.getId(), "수정한 댓글");
+        commentRepository.updateAuthor(comment.getId(), "작성자");
+        commentRepository.updateAuthorInPosts(member.getId(), List.of(1L, 2L, 3L), "새이름");
+        List<Long> descendants = commentRepository.findAllDescendantCommentIds(comment.getId());
+        commentRepository.deleteAllByIds(descendants);
+        commentRepository.delete(comment.getId());
+        commentRepository.deleteByPostId(2L);
+
+        UploadFile image = new UploadFile("image.png", UUID.randomUUID() + ".png", FileTypeEnum.IMAGE);
+        image.setPostId(1L);
+        UploadFile attach = new UploadFile("report.pdf", UUID.randomUUID() + ".pdf", FileTypeEnum.ATTACHED);
+        attach.setPostId(1L);
+        uploadFileRepository.save(image);
+        uploadFileRepository.saveAll(List.of(attach));
+        uploadFileRepository.findByPostId(1L);
+        uploadFileRepository.findAttachByPostId(1L);
+        uploadFileRepository.findByStoreFileName(image.getStoreFileName());
+        uploadFileRepository.findReferencedStoreFileNames(List.of(image.getStoreFileName(), attach.getStoreFileName()));
+        uploadFileRepository.deleteByPostIdAndIds(1L, List.of(image.getId()));
+        uploadFileRepository.deleteByPostId(1L);
+
+        memberRepository.save(new Member("plan-test", "테스터", "password"));
+        postRepository.save(new Post("제목", "내용", "테스터", member.getId()));
+        postRepository.delete(3L);
+        memberRepository.delete(member.getId());
+
+        //then
+        assertThat(called).containsAll(publicMethods(PostRepositoryJdbc.class, CommentRepositoryJdbc.class,
+                MemberRepositoryJdbc.class, UploadFileRepositoryJdbc.class));
+
+        Map<String, String> plans = explain(h2, dataSource.executions());
+        List<String> fullScans = new ArrayList<>();
+        plans.forEach((sql, plan) -> {
+            if (isFullScan(plan) && !FULL_SCAN_ALLOWED.containsKey(sql)) {
+                fullScans.add(sql + System.lineSeparator() + "    -> " + plan.replaceAll("\\s+", " "));
+            }
+        });
+        assertThat(fullScans).as("전체 테이블 스캔 쿼리").isEmpty();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(h2);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from post where author_id = ?", Integer.class, member.getId()))
+                .as("탈퇴한 회원의 게시물").isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from comment where post_id not in (select id from post)", Integer.class))
+                .as("게시물을 잃은 댓글").isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from upload_file where post_id not in (select id from post)", Integer.class))
+                .as("게시물을 잃은 파일 정보").isZero();
+    }
+
+    /**
+     * H2 실행 계획에서 전체 스캔을 찾습니다. 테이블 스캔(tableScan)뿐 아니라, 조건 없이 인덱스 순서대로 전부 읽는 경우
+     * (예: {@code /* PUBLIC.PRIMARY_KEY_2 *}{@code /})도 전체 스캔으로 봅니다. count(*)의 direct lookup은 제외합니다.
+     */
+    private static boolean isFullScan(String plan) {
+        return plan.contains(".tableScan")
+                || (UNCONDITIONAL_INDEX_SCAN.matcher(plan).find() && !plan.contains("direct lookup"));
+    }
+
+    /**
+     * 리포지토리 메서드 호출을 이름으로 기록하는 프록시를 씌웁니다.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T recording(T repository, Set<String> called) {
+        ProxyFactory proxyFactory = new ProxyFactory(repository);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            called.add(repository.getClass().getSimpleName() + "." + invocation.getMethod().getName());
+            return invocation.proceed();
+        });
+        return (T) proxyFactory.getProxy();
+    }
+
+    private static Set<String> publicMethods(Class<?>... repositoryClasses) {
+        return Arrays.stream(repositoryClasses)
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods())
+                        .filter(method -> Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers()))
+                        .map(Method::getName)
+                        .map(name -> type.getSimpleName() + "." + name))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 기록된 문장마다 같은 바인드 값으로 EXPLAIN을 실행해 실행 계획을 구합니다. INSERT는 읽는 행이 없으므로 건너뜁니다.
+     *
+     * @return SQL -> 실행 계획 (처음 실행된 순서)
+     */
+    private static Map<String, String> explain(DataSource dataSource, List<StatementCountingDataSource.Execution> executions)
+            throws SQLException {
+        Map<String, String> plans = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (StatementCountingDataSource.Execution execution : executions) {
+                String sql = execution.getSql();
+                if (plans.containsKey(sql) || sql.trim().toLowerCase().startsWith("insert")) {
+                    continue;
+                }
+                try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                    List<Object> binds = execution.getBinds();
+                    for (int i = 0; i < binds.size(); i++) {
+                        statement.setObject(i + 1, binds.get(i));
+                    }
+                    try (ResultSet rs = statement.executeQuery()) {
+                        rs.next();
+                        plans.put(sql, rs.getString(1));
+                    }
+                }
+            }
+        }
+        return plans;
+    }
+}
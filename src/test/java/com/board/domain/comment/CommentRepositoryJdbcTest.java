@@ -0,0 +1,90 @@
+package com.board.domain.comment;
+
+import com.board.domain.post.Post;
+import com.board.domain.post.PostRepositoryJdbc;
+import com.board.util.jdbc.StatementCountingDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CommentRepositoryJdbcTest {
+
+    StatementCountingDataSource dataSource;
+    CommentRepositoryJdbc commentRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(h2).load().migrate();
+        dataSource = new StatementCountingDataSource(h2);
+        commentRepository = new CommentRepositoryJdbc(dataSource);
+        PostRepositoryJdbc postRepository = new PostRepositoryJdbc(h2);
+        postRepository.save(new Post("게시물1", "내용", "작성자", null));
+        postRepository.save(new Post("게시물2", "내용", "작성자", null));
+    }
+
+    @Test
+    void 자손_댓글_조회는_깊이만큼만_쿼리() {
+        //given 깊이 4, 단계마다 자식 3개인 댓글 트리 (자손 3 + 9 + 27 + 81 = 120개)
+        Comment root = commentRepository.save(new Comment(1L, "작성자", 1L, "루트"));
+        List<Long> expected = new ArrayList<>();
+        List<Long> parents = List.of(root.getId());
+        for (int depth = 0; depth < 4; depth++) {
+            List<Long> children = new ArrayList<>();
+            for (Long parentId : parents) {
+                for (int i = 0; i < 3; i++) {
+                    children.add(commentRepository.save(new Comment(1L, parentId, "작성자", 1L, "대댓글")).getId());
+                }
+            }
+            expected.addAll(children);
+            parents = children;
+        }
+
+        //when
+        List<Long> result = new ArrayList<>();
+        dataSource.assertAtMost(5, () -> result.addAll(commentRepository.findAllDescendantCommentIds(root.getId())));
+
+        //then
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+        dataSource.assertNoRepeatedShape(5);
+    }
+
+    @Test
+    void 여러_댓글_삭제는_한_문장() {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(commentRepository.save(new Comment(1L, "작성자", 1L, "댓글" + i)).getId());
+        }
+        Comment remain = commentRepository.save(new Comment(1L, "작성자", 1L, "남는 댓글"));
+
+        //when
+        dataSource.assertAtMost(1, () -> commentRepository.deleteAllByIds(ids));
+
+        //then
+        assertThat(commentRepository.findAll()).extracting(Comment::getId).containsExactly(remain.getId());
+    }
+
+    @Test
+    void 회원이_쓴_댓글만_작성자명_변경() {
+        //given
+        Comment mine = commentRepository.save(new Comment(1L, "옛이름", 7L, "내 댓글"));
+        Comment other = commentRepository.save(new Comment(1L, "다른회원", 8L, "남의 댓글"));
+        Comment otherPost = commentRepository.save(new Comment(2L, "옛이름", 7L, "다른 게시물"));
+
+        //when
+        dataSource.assertAtMost(1, () -> commentRepository.updateAuthorInPosts(7L, List.of(1L, 3L), "새이름"));
+
+        //then
+        assertThat(commentRepository.findById(mine.getId()).getAuthor()).isEqualTo("새이름");
+        assertThat(commentRepository.findById(other.getId()).getAuthor()).isEqualTo("다른회원");
+        assertThat(commentRepository.findById(otherPost.getId()).getAuthor()).isEqualTo("옛이름");
+    }
+}
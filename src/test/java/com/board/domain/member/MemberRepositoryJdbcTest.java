@@ -3,6 +3,7 @@ package com.board.domain.member;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -15,8 +16,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  * MemberRepositoryJdbc 테스트
  * @Transactional: 테스트 완료 후 데이터를 자동으로 Rollback 하여 DB를 깨끗하게 유지합니다.
  * @SpringBootTest: 실제 스프링 컨테이너를 띄워 DataSource, 컨테이너가 관리하는 빈, 리포지토리 등을 주입받습니다.
+ * @ActiveProfiles("embedded"): MySQL 대신 Flyway 마이그레이션으로 만든 H2(MySQL 호환 모드) 내장 DB를 사용합니다.
  */
 @SpringBootTest
+@ActiveProfiles("embedded")
 @Transactional
 class MemberRepositoryJdbcTest {
 
@@ -1,12 +1,22 @@
 package com.board.domain.member.memberService;
 
+import com.board.domain.comment.Comment;
 import com.board.domain.comment.CommentRepository;
+import com.board.domain.comment.CommentRepositoryJdbc;
 import com.board.domain.member.Member;
 import com.board.domain.member.MemberRepositoryImpl;
+import com.board.domain.member.MemberRepositoryJdbc;
+import com.board.domain.post.Post;
 import com.board.domain.post.PostRepository;
+import com.board.domain.post.PostRepositoryJdbc;
+import com.board.util.jdbc.StatementCountingDataSource;
+import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -56,4 +66,31 @@ class MemberServiceTest {
             assertThat(e.getMessage()).isEqualTo("이미 존재하는 아이디입니다.");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void 작성자명_변경은_게시물_수와_관계없이_문장_세개() {
+        //given
+        DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(h2).load().migrate();
+        StatementCountingDataSource dataSource = new StatementCountingDataSource(h2);
+        PostRepositoryJdbc postRepositoryJdbc = new PostRepositoryJdbc(dataSource);
+        CommentRepositoryJdbc commentRepositoryJdbc = new CommentRepositoryJdbc(dataSource);
+        MemberService jdbcMemberService = new MemberService(memberRepository, postRepositoryJdbc, commentRepositoryJdbc);
+        Long memberId = new MemberRepositoryJdbc(h2).save(new Member("old", "옛이름", "password")).getId();
+
+        Long postId = null;
+        for (int i = 0; i < 30; i++) {
+            postId = postRepositoryJdbc.save(new Post("제목" + i, "내용", "옛이름", memberId)).getId();
+            commentRepositoryJdbc.save(new Comment(postId, "옛이름", memberId, "내 댓글"));
+            commentRepositoryJdbc.save(new Comment(postId, "다른회원", memberId + 1, "남의 댓글"));
+        }
+
+        //when
+        dataSource.assertAtMost(3, () -> jdbcMemberService.updateAuthorNameInPostsAndComments(memberId, "새이름"));
+
+        //then
+        assertThat(postRepositoryJdbc.findByMemberId(memberId)).extracting(Post::getAuthor).containsOnly("새이름");
+        assertThat(commentRepositoryJdbc.findAllByPostId(postId)).extracting(Comment::getAuthor)
+                .containsExactlyInAnyOrder("새이름", "다른회원");
+    }
+}
@@ -1,6 +1,7 @@
 package com.board.domain.post;
 
 import com.board.domain.member.Member;
+import com.board.domain.uploadfile.FileTypeEnum;
 import com.board.domain.uploadfile.UploadFile;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -54,7 +55,7 @@ class PostRepositoryImplTest {
         Long notSaveId = 999L;
         String updateTitle = "수정용 제목";
         String updateContent = "수정용 내용";
-        UploadFile updateFile = new UploadFile("테스트파일", "테스트파일명");
+        UploadFile updateFile = new UploadFile("테스트파일", "테스트파일명", FileTypeEnum.ATTACHED);
         List<UploadFile> updateFiles = new ArrayList<>();
 
         // when & then
@@ -122,4 +123,20 @@ class PostRepositoryImplTest {
         Post findMember = postRepository.findById(post.getId());
         assertThat(findMember).isEqualTo(savePost);
     }
-}
\ No newline at end of file
+
+    @Test
+    void 게시물_페이지와_전체_개수_조회() {
+        //given
+        for (int i = 0; i < 12; i++) {
+            postRepository.save(new Post("test" + i, "test", i % 2 == 0 ? "짝수" : "홀수", (long) i));
+        }
+
+        //when
+        Page<PostSummary> page = postRepository.postSearchPage("author", "짝수", 1, 5);
+
+        //then
+        assertThat(page.getTotalCount()).isEqualTo(6);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.getContent()).hasSize(5).allMatch(post -> post.getAuthor().equals("짝수"));
+    }
+}
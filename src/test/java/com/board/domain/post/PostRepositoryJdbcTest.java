@@ -0,0 +1,130 @@
+package com.board.domain.post;
+
+import com.board.domain.comment.Comment;
+import com.board.domain.comment.CommentRepositoryJdbc;
+import com.board.domain.member.Member;
+import com.board.domain.member.MemberRepositoryJdbc;
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * PostRepositoryJdbc의 목록 페이지 조회와 삭제 테스트. Flyway 마이그레이션으로 만든 H2(MySQL 호환 모드)에 회원 25명이 쓴 게시물 25개를 저장해 둡니다.
+ */
+class PostRepositoryJdbcTest {
+
+    DriverManagerDataSource dataSource;
+    PostRepositoryJdbc postRepository;
+    MemberRepositoryJdbc memberRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        postRepository = new PostRepositoryJdbc(dataSource);
+        memberRepository = new MemberRepositoryJdbc(dataSource);
+        for (int i = 1; i <= 25; i++) {
+            String author = i % 5 == 0 ? "관리자" : "작성자";
+            Long authorId = memberRepository.save(new Member("member" + i, author, "password")).getId();
+            String title = (i % 3 == 0 ? "스프링 " : "자바 ") + i;
+            postRepository.save(new Post(title, "내용 " + i, author, authorId));
+        }
+    }
+
+    @Test
+    void 한_페이지와_전체_개수를_함께_조회() {
+        //when
+        Page<PostSummary> page = postRepository.postSearchPage(null, null, 2, 10);
+
+        //then
+        assertThat(page.getTotalCount()).isEqualTo(25);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(PostSummary::getTitle)
+                .containsExactlyElementsOf(postRepository.postSearchFindAll(null, null, 2, 10).stream().map(Post::getTitle).toList());
+        assertThat(page.getContent().get(0)).extracting(PostSummary::getAuthor, PostSummary::getAuthorId)
+                .containsExactly("관리자", 15L);
+    }
+
+    @Test
+    void 검색_조건이_있으면_조건에_맞는_개수만_셈() {
+        //when
+        Page<PostSummary> byTitle = postRepository.postSearchPage("title", "스프링", 1, 5);
+        Page<PostSummary> byAuthor = postRepository.postSearchPage("author", "관리자", 1, 10);
+
+        //then
+        assertThat(byTitle.getTotalCount()).isEqualTo(postRepository.postSearchCount("title", "스프링")).isEqualTo(8);
+        assertThat(byTitle.getContent()).hasSize(5).allMatch(post -> post.getTitle().startsWith("스프링"));
+        assertThat(byAuthor.getTotalCount()).isEqualTo(5);
+        assertThat(byAuthor.getContent()).extracting(PostSummary::getAuthorId).containsExactly(25L, 20L, 15L, 10L, 5L);
+    }
+
+    @Test
+    void 마지막_페이지를_넘으면_빈_목록과_전체_개수() {
+        //when
+        Page<PostSummary> page = postRepository.postSearchPage(null, null, 4, 10);
+        Page<PostSummary> empty = postRepository.postSearchPage("title", "없는검색어", 1, 10);
+
+        //then
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalCount()).isEqualTo(25);
+        assertThat(empty.getContent()).isEmpty();
+        assertThat(empty.getTotalCount()).isZero();
+    }
+
+    @Test
+    void 게시물을_지우면_댓글과_파일_정보도_함께_지워짐() {
+        //given
+        CommentRepositoryJdbc commentRepository = new CommentRepositoryJdbc(dataSource);
+        UploadFileRepositoryJdbc uploadFileRepository = new UploadFileRepositoryJdbc(new JdbcTemplate(dataSource), dataSource);
+        Comment root = commentRepository.save(new Comment(1L, "작성자", 2L, "댓글"));
+        commentRepository.save(new Comment(1L, root.getId(), "작성자", 3L, "답글"));
+        commentRepository.save(new Comment(2L, "작성자", 2L, "다른 게시물 댓글"));
+        uploadFileRepository.saveAll(List.of(file(1L, "a.png"), file(1L, "b.pdf"), file(2L, "c.png")));
+
+        //when
+        postRepository.delete(1L);
+
+        //then
+        assertThat(count("comment where post_id = 1")).isZero();
+        assertThat(count("upload_file where post_id = 1")).isZero();
+        assertThat(count("comment")).isEqualTo(1);
+        assertThat(count("upload_file")).isEqualTo(1);
+    }
+
+    @Test
+    void 회원을_지우면_그_회원의_게시물과_딸린_행이_함께_지워짐() {
+        //given
+        new CommentRepositoryJdbc(dataSource).save(new Comment(1L, "작성자", 2L, "댓글"));
+        new UploadFileRepositoryJdbc(new JdbcTemplate(dataSource), dataSource).save(file(1L, "a.png"));
+
+        //when
+        memberRepository.delete(1L);
+
+        //then
+        assertThat(postRepository.findByMemberId(1L)).isEmpty();
+        assertThat(count("post")).isEqualTo(24);
+        assertThat(count("comment")).isZero();
+        assertThat(count("upload_file")).isZero();
+    }
+
+    private int count(String tableAndCondition) {
+        return new JdbcTemplate(dataSource).queryForObject("select count(*) from " + tableAndCondition, Integer.class);
+    }
+
+    private static UploadFile file(Long postId, String name) {
+        UploadFile file = new UploadFile(name, UUID.randomUUID() + name.substring(name.lastIndexOf('.')),
+                name.endsWith(".png") ? FileTypeEnum.IMAGE : FileTypeEnum.ATTACHED);
+        file.setPostId(postId);
+        return file;
+    }
+}
@@ -0,0 +1,241 @@
+package com.board.domain.post.postService;
+
+import com.board.domain.comment.Comment;
+import com.board.domain.comment.CommentRepository;
+import com.board.domain.post.Post;
+import com.board.domain.post.PostRepository;
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.jdbc.JdbcMetrics;
+import com.board.util.jdbc.ReadYourWrites;
+import com.board.util.jdbc.TimedDataSource;
+import com.board.util.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PostDetailLoaderTest {
+
+    static final long SLOW_MILLIS = 300;
+
+    CountDownLatch interrupted = new CountDownLatch(2);
+    JdbcMetrics jdbcMetrics = new JdbcMetrics(new MetricsRegistry(), Duration.ofMinutes(1), 64, 10);
+    ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5));
+    int parallelLimit = 3;
+
+    @Test
+    void 세_조회를_동시에_실행해_가장_느린_조회만큼만_걸림() {
+        //given
+        Post post = new Post("제목", "내용", "작성자", 1L);
+        PostDetailLoader loader = loader(
+                slow(() -> post),
+                slow(() -> List.of(file("a.pdf", FileTypeEnum.ATTACHED), file("b.png", FileTypeEnum.IMAGE))),
+                slow(() -> List.of(new Comment(1L, "작성자", 1L, "댓글"))),
+                Duration.ofSeconds(5));
+
+        //when
+        long start = System.nanoTime();
+        PostDetail detail = loader.load(1L);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        //then
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(SLOW_MILLIS).isLessThan(SLOW_MILLIS * 2);
+        assertThat(detail.getPost().getAttachFile().getUploadFileName()).isEqualTo("a.pdf");
+        assertThat(detail.getPost().getImageFiles()).extracting(UploadFile::getUploadFileName).containsExactly("b.png");
+        assertThat(detail.getComments()).hasSize(1);
+    }
+
+    @Test
+    void 게시물이_없으면_나머지_조회를_취소하고_null() throws Exception {
+        //given
+        PostDetailLoader loader = loader(() -> null, hang(), hang(), Duration.ofSeconds(5));
+
+        //when
+        PostDetail detail = loader.load(1L);
+
+        //then
+        assertThat(detail).isNull();
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void 마감_시각이_지나면_예외를_던지고_남은_조회를_취소() throws Exception {
+        //given
+        Post post = new Post("제목", "내용", "작성자", 1L);
+        PostDetailLoader loader = loader(() -> post, hang(), hang(), Duration.ofMillis(200));
+
+        //when
+        long start = System.nanoTime();
+        Throwable thrown = catchThrowable(() -> loader.load(1L));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        //then
+        assertThat(thrown).isInstanceOf(QueryTimeoutException.class).hasMessageContaining("200ms");
+        assertThat(elapsedMillis).isLessThan(1000);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void 하나가_실패하면_다른_조회를_기다리지_않고_그_예외를_던짐() throws Exception {
+        //given
+        PostDetailLoader loader = loader(hang(), () -> {
+            throw new DataAccessResourceFailureException("DB 연결 끊김");
+        }, hang(), Duration.ofSeconds(5));
+
+        //when //then
+        assertThatThrownBy(() -> loader.load(1L))
+                .isInstanceOf(DataAccessResourceFailureException.class)
+                .hasMessage("DB 연결 끊김");
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void 요청_범위와_주DB_고정을_조회_스레드로_넘김() {
+        //given 쓰기 직후의 요청
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new TimedDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID()), jdbcMetrics));
+        List<Boolean> pinned = new CopyOnWriteArrayList<>();
+        Callable<Object> query = () -> {
+            pinned.add(readYourWrites.isPinned());
+            return jdbcTemplate.queryForObject("select 1", Integer.class);
+        };
+        Post post = new Post("제목", "내용", "작성자", 1L);
+        PostDetailLoader loader = loader(
+                () -> query.call() != null ? post : null,
+                () -> query.call() != null ? List.of() : null,
+                () -> query.call() != null ? List.of() : null,
+                Duration.ofSeconds(5));
+        jdbcMetrics.beginRequest("GET /posts/1");
+        readYourWrites.beginRequest(true, null);
+
+        //when
+        PostDetail detail;
+        long statements;
+        try {
+            detail = loader.load(1L);
+        } finally {
+            statements = jdbcMetrics.endRequest();
+            readYourWrites.endRequest();
+        }
+
+        //then
+        assertThat(detail).isNotNull();
+        assertThat(statements).isEqualTo(3);
+        assertThat(pinned).containsExactly(true, true, true);
+    }
+
+    @Test
+    void 동시에_나눠_조회하는_요청이_상한에_닿으면_요청_스레드에서_차례로_조회() throws Exception {
+        //given 나눠 조회하는 요청 하나가 게시물 조회에서 멈춰 있습니다.
+        parallelLimit = 1;
+        Post post = new Post("제목", "내용", "작성자", 1L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> serialThreads = new CopyOnWriteArrayList<>();
+        PostRepository postRepository = repository(PostRepository.class, Map.of(
+                "findByIdWithoutFiles", () -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return post;
+                },
+                "findById", () -> {
+                    serialThreads.add(Thread.currentThread());
+                    return post;
+                }));
+        CommentRepository commentRepository = repository(CommentRepository.class, Map.of("findAllByPostId", List::of));
+        PostDetailLoader loader = loader(postRepository, () -> List.of(), commentRepository, Duration.ofSeconds(5));
+        CompletableFuture<PostDetail> parallelLoad = CompletableFuture.supplyAsync(() -> loader.load(1L));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        PostDetail serialDetail = loader.load(1L);
+        release.countDown();
+
+        //then
+        assertThat(serialDetail).isNotNull();
+        assertThat(serialThreads).containsExactly(Thread.currentThread());
+        assertThat(parallelLoad.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    private PostDetailLoader loader(Callable<Post> post, Callable<List<UploadFile>> files,
+                                    Callable<List<Comment>> comments, Duration timeout) {
+        return loader(repository(PostRepository.class, Map.of("findByIdWithoutFiles", post)), files,
+                repository(CommentRepository.class, Map.of("findAllByPostId", comments)), timeout);
+    }
+
+    private PostDetailLoader loader(PostRepository postRepository, Callable<List<UploadFile>> files,
+                                    CommentRepository commentRepository, Duration timeout) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:unused");
+        UploadFileRepositoryJdbc uploadFileRepository = new UploadFileRepositoryJdbc(new JdbcTemplate(dataSource), dataSource) {
+            @Override
+            public List<UploadFile> findByPostId(Long postId) {
+                return call(files);
+            }
+        };
+        return new PostDetailLoader(postRepository, uploadFileRepository, commentRepository, jdbcMetrics, readYourWrites,
+                new DataSourceTransactionManager(dataSource), true, parallelLimit, timeout);
+    }
+
+    private static <T> T repository(Class<T> type, Map<String, Callable<?>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Callable<?> answer = answers.get(method.getName());
+            if (answer != null) {
+                return call(answer);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+
+    private static <T> T call(Callable<T> callable) {
+        try {
+            return callable.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> Callable<T> slow(Callable<T> result) {
+        return () -> {
+            Thread.sleep(SLOW_MILLIS);
+            return result.call();
+        };
+    }
+
+    /**
+     * 인터럽트될 때까지 끝나지 않는 조회. 인터럽트되면 interrupted를 하나 줄입니다.
+     */
+    private <T> Callable<T> hang() {
+        return () -> {
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        };
+    }
+
+    private static UploadFile file(String name, FileTypeEnum type) {
+        return new UploadFile(name, name, type);
+    }
+}
@@ -0,0 +1,181 @@
+package com.board.domain.post.postService;
+
+import com.board.domain.member.Member;
+import com.board.domain.member.MemberRepositoryJdbc;
+import com.board.domain.post.Post;
+import com.board.domain.post.PostRepositoryJdbc;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileLookup;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.file.FileStore;
+import com.board.util.file.FileStoreException;
+import com.board.util.file.FileStoreMode;
+import com.board.util.file.ThumbnailGenerator;
+import com.board.util.file.storage.InMemoryStorageBackend;
+import com.board.util.jdbc.ConcurrencyLimitedDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PostServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    ConcurrencyLimitedDataSource dataSource;
+    UploadFileRepositoryJdbc uploadFileRepository;
+    FileStore fileStore = new FileStore();
+    ThumbnailGenerator thumbnailGenerator;
+    PostService postService;
+
+    /** putFile이 호출될 때마다 그 순간 사용 중이던 DB 커넥션 수 */
+    List<Integer> connectionsInUseDuringPut = new CopyOnWriteArrayList<>();
+
+    /** 이 횟수만큼 올린 뒤부터는 putFile이 실패합니다. */
+    int putsBeforeFailure = Integer.MAX_VALUE;
+
+    InMemoryStorageBackend storage = new InMemoryStorageBackend() {
+        @Override
+        public void putFile(String key, Path source) throws IOException {
+            connectionsInUseDuringPut.add(dataSource.getInUse());
+            if (connectionsInUseDuringPut.size() > putsBeforeFailure) {
+                throw new IOException("저장소 응답 없음");
+            }
+            super.putFile(key, source);
+        }
+    };
+
+    @BeforeEach
+    void beforeEach() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(h2).load().migrate();
+        new MemberRepositoryJdbc(h2).save(new Member("author", "작성자", "password"));
+        dataSource = new ConcurrencyLimitedDataSource(h2, 10, Duration.ofSeconds(1));
+
+        ReflectionTestUtils.setField(fileStore, "fileDir", tempDir.toString() + File.separator);
+        ReflectionTestUtils.setField(fileStore, "parallel", false);
+        ReflectionTestUtils.setField(fileStore, "variantWidths", new int[]{320});
+        ReflectionTestUtils.setField(fileStore, "mode", FileStoreMode.UUID);
+        fileStore.setStorageBackend(storage);
+
+        uploadFileRepository = new UploadFileRepositoryJdbc(new JdbcTemplate(dataSource), dataSource);
+        thumbnailGenerator = new ThumbnailGenerator(fileStore, 1, 10, 100_000_000, false);
+        postService = new PostService(new PostRepositoryJdbc(dataSource), uploadFileRepository,
+                new UploadFileLookup(uploadFileRepository, Duration.ofMinutes(1)), fileStore, thumbnailGenerator,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), null);
+    }
+
+    @AfterEach
+    void afterEach() {
+        ReflectionTestUtils.invokeMethod(thumbnailGenerator, "shutdown");
+    }
+
+    @Test
+    void 파일을_저장소에_올리는_동안_DB_커넥션을_잡지_않음() {
+        //given
+        MockMultipartFile attach = new MockMultipartFile("attachFile", "a.pdf", "application/pdf", "pdf".getBytes());
+        MockMultipartFile image = new MockMultipartFile("imageFiles", "b.txt", "text/plain", "image".getBytes());
+
+        //when
+        Long postId = postService.savePost(new Post("제목", "내용", "작성자", 1L), attach, List.of(image));
+        postService.updatePost(postId, "제목", "내용",
+                new MockMultipartFile("attachFile", "c.pdf", "application/pdf", "new".getBytes()), null, null);
+
+        //then
+        assertThat(connectionsInUseDuringPut).hasSize(3).containsOnly(0);
+        assertThat(uploadFileRepository.findByPostId(postId)).hasSize(2)
+                .allSatisfy(file -> assertThat(storage.stat(fileStore.getStorageKey(file.getStoreFileName()))).isPresent());
+        assertThat(storage.size()).isEqualTo(2);
+        assertThat(dataSource.getInUse()).isZero();
+    }
+
+    @Test
+    void 롤백되면_올려_둔_파일을_지움() {
+        //given 제목이 없으면 post 테이블의 not null 제약에 걸려 롤백됩니다.
+        MockMultipartFile attach = new MockMultipartFile("attachFile", "a.pdf", "application/pdf", "pdf".getBytes());
+
+        //when
+        assertThatThrownBy(() -> postService.savePost(new Post(null, "내용", "작성자", 1L), attach, List.of()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        //then
+        assertThat(connectionsInUseDuringPut).containsExactly(0);
+        assertThat(storage.size()).isZero();
+        assertThat(tempDir.resolve(".tmp")).isEmptyDirectory();
+    }
+
+    @Test
+    void 수정이_롤백되면_새_파일만_지우고_기존_파일은_유지() {
+        //given
+        Long postId = postService.savePost(new Post("제목", "내용", "작성자", 1L),
+                new MockMultipartFile("attachFile", "a.pdf", "application/pdf", "pdf".getBytes()), List.of());
+        UploadFile original = uploadFileRepository.findAttachByPostId(postId);
+
+        //when 제목이 없으면 update 문이 not null 제약에 걸려 롤백됩니다.
+        assertThatThrownBy(() -> postService.updatePost(postId, null, "내용",
+                new MockMultipartFile("attachFile", "b.pdf", "application/pdf", "new".getBytes()), null, null))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        //then
+        assertThat(uploadFileRepository.findAttachByPostId(postId).getStoreFileName()).isEqualTo(original.getStoreFileName());
+        assertThat(storage.size()).isEqualTo(1);
+        assertThat(storage.stat(fileStore.getStorageKey(original.getStoreFileName()))).isPresent();
+    }
+
+    @Test
+    void 저장소에_올리다_실패하면_게시물을_저장하지_않고_올린_파일도_지움() {
+        //given 첨부파일은 올라가고 이미지에서 실패합니다.
+        putsBeforeFailure = 1;
+        MockMultipartFile attach = new MockMultipartFile("attachFile", "a.pdf", "application/pdf", "pdf".getBytes());
+        MockMultipartFile image = new MockMultipartFile("imageFiles", "b.txt", "text/plain", "image".getBytes());
+
+        //when
+        assertThatThrownBy(() -> postService.savePost(new Post("제목", "내용", "작성자", 1L), attach, List.of(image)))
+                .isInstanceOf(FileStoreException.class);
+
+        //then
+        assertThat(new JdbcTemplate(dataSource).queryForObject("select count(*) from post", Integer.class)).isZero();
+        assertThat(new JdbcTemplate(dataSource).queryForObject("select count(*) from upload_file", Integer.class)).isZero();
+        assertThat(storage.size()).isZero();
+        assertThat(tempDir.resolve(".tmp")).isEmptyDirectory();
+    }
+
+    @Test
+    void 게시물을_지우면_UUID_파일은_바로_지우고_내용주소_파일은_수거작업에_맡김() {
+        //given
+        Long uuidPostId = postService.savePost(new Post("제목", "내용", "작성자", 1L),
+                new MockMultipartFile("attachFile", "a.pdf", "application/pdf", "uuid".getBytes()), List.of());
+        ReflectionTestUtils.setField(fileStore, "mode", FileStoreMode.CONTENT);
+        Long contentPostId = postService.savePost(new Post("제목", "내용", "작성자", 1L),
+                new MockMultipartFile("attachFile", "b.pdf", "application/pdf", "content".getBytes()), List.of());
+        String contentFileName = uploadFileRepository.findAttachByPostId(contentPostId).getStoreFileName();
+
+        //when
+        postService.deletePost(uuidPostId);
+        postService.deletePost(contentPostId);
+
+        //then
+        assertThat(FileStore.isContentAddressed(contentFileName)).isTrue();
+        assertThat(storage.size()).isEqualTo(1);
+        assertThat(storage.stat(fileStore.getStorageKey(contentFileName))).isPresent();
+    }
+}
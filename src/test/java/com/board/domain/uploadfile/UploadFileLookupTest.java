@@ -0,0 +1,75 @@
+package com.board.domain.uploadfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UploadFileLookupTest {
+
+    UploadFileRepositoryJdbc uploadFileRepository = mock(UploadFileRepositoryJdbc.class);
+
+    @Test
+    void 두번째_조회부터는_캐시() {
+        //given
+        UploadFileLookup lookup = new UploadFileLookup(uploadFileRepository, Duration.ofMinutes(1));
+        when(uploadFileRepository.findAttachByPostId(1L)).thenReturn(attach("a.pdf"));
+
+        //when
+        lookup.findAttachFile(1L);
+        UploadFile found = lookup.findAttachFile(1L);
+
+        //then
+        assertThat(found.getUploadFileName()).isEqualTo("a.pdf");
+        verify(uploadFileRepository, times(1)).findAttachByPostId(1L);
+    }
+
+    @Test
+    void 유지시간이_지나면_다시_조회() {
+        //given
+        UploadFileLookup lookup = new UploadFileLookup(uploadFileRepository, Duration.ZERO);
+        when(uploadFileRepository.findAttachByPostId(1L)).thenReturn(attach("a.pdf"), attach("b.pdf"));
+
+        //when
+        lookup.findAttachFile(1L);
+        UploadFile found = lookup.findAttachFile(1L);
+
+        //then
+        assertThat(found.getUploadFileName()).isEqualTo("b.pdf");
+    }
+
+    @Test
+    void 조회하는_사이에_비워지면_낡은_결과를_캐시하지_않음() throws Exception {
+        //given 첫 조회가 예전 첨부파일을 읽은 뒤 멈춰 있는 동안 게시물이 수정됩니다.
+        UploadFileLookup lookup = new UploadFileLookup(uploadFileRepository, Duration.ofMinutes(1));
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(uploadFileRepository.findAttachByPostId(1L))
+                .thenAnswer(invocation -> {
+                    loaded.countDown();
+                    evicted.await(5, TimeUnit.SECONDS);
+                    return attach("old.pdf");
+                })
+                .thenReturn(attach("new.pdf"));
+
+        //when
+        CompletableFuture<UploadFile> staleLoad = CompletableFuture.supplyAsync(() -> lookup.findAttachFile(1L));
+        loaded.await(5, TimeUnit.SECONDS);
+        lookup.evict(1L);
+        evicted.countDown();
+        staleLoad.get(5, TimeUnit.SECONDS);
+        UploadFile found = lookup.findAttachFile(1L);
+
+        //then
+        assertThat(found.getUploadFileName()).isEqualTo("new.pdf");
+    }
+
+    private static UploadFile attach(String uploadFileName) {
+        return new UploadFile(uploadFileName, uploadFileName, FileTypeEnum.ATTACHED);
+    }
+}
@@ -0,0 +1,123 @@
+package com.board.domain.uploadfile;
+
+import com.board.domain.post.Post;
+import com.board.domain.post.PostRepositoryJdbc;
+import com.board.util.jdbc.StatementCountingDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * UploadFileRepositoryJdbc 테스트
+ * MySQL 호환 모드의 H2 메모리 DB에 Flyway 마이그레이션으로 스키마를 만들고, 드라이버로 나가는 문장 수를 세어 배치 저장 여부를 확인합니다.
+ */
+class UploadFileRepositoryJdbcTest {
+
+    StatementCountingDataSource dataSource;
+    UploadFileRepositoryJdbc uploadFileRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(h2).load().migrate();
+        PostRepositoryJdbc postRepository = new PostRepositoryJdbc(h2);
+        postRepository.save(new Post("게시물1", "내용", "작성자", null));
+        postRepository.save(new Post("게시물2", "내용", "작성자", null));
+
+        dataSource = new StatementCountingDataSource(h2);
+        uploadFileRepository = new UploadFileRepositoryJdbc(new JdbcTemplate(dataSource), dataSource);
+    }
+
+    @Test
+    void 여러파일을_한번의_배치로_저장하고_ID_채움() {
+        //given
+        List<UploadFile> files = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UploadFile file = new UploadFile("image" + i + ".png", "store" + i + ".png", FileTypeEnum.IMAGE);
+            file.setPostId(1L);
+            files.add(file);
+        }
+
+        //when
+        dataSource.reset();
+        uploadFileRepository.saveAll(files);
+
+        //then executeBatch 한 번
+        assertThat(dataSource.count()).isEqualTo(1);
+        assertThat(dataSource.statements().get(0)).startsWith("insert into upload_file");
+        assertThat(files).extracting(UploadFile::getId).doesNotContainNull().doesNotHaveDuplicates();
+
+        List<UploadFile> saved = uploadFileRepository.findByPostId(1L);
+        assertThat(saved).hasSize(10);
+        for (UploadFile file : files) {
+            assertThat(saved).filteredOn(s -> s.getId().equals(file.getId()))
+                    .singleElement()
+                    .extracting(UploadFile::getStoreFileName)
+                    .isEqualTo(file.getStoreFileName());
+        }
+    }
+
+    @Test
+    void 빈목록은_문장을_보내지_않음() {
+        dataSource.assertAtMost(0, () -> uploadFileRepository.saveAll(new ArrayList<>()));
+    }
+
+    @Test
+    void 게시물의_지정한_파일만_삭제() {
+        //given
+        List<UploadFile> files = new ArrayList<>();
+        for (long postId = 1; postId <= 2; postId++) {
+            for (int i = 0; i < 3; i++) {
+                UploadFile file = new UploadFile("image" + i + ".png", "store" + postId + "-" + i + ".png", FileTypeEnum.IMAGE);
+                file.setPostId(postId);
+                files.add(file);
+            }
+        }
+        uploadFileRepository.saveAll(files);
+        Long removedId = files.get(1).getId();
+        Long otherPostFileId = files.get(4).getId();
+
+        //when
+        uploadFileRepository.deleteByPostIdAndIds(1L, List.of(removedId, otherPostFileId));
+
+        //then
+        assertThat(uploadFileRepository.findByPostId(1L))
+                .extracting(UploadFile::getId)
+                .containsExactly(files.get(0).getId(), files.get(2).getId());
+        assertThat(uploadFileRepository.findByPostId(2L)).hasSize(3);
+    }
+
+    @Test
+    void 파일_메타데이터를_저장하고_다시_읽음() {
+        //given
+        UploadFile image = new UploadFile("photo.png", "store-photo.png", FileTypeEnum.IMAGE);
+        image.setPostId(1L);
+        image.setFileSize(2048L);
+        image.setContentType("image/png");
+        image.setSha256("a".repeat(64));
+        image.setWidth(800);
+        image.setHeight(600);
+        UploadFile legacy = new UploadFile("old.txt", "store-old.txt", FileTypeEnum.ATTACHED);
+        legacy.setPostId(1L);
+
+        //when
+        uploadFileRepository.saveAll(List.of(image, legacy));
+
+        //then
+        List<UploadFile> saved = uploadFileRepository.findByPostId(1L);
+        assertThat(saved.get(0))
+                .extracting(UploadFile::getFileSize, UploadFile::getContentType, UploadFile::getSha256,
+                        UploadFile::getWidth, UploadFile::getHeight)
+                .containsExactly(2048L, "image/png", "a".repeat(64), 800, 600);
+        assertThat(saved.get(1).getFileSize()).isNull();
+        assertThat(saved.get(1).getWidth()).isNull();
+    }
+}
@@ -0,0 +1,186 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChunkedUploadStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    FileStore fileStore = new FileStore();
+    ChunkedUploadStore store;
+
+    byte[] content = "0123456789abcdefghij".getBytes();
+
+    @BeforeEach
+    void beforeEach() {
+        ReflectionTestUtils.setField(fileStore, "fileDir", tempDir.toString() + File.separator);
+        ReflectionTestUtils.setField(fileStore, "variantWidths", new int[]{320, 640});
+        ReflectionTestUtils.setField(fileStore, "mode", FileStoreMode.UUID);
+        store = new ChunkedUploadStore(fileStore, DataSize.ofMegabytes(1), Duration.ofHours(1));
+    }
+
+    @Test
+    void 순서와_상관없이_받은_조각을_합쳐_완료() throws Exception {
+        //given
+        String uploadId = store.begin(1L, "big.zip", content.length).getUploadId();
+
+        //when
+        store.write(uploadId, 1L, 10, chunk(10, 20));
+        store.write(uploadId, 1L, 0, chunk(0, 5));
+        ChunkedUploadStatus status = store.write(uploadId, 1L, 5, chunk(5, 10));
+        ChunkedUploadStatus completed = store.complete(uploadId, 1L, sha256(content));
+
+        //then
+        assertThat(status.getReceivedBytes()).isEqualTo(content.length);
+        assertThat(status.getReceived()).singleElement()
+                .satisfies(range -> assertThat(new long[]{range.getStart(), range.getEnd()}).containsExactly(0, 20));
+        assertThat(completed.isCompleted()).isTrue();
+
+        StagedFile staged = store.claim(uploadId, 1L);
+        fileStore.promote(staged);
+        assertThat(staged.getUploadFile().getFileType()).isEqualTo(FileTypeEnum.ATTACHED);
+        assertThat(staged.getUploadFile().getUploadFileName()).isEqualTo("big.zip");
+        assertThat(Path.of(fileStore.getFullPath(staged.getUploadFile().getStoreFileName()))).hasBinaryContent(content);
+    }
+
+    @Test
+    void 끊긴_조각은_받은_만큼만_기록되어_이어받기() {
+        //given
+        String uploadId = store.begin(1L, "big.zip", content.length).getUploadId();
+        InputStream dropped = new ByteArrayInputStream(Arrays.copyOfRange(content, 0, 8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                int read = super.read(b, off, len);
+                if (read == -1) {
+                    throw new IllegalStateException("connection reset");
+                }
+                return read;
+            }
+        };
+
+        //when
+        assertThatThrownBy(() -> store.write(uploadId, 1L, 0, dropped));
+        ChunkedUploadStatus status = store.status(uploadId, 1L);
+
+        //then
+        assertThat(status.getReceivedBytes()).isEqualTo(8);
+        assertThatThrownBy(() -> store.complete(uploadId, 1L, sha256(content)))
+                .isInstanceOfSatisfying(ChunkedUploadException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(ChunkedUploadException.Reason.INCOMPLETE));
+
+        store.write(uploadId, 1L, 8, chunk(8, 20));
+        assertThat(store.complete(uploadId, 1L, sha256(content)).isCompleted()).isTrue();
+    }
+
+    @Test
+    void 체크섬이_다르면_실패하고_다시_받도록_초기화() {
+        //given
+        String uploadId = store.begin(1L, "big.zip", content.length).getUploadId();
+        store.write(uploadId, 1L, 0, chunk(0, 20));
+
+        //when & then
+        assertThatThrownBy(() -> store.complete(uploadId, 1L, sha256("other".getBytes())))
+                .isInstanceOfSatisfying(ChunkedUploadException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(ChunkedUploadException.Reason.CHECKSUM_MISMATCH));
+        assertThat(store.status(uploadId, 1L).getReceivedBytes()).isZero();
+    }
+
+    @Test
+    void 받는_중인_조각이_있으면_완료를_거절() throws Exception {
+        //given 모든 구간을 받은 뒤 같은 구간을 다시 보내는 요청이 도중에 멈춰 있습니다.
+        String uploadId = store.begin(1L, "big.zip", content.length).getUploadId();
+        store.write(uploadId, 1L, 0, chunk(0, 20));
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slow = new ByteArrayInputStream(Arrays.copyOfRange(content, 0, 20)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                reading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(b, off, len);
+            }
+        };
+        CompletableFuture<ChunkedUploadStatus> resend = CompletableFuture.supplyAsync(() -> store.write(uploadId, 1L, 0, slow));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        Throwable whileWriting = catchThrowable(() -> store.complete(uploadId, 1L, sha256(content)));
+        release.countDown();
+        resend.get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(whileWriting).isInstanceOfSatisfying(ChunkedUploadException.class,
+                e -> assertThat(e.getReason()).isEqualTo(ChunkedUploadException.Reason.INCOMPLETE));
+        assertThat(store.complete(uploadId, 1L, sha256(content)).isCompleted()).isTrue();
+    }
+
+    @Test
+    void 재시작해도_받은_구간부터_이어받기() {
+        //given
+        String uploadId = store.begin(1L, "big.zip", content.length).getUploadId();
+        store.write(uploadId, 1L, 0, chunk(0, 8));
+
+        //when 새 저장소가 기동하며 남은 상태를 읽습니다.
+        ChunkedUploadStore restarted = new ChunkedUploadStore(fileStore, DataSize.ofMegabytes(1), Duration.ofHours(1));
+        restarted.restore();
+        ChunkedUploadStatus status = restarted.status(uploadId, 1L);
+        restarted.write(uploadId, 1L, 8, chunk(8, 20));
+
+        //then
+        assertThat(status.getReceivedBytes()).isEqualTo(8);
+        assertThat(status.getFileName()).isEqualTo("big.zip");
+        assertThat(restarted.complete(uploadId, 1L, sha256(content)).isCompleted()).isTrue();
+        assertThatThrownBy(() -> restarted.status(uploadId, 2L)).isInstanceOf(ChunkedUploadException.class);
+    }
+
+    @Test
+    void 파일_크기를_넘는_조각과_다른_회원의_요청은_거부() {
+        //given
+        String uploadId = store.begin(1L, "big.zip", content.length).getUploadId();
+
+        //when & then
+        assertThatThrownBy(() -> store.write(uploadId, 1L, 15, chunk(0, 10)))
+                .isInstanceOfSatisfying(ChunkedUploadException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(ChunkedUploadException.Reason.BAD_RANGE));
+        assertThatThrownBy(() -> store.status(uploadId, 2L))
+                .isInstanceOfSatisfying(ChunkedUploadException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(ChunkedUploadException.Reason.NOT_FOUND));
+    }
+
+    private InputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
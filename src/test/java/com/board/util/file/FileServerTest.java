@@ -0,0 +1,197 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.util.file.storage.InMemoryStorageBackend;
+import com.board.util.file.storage.StorageBackend;
+import com.board.util.file.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FileServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    FileServer fileServer = new FileServer();
+    Path file;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        file = tempDir.resolve("3f2a.png");
+        Files.writeString(file, "0123456789");
+    }
+
+    @Test
+    void 전체파일_캐시헤더와_함께_응답() throws IOException {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts/images/3f2a.png");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        fileServer.serve(file, null, true, request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void ETag_일치하면_304() throws IOException {
+        //given
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        fileServer.serve(file, null, true, new MockHttpServletRequest("GET", "/"), first);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        fileServer.serve(file, null, true, request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void 바이트범위_요청은_206() throws IOException {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        fileServer.serve(file, null, false, request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+    }
+
+    @Test
+    void 끝에서부터_범위_요청() throws IOException {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        fileServer.serve(file, null, false, request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    void 만족할수없는_범위는_416() throws IOException {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        fileServer.serve(file, null, false, request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void 원격_저장소의_파일도_범위_요청_지원() throws IOException {
+        //given
+        InMemoryStorageBackend storage = new InMemoryStorageBackend();
+        storage.put("ab/cd/abcd-remote.png", new ByteArrayInputStream("0123456789".getBytes()), 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=3-6");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        fileServer.serve(storage, "ab/cd/abcd-remote.png", null, true, request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("3456");
+        assertThat(response.getContentType()).isEqualTo("image/png");
+    }
+
+    @Test
+    void 저장된_메타데이터가_있으면_저장소_정보를_조회하지_않음() throws IOException {
+        //given
+        InMemoryStorageBackend memory = new InMemoryStorageBackend();
+        memory.put("abcd-doc.bin", new ByteArrayInputStream("0123456789".getBytes()), 10);
+        StorageBackend storage = new InMemoryStorageBackend() {
+            @Override
+            public java.io.InputStream get(String key) throws IOException {
+                return memory.get(key);
+            }
+
+            @Override
+            public Optional<StoredObject> stat(String key) {
+                throw new AssertionError("stat이 호출되면 안 됩니다.");
+            }
+        };
+        UploadFile file = new UploadFile("doc.pdf", "abcd-doc.bin", FileTypeEnum.ATTACHED);
+        file.setFileSize(10L);
+        file.setContentType("application/pdf");
+        file.setSha256("b".repeat(64));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        fileServer.serve(storage, "abcd-doc.bin", file, "attachment", false, new MockHttpServletRequest("GET", "/"), response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + "b".repeat(64) + "\"");
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNull();
+    }
+
+    @Test
+    void 해시_ETag가_일치하면_304() throws IOException {
+        //given
+        UploadFile file = new UploadFile("doc.pdf", "3f2a.png", FileTypeEnum.ATTACHED);
+        file.setFileSize(10L);
+        file.setSha256("c".repeat(64));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + "c".repeat(64) + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        fileServer.serve(new InMemoryStorageBackend(), "3f2a.png", file, null, false, request, response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void 없는_파일은_404() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        fileServer.serve(tempDir.resolve("none.png"), null, true, new MockHttpServletRequest("GET", "/"), response);
+
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+}
@@ -0,0 +1,76 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * FileStore 순차 저장과 병렬 저장의 소요 시간을 비교하는 벤치마크입니다.
+ * 느린 디스크(NFS, dm-delay 장치 등)가 마운트된 경로를 지정했을 때만 실행됩니다.
+ * <p>
+ * 실행 예: {@code gradle test --tests '*FileStoreBenchmarkTest' -Dbench.dir=/mnt/slow/}
+ */
+@EnabledIfSystemProperty(named = "bench.dir", matches = ".+")
+class FileStoreBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FileStoreBenchmarkTest.class);
+
+    static final int FILE_COUNT = 20;
+    static final int FILE_SIZE = 1024 * 1024;
+    static final int ROUNDS = 5;
+
+    @Test
+    void 순차저장_병렬저장_비교() {
+        String benchDir = System.getProperty("bench.dir");
+        List<MultipartFile> files = createFiles();
+
+        long sequential = measure(fileStore(benchDir, false), files);
+        long parallel = measure(fileStore(benchDir, true), files);
+
+        log.info("[FileStore 벤치마크] dir={}, files={} x {}KB, rounds={}", benchDir, FILE_COUNT, FILE_SIZE / 1024, ROUNDS);
+        log.info("  sequential avg = {} ms", sequential);
+        log.info("  parallel   avg = {} ms (x{})", parallel, String.format("%.2f", (double) sequential / Math.max(1, parallel)));
+    }
+
+    private long measure(FileStore fileStore, List<MultipartFile> files) {
+        long total = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            List<UploadFile> stored = fileStore.storeFiles(files, FileTypeEnum.IMAGE);
+            total += System.nanoTime() - start;
+            stored.forEach(uploadFile -> fileStore.deleteFile(uploadFile.getStoreFileName()));
+        }
+        return total / ROUNDS / 1_000_000;
+    }
+
+    private FileStore fileStore(String dir, boolean parallel) {
+        FileStore fileStore = new FileStore();
+        ReflectionTestUtils.setField(fileStore, "fileDir", dir.endsWith(File.separator) ? dir : dir + File.separator);
+        ReflectionTestUtils.setField(fileStore, "parallel", parallel);
+        ReflectionTestUtils.setField(fileStore, "variantWidths", new int[]{320, 640});
+        ReflectionTestUtils.setField(fileStore, "maxConcurrency", Integer.getInteger("bench.concurrency", 8));
+        return fileStore;
+    }
+
+    private List<MultipartFile> createFiles() {
+        Random random = new Random(42);
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < FILE_COUNT; i++) {
+            byte[] data = new byte[FILE_SIZE];
+            random.nextBytes(data);
+            files.add(new MockMultipartFile("imageFiles", "bench" + i + ".jpg", "image/jpeg", data));
+        }
+        return files;
+    }
+}
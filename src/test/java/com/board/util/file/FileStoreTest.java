@@ -0,0 +1,256 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.util.file.storage.LocalStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FileStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    FileStore fileStore = new FileStore();
+
+    @BeforeEach
+    void beforeEach() {
+        ReflectionTestUtils.setField(fileStore, "fileDir", tempDir.toString() + File.separator);
+        ReflectionTestUtils.setField(fileStore, "parallel", true);
+        ReflectionTestUtils.setField(fileStore, "variantWidths", new int[]{320, 640});
+        ReflectionTestUtils.setField(fileStore, "maxConcurrency", 2);
+        ReflectionTestUtils.setField(fileStore, "mode", FileStoreMode.UUID);
+    }
+
+    @Test
+    void 다중파일_병렬저장_순서유지() {
+        //given
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            files.add(new MockMultipartFile("imageFiles", "image" + i + ".png", "image/png", ("data" + i).getBytes()));
+        }
+
+        //when
+        List<UploadFile> result = fileStore.storeFiles(files, FileTypeEnum.IMAGE);
+
+        //then
+        assertThat(result).hasSize(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(result.get(i).getUploadFileName()).isEqualTo("image" + i + ".png");
+            assertThat(new File(fileStore.getFullPath(result.get(i).getStoreFileName()))).exists();
+        }
+    }
+
+    @Test
+    void 병렬저장_하나라도_실패하면_전체정리() throws IOException {
+        //given
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            files.add(new MockMultipartFile("imageFiles", "image" + i + ".png", "image/png", ("data" + i).getBytes()));
+        }
+        files.add(new MockMultipartFile("imageFiles", "broken.png", "image/png", "broken".getBytes()) {
+            @Override
+            public void transferTo(File dest) throws IOException {
+                throw new IOException("disk full");
+            }
+        });
+
+        //when & then
+        assertThatThrownBy(() -> fileStore.storeFiles(files, FileTypeEnum.IMAGE))
+                .isInstanceOf(FileStoreException.class)
+                .hasMessageContaining("broken.png");
+
+        try (var stored = Files.walk(tempDir)) {
+            assertThat(stored.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    void 임시저장_파일은_promote_전까지_최종경로에_없음() {
+        //given
+        MockMultipartFile file = new MockMultipartFile("attachFile", "report.pdf", "application/pdf", "report".getBytes());
+
+        //when
+        StagedFile staged = fileStore.stage(file, FileTypeEnum.ATTACHED);
+        Path target = Path.of(fileStore.getFullPath(staged.getUploadFile().getStoreFileName()));
+
+        //then
+        assertThat(staged.getTempFile()).hasContent("report");
+        assertThat(staged.getTempFile().getParent().getFileName().toString()).isEqualTo(FileStore.TEMP_DIR);
+        assertThat(target).doesNotExist();
+
+        fileStore.promote(staged);
+        assertThat(target).hasContent("report");
+        assertThat(staged.getTempFile()).doesNotExist();
+    }
+
+    @Test
+    void 임시저장_파일_discard하면_삭제() {
+        //given
+        MockMultipartFile file = new MockMultipartFile("attachFile", "report.pdf", "application/pdf", "report".getBytes());
+        StagedFile staged = fileStore.stage(file, FileTypeEnum.ATTACHED);
+
+        //when
+        fileStore.discard(staged);
+
+        //then
+        assertThat(staged.getTempFile()).doesNotExist();
+        assertThat(Path.of(fileStore.getFullPath(staged.getUploadFile().getStoreFileName()))).doesNotExist();
+    }
+
+    @Test
+    void 저장시_크기_타입_해시_이미지크기_기록() throws IOException, NoSuchAlgorithmException {
+        //given
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "png", png);
+        // 확장자가 실제 형식과 달라도 이미지 헤더로 MIME 타입을 정합니다.
+        MockMultipartFile image = new MockMultipartFile("imageFiles", "photo.jpg", "image/jpeg", png.toByteArray());
+        MockMultipartFile attach = new MockMultipartFile("attachFile", "report.pdf", "application/pdf", "report".getBytes());
+
+        //when
+        UploadFile imageFile = fileStore.storeFile(image, FileTypeEnum.IMAGE);
+        UploadFile attachFile = fileStore.storeFile(attach, FileTypeEnum.ATTACHED);
+
+        //then
+        assertThat(imageFile.getFileSize()).isEqualTo(png.size());
+        assertThat(imageFile.getContentType()).isEqualTo("image/png");
+        assertThat(imageFile.getSha256()).isEqualTo(HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(png.toByteArray())));
+        assertThat(imageFile.getWidth()).isEqualTo(800);
+        assertThat(imageFile.getHeight()).isEqualTo(600);
+        assertThat(imageFile.scaledWidth(320)).isEqualTo(320);
+        assertThat(imageFile.scaledHeight(320)).isEqualTo(240);
+
+        assertThat(attachFile.getFileSize()).isEqualTo(6L);
+        assertThat(attachFile.getContentType()).isEqualTo("application/pdf");
+        assertThat(attachFile.getWidth()).isNull();
+    }
+
+    @Test
+    void 내용주소_같은내용은_하나의파일로_저장() throws IOException {
+        //given
+        ReflectionTestUtils.setField(fileStore, "mode", FileStoreMode.CONTENT);
+        MockMultipartFile first = new MockMultipartFile("imageFiles", "meme.png", "image/png", "same-content".getBytes());
+        MockMultipartFile second = new MockMultipartFile("imageFiles", "meme-copy.png", "image/png", "same-content".getBytes());
+
+        //when
+        UploadFile firstFile = fileStore.storeFile(first, FileTypeEnum.IMAGE);
+        UploadFile secondFile = fileStore.storeFile(second, FileTypeEnum.IMAGE);
+
+        //then
+        String storeFileName = firstFile.getStoreFileName();
+        assertThat(secondFile.getStoreFileName()).isEqualTo(storeFileName);
+        assertThat(secondFile.getUploadFileName()).isEqualTo("meme-copy.png");
+        assertThat(storeFileName).matches("[0-9a-f]{64}\\.png");
+
+        Path stored = Path.of(fileStore.getFullPath(storeFileName));
+        assertThat(stored).hasContent("same-content");
+        assertThat(tempDir.relativize(stored).toString())
+                .isEqualTo(storeFileName.substring(0, 2) + File.separator + storeFileName.substring(2, 4) + File.separator + storeFileName);
+
+        try (var files = Files.walk(tempDir)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void 내용주소_재사용_직전에_수거가_지웠으면_다시_씀() throws IOException {
+        //given 같은 내용의 파일이 있는지 확인한 뒤 갱신하기 전에 파일 수거가 지웁니다.
+        ReflectionTestUtils.setField(fileStore, "mode", FileStoreMode.CONTENT);
+        fileStore.setStorageBackend(new LocalStorageBackend(tempDir) {
+            @Override
+            public boolean touch(String key) throws IOException {
+                delete(key);
+                return super.touch(key);
+            }
+        });
+        UploadFile first = fileStore.storeFile(new MockMultipartFile("imageFiles", "a.png", "image/png", "same-content".getBytes()), FileTypeEnum.IMAGE);
+
+        //when
+        UploadFile second = fileStore.storeFile(new MockMultipartFile("imageFiles", "b.png", "image/png", "same-content".getBytes()), FileTypeEnum.IMAGE);
+
+        //then
+        assertThat(second.getStoreFileName()).isEqualTo(first.getStoreFileName());
+        assertThat(Path.of(fileStore.getFullPath(second.getStoreFileName()))).hasContent("same-content");
+    }
+
+    @Test
+    void 분할구조_저장과_평면구조_파일_조회() throws IOException {
+        //given
+        ReflectionTestUtils.setField(fileStore, "layout", FileStoreLayout.SHARDED);
+        Files.writeString(tempDir.resolve("abcdef12-0000-0000-0000-000000000000.png"), "legacy");
+
+        //when
+        UploadFile stored = fileStore.storeFile(new MockMultipartFile("imageFiles", "new.png", "image/png", "new".getBytes()), FileTypeEnum.IMAGE);
+
+        //then
+        String storeFileName = stored.getStoreFileName();
+        assertThat(Path.of(fileStore.getFullPath(storeFileName)))
+                .isEqualTo(tempDir.resolve(storeFileName.substring(0, 2)).resolve(storeFileName.substring(2, 4)).resolve(storeFileName))
+                .hasContent("new");
+        assertThat(Path.of(fileStore.getFullPath("abcdef12-0000-0000-0000-000000000000.png"))).hasContent("legacy");
+    }
+
+    @Test
+    void 평면구조_파일을_분할구조로_마이그레이션() throws IOException {
+        //given
+        ReflectionTestUtils.setField(fileStore, "layout", FileStoreLayout.SHARDED);
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(tempDir.resolve("abcd000" + i + "-uuid.png"), "file" + i);
+        }
+        Files.writeString(tempDir.resolve("readme.txt"), "not shardable");
+        FileLayoutMigrator migrator = new FileLayoutMigrator(fileStore, false, 2, 0, false);
+
+        //when
+        long moved = migrator.migrate();
+
+        //then
+        assertThat(moved).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(tempDir.resolve("ab").resolve("cd").resolve("abcd000" + i + "-uuid.png")).hasContent("file" + i);
+            assertThat(Path.of(fileStore.getFullPath("abcd000" + i + "-uuid.png"))).hasContent("file" + i);
+        }
+        assertThat(tempDir.resolve("readme.txt")).exists();
+    }
+
+    @Test
+    void 마이그레이션_분할구조에_같은이름_파일이_있으면_덮어쓰지_않음() throws IOException {
+        //given
+        ReflectionTestUtils.setField(fileStore, "layout", FileStoreLayout.SHARDED);
+        Path shardDir = Files.createDirectories(tempDir.resolve("ab").resolve("cd"));
+        Files.writeString(tempDir.resolve("abcd0000-same.png"), "same");
+        Files.writeString(shardDir.resolve("abcd0000-same.png"), "same");
+        Files.writeString(tempDir.resolve("abcd0000-diff.png"), "flat");
+        Files.writeString(shardDir.resolve("abcd0000-diff.png"), "sharded");
+        FileLayoutMigrator migrator = new FileLayoutMigrator(fileStore, false, 2, 0, false);
+
+        //when
+        long moved = migrator.migrate();
+
+        //then
+        assertThat(moved).isEqualTo(1);
+        assertThat(tempDir.resolve("abcd0000-same.png")).doesNotExist();
+        assertThat(shardDir.resolve("abcd0000-same.png")).hasContent("same");
+        assertThat(tempDir.resolve("abcd0000-diff.png")).hasContent("flat");
+        assertThat(shardDir.resolve("abcd0000-diff.png")).hasContent("sharded");
+    }
+}
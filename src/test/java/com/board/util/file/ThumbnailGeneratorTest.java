@@ -0,0 +1,81 @@
+package com.board.util.file;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ThumbnailGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    FileStore fileStore = new FileStore();
+    ThumbnailGenerator thumbnailGenerator;
+
+    @BeforeEach
+    void beforeEach() {
+        ReflectionTestUtils.setField(fileStore, "fileDir", tempDir.toString() + File.separator);
+        ReflectionTestUtils.setField(fileStore, "variantWidths", new int[]{320, 640});
+        thumbnailGenerator = new ThumbnailGenerator(fileStore, 1, 10, 100_000_000, false);
+    }
+
+    @Test
+    void 원본보다_작은_폭만_축소본_생성() throws IOException {
+        //given
+        ImageIO.write(new BufferedImage(500, 250, BufferedImage.TYPE_INT_RGB), "png", tempDir.resolve("image.png").toFile());
+
+        //when
+        thumbnailGenerator.generate("image.png");
+
+        //then
+        BufferedImage variant = ImageIO.read(new File(fileStore.getVariantPath("image.png", 320)));
+        assertThat(variant.getWidth()).isEqualTo(320);
+        assertThat(variant.getHeight()).isEqualTo(160);
+        assertThat(new File(fileStore.getVariantPath("image.png", 640))).doesNotExist();
+
+        assertThat(fileStore.getVariantKeys("image.png", 320)).containsExactly(fileStore.getVariantKey("image.png", 320));
+    }
+
+    @Test
+    void 큰_원본은_건너뛰며_읽어도_같은_크기의_축소본() throws IOException {
+        //given 가장 큰 축소본 폭(640)의 두 배를 넘는 원본
+        ImageIO.write(new BufferedImage(3000, 1500, BufferedImage.TYPE_INT_RGB), "png", tempDir.resolve("large.png").toFile());
+
+        //when
+        thumbnailGenerator.generate("large.png");
+
+        //then
+        BufferedImage variant = ImageIO.read(new File(fileStore.getVariantPath("large.png", 640)));
+        assertThat(variant.getWidth()).isEqualTo(640);
+        assertThat(variant.getHeight()).isEqualTo(320);
+    }
+
+    @Test
+    void 픽셀_수가_한도를_넘으면_풀지_않고_건너뜀() throws IOException {
+        //given
+        ImageIO.write(new BufferedImage(500, 250, BufferedImage.TYPE_INT_RGB), "png", tempDir.resolve("bomb.png").toFile());
+        ThumbnailGenerator limited = new ThumbnailGenerator(fileStore, 1, 10, 500 * 249, false);
+
+        //when
+        limited.generate("bomb.png");
+        ReflectionTestUtils.invokeMethod(limited, "shutdown");
+
+        //then
+        assertThat(new File(fileStore.getVariantPath("bomb.png", 320))).doesNotExist();
+    }
+
+    @Test
+    void 설정된_폭만_축소본_키() {
+        assertThat(fileStore.getVariantKeys("image.png", 640)).containsExactly("image_w640.png");
+        assertThat(fileStore.getVariantKeys("image.png", 100)).isEmpty();
+    }
+}
@@ -0,0 +1,159 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.file.storage.InMemoryStorageBackend;
+import com.board.util.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class UploadFileGarbageCollectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    FileStore fileStore = new FileStore();
+    UploadFileRepositoryJdbc uploadFileRepository = mock(UploadFileRepositoryJdbc.class);
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    @BeforeEach
+    void beforeEach() {
+        ReflectionTestUtils.setField(fileStore, "fileDir", tempDir.toString() + File.separator);
+        when(uploadFileRepository.findReferencedStoreFileNames(anyCollection())).thenReturn(Set.of("abcd-kept.png"));
+    }
+
+    @Test
+    void 유예시간이_지난_고아파일만_삭제() throws IOException {
+        //given
+        Path kept = Files.writeString(tempDir.resolve("abcd-kept.png"), "kept");
+        Path keptVariant = Files.writeString(tempDir.resolve("abcd-kept_w320.png"), "variant");
+        Path orphan = Files.writeString(tempDir.resolve("ef01-orphan.png"), "orphan-bytes");
+        UploadFileGarbageCollector collector = new UploadFileGarbageCollector(fileStore, uploadFileRepository, metricsRegistry, true, Duration.ZERO, 10, 10_000);
+
+        //when
+        long firstSweep = collector.sweep();
+        long secondSweep = collector.sweep();
+
+        //then
+        assertThat(firstSweep).isZero();
+        assertThat(secondSweep).isEqualTo("orphan-bytes".length());
+        assertThat(kept).exists();
+        assertThat(keptVariant).exists();
+        assertThat(orphan).doesNotExist();
+        assertThat(metricsRegistry.snapshot())
+                .containsEntry("file.gc.reclaimed.bytes", (long) "orphan-bytes".length())
+                .containsEntry("file.gc.reclaimed.files", 1L);
+    }
+
+    @Test
+    void 유예시간_안의_고아파일은_유지() throws IOException {
+        //given
+        Path orphan = Files.writeString(tempDir.resolve("ef01-orphan.png"), "orphan");
+        UploadFileGarbageCollector collector = new UploadFileGarbageCollector(fileStore, uploadFileRepository, metricsRegistry, true, Duration.ofHours(1), 10, 10_000);
+
+        //when
+        collector.sweep();
+        collector.sweep();
+
+        //then
+        assertThat(orphan).exists();
+        assertThat(metricsRegistry.snapshot()).containsEntry("file.gc.pending.orphans", 1);
+    }
+
+    @Test
+    void 원격_저장소는_키를_훑고_로컬_임시_영역은_따로_수거() throws IOException {
+        //given
+        InMemoryStorageBackend storage = new InMemoryStorageBackend();
+        fileStore.setStorageBackend(storage);
+        storage.put("ab/cd/abcd-kept.png", new ByteArrayInputStream("kept".getBytes()), 4);
+        storage.put("ef/01/ef01-orphan.png", new ByteArrayInputStream("orphan".getBytes()), 6);
+        Path staleTemp = Files.writeString(Files.createDirectories(tempDir.resolve(FileStore.TEMP_DIR)).resolve("upload-1.tmp"), "temp");
+        UploadFileGarbageCollector collector = new UploadFileGarbageCollector(fileStore, uploadFileRepository, metricsRegistry, true, Duration.ZERO, 10, 10_000);
+
+        //when
+        collector.sweep();
+        long reclaimed = collector.sweep();
+
+        //then
+        assertThat(reclaimed).isEqualTo("orphan".length() + "temp".length());
+        assertThat(storage.stat("ab/cd/abcd-kept.png")).isPresent();
+        assertThat(storage.stat("ef/01/ef01-orphan.png")).isEmpty();
+        assertThat(staleTemp).doesNotExist();
+        assertThat(metricsRegistry.snapshot()).containsEntry("file.gc.pending.orphans", 0);
+    }
+
+    @Test
+    void 수거_설정이_없으면_내용주소_방식일_때만_켬() throws IOException {
+        //given
+        Files.writeString(tempDir.resolve("ef01-orphan.png"), "orphan");
+        UploadFileGarbageCollector uuidMode = new UploadFileGarbageCollector(fileStore, uploadFileRepository, metricsRegistry, null, Duration.ZERO, 10, 10_000);
+        ReflectionTestUtils.setField(fileStore, "mode", FileStoreMode.CONTENT);
+        UploadFileGarbageCollector contentMode = new UploadFileGarbageCollector(fileStore, uploadFileRepository, metricsRegistry, null, Duration.ZERO, 10, 10_000);
+
+        //when
+        uuidMode.scheduledSweep();
+        uuidMode.shutdown();
+        contentMode.scheduledSweep();
+
+        //then
+        verify(uploadFileRepository, timeout(5_000).times(1)).findReferencedStoreFileNames(anyCollection());
+        contentMode.shutdown();
+    }
+
+    @Test
+    void 스케줄러_스레드는_수거를_넘기기만_하고_바로_반환() throws Exception {
+        //given
+        Files.writeString(tempDir.resolve("ef01-orphan.png"), "orphan");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> sweepThread = new AtomicReference<>();
+        when(uploadFileRepository.findReferencedStoreFileNames(anyCollection())).thenAnswer(invocation -> {
+            sweepThread.set(Thread.currentThread().getName());
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Set.of();
+        });
+        UploadFileGarbageCollector collector = new UploadFileGarbageCollector(fileStore, uploadFileRepository, metricsRegistry, true, Duration.ZERO, 10, 10_000);
+
+        //when
+        collector.scheduledSweep();
+        boolean running = started.await(5, TimeUnit.SECONDS);
+        collector.scheduledSweep();
+        release.countDown();
+        collector.shutdown();
+
+        //then
+        assertThat(running).isTrue();
+        assertThat(sweepThread.get()).isEqualTo("file-gc");
+        verify(uploadFileRepository, times(1)).findReferencedStoreFileNames(anyCollection());
+    }
+
+    @Test
+    void 꺼져_있으면_수거하지_않음() {
+        //given
+        UploadFileGarbageCollector collector = new UploadFileGarbageCollector(fileStore, uploadFileRepository, metricsRegistry, false, Duration.ZERO, 10, 10_000);
+
+        //when
+        collector.scheduledSweep();
+        collector.shutdown();
+
+        //then
+        verifyNoInteractions(uploadFileRepository);
+    }
+}
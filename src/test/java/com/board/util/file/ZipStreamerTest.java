@@ -0,0 +1,222 @@
+package com.board.util.file;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.util.file.storage.InMemoryStorageBackend;
+import com.board.util.file.storage.StorageBackend;
+import com.board.util.file.storage.StoredObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ZipStreamerTest {
+
+    FileStore fileStore = new FileStore();
+    ZipStreamer zipStreamer = new ZipStreamer(fileStore);
+
+    @Test
+    void 이미지는_압축하지_않고_나머지는_압축() throws IOException {
+        //given
+        InMemoryStorageBackend storage = new InMemoryStorageBackend();
+        fileStore.setStorageBackend(storage);
+        byte[] content = "a".repeat(100_000).getBytes();
+        storage.put("photo.png", new ByteArrayInputStream(content), content.length);
+        storage.put("note.txt", new ByteArrayInputStream(content), content.length);
+        storage.put("copy.png", new ByteArrayInputStream("copy".getBytes()), 4);
+
+        List<UploadFile> files = List.of(
+                new UploadFile("photo.png", "photo.png", FileTypeEnum.IMAGE),
+                new UploadFile("note.txt", "note.txt", FileTypeEnum.ATTACHED),
+                new UploadFile("photo.png", "copy.png", FileTypeEnum.IMAGE),
+                new UploadFile("missing.png", "missing.png", FileTypeEnum.IMAGE));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        int written = zipStreamer.write(files, out);
+
+        //then
+        assertThat(written).isEqualTo(3);
+
+        Map<String, ZipEntry> entries = new HashMap<>();
+        Map<String, byte[]> contents = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                contents.put(entry.getName(), zip.readAllBytes());
+                entries.put(entry.getName(), entry);
+            }
+        }
+
+        assertThat(entries).containsOnlyKeys("photo.png", "note.txt", "photo (2).png");
+        assertThat(contents.get("photo.png")).isEqualTo(content);
+        assertThat(contents.get("photo (2).png")).isEqualTo("copy".getBytes());
+        assertThat(entries.get("photo.png").getCompressedSize()).isGreaterThanOrEqualTo(content.length);
+        assertThat(entries.get("note.txt").getCompressedSize()).isLessThan(content.length / 10);
+    }
+
+    @Test
+    void 파일명의_경로는_제거() {
+        List<String> used = new ArrayList<>();
+        Set<String> usedNames = new HashSet<>();
+
+        used.add(ZipStreamer.uniqueName("../../etc/passwd", usedNames));
+        used.add(ZipStreamer.uniqueName("C:\\temp\\a.txt", usedNames));
+        used.add(ZipStreamer.uniqueName("..", usedNames));
+        used.add(ZipStreamer.uniqueName("a.txt", usedNames));
+
+        assertThat(used).containsExactly("passwd", "a.txt", "file", "a (2).txt");
+    }
+
+    @Test
+    void 게시물_파일이_2GB여도_힙_사용량이_일정() throws IOException {
+        //given
+        int fileCount = 8;
+        long fileSize = 256L * 1024 * 1024;
+        fileStore.setStorageBackend(new SyntheticStorageBackend(fileSize));
+
+        List<UploadFile> files = new ArrayList<>();
+        for (int i = 0; i < fileCount; i++) {
+            files.add(new UploadFile("photo" + i + ".jpg", "synthetic" + i + ".jpg", FileTypeEnum.IMAGE));
+        }
+
+        long baseline = usedHeapAfterGc();
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream(64L * 1024 * 1024);
+
+        //when
+        int written = zipStreamer.write(files, out);
+
+        //then
+        assertThat(written).isEqualTo(fileCount);
+        assertThat(out.count).isGreaterThanOrEqualTo(fileCount * fileSize);
+        assertThat(out.samples).hasSizeGreaterThanOrEqualTo(30);
+        // 2GB를 메모리에 쌓으면 테스트 JVM 힙(기본 512MB)을 넘으므로, 32MB 이내면 스트리밍된 것입니다.
+        assertThat(out.maxUsed - baseline).isLessThan(32L * 1024 * 1024);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 저장하지 않고 읽을 때마다 내용을 만들어 내는 저장소입니다.
+     */
+    private static class SyntheticStorageBackend implements StorageBackend {
+
+        private final long size;
+
+        SyntheticStorageBackend(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public InputStream get(String key) {
+            return new InputStream() {
+                long remaining = size;
+
+                @Override
+                public int read() {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    remaining--;
+                    return (int) (remaining & 0xff);
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int n = (int) Math.min(len, remaining);
+                    Arrays.fill(b, off, off + n, (byte) remaining);
+                    remaining -= n;
+                    return n;
+                }
+            };
+        }
+
+        @Override
+        public Optional<StoredObject> stat(String key) {
+            return Optional.of(new StoredObject(key, size, Instant.EPOCH));
+        }
+
+        @Override
+        public void put(String key, InputStream content, long length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InputStream getRange(String key, long offset, long length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(String key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<StoredObject> list() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * 받은 바이트는 버리고, 일정 간격마다 GC 후의 힙 사용량을 기록합니다.
+     */
+    private static class HeapSamplingOutputStream extends OutputStream {
+
+        private final long interval;
+        private final List<Long> samples = new ArrayList<>();
+        private long count;
+        private long nextSample;
+        private long maxUsed;
+
+        HeapSamplingOutputStream(long interval) {
+            this.interval = interval;
+            this.nextSample = interval;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+            sample();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+            sample();
+        }
+
+        private void sample() {
+            if (count < nextSample) {
+                return;
+            }
+            nextSample += interval;
+            long used = usedHeapAfterGc();
+            samples.add(used);
+            maxUsed = Math.max(maxUsed, used);
+        }
+    }
+}
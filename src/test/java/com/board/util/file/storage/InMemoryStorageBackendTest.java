@@ -0,0 +1,11 @@
+package com.board.util.file.storage;
+
+class InMemoryStorageBackendTest extends StorageBackendContractTest {
+
+    final InMemoryStorageBackend storage = new InMemoryStorageBackend();
+
+    @Override
+    StorageBackend storage() {
+        return storage;
+    }
+}
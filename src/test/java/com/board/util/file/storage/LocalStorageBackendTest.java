@@ -0,0 +1,44 @@
+package com.board.util.file.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LocalStorageBackendTest extends StorageBackendContractTest {
+
+    @TempDir
+    Path tempDir;
+
+    LocalStorageBackend storage;
+
+    @Override
+    StorageBackend storage() {
+        if (storage == null) {
+            storage = new LocalStorageBackend(tempDir);
+        }
+        return storage;
+    }
+
+    @Test
+    void 파일을_옮겨_저장하면_원본은_남지_않음() throws IOException {
+        //given
+        Path source = Files.writeString(tempDir.resolve("upload.tmp"), "moved");
+
+        //when
+        storage().putFile("ab/cd/abcd-moved.txt", source);
+
+        //then
+        assertThat(source).doesNotExist();
+        assertThat(tempDir.resolve("ab/cd/abcd-moved.txt")).hasContent("moved");
+    }
+
+    @Test
+    void 저장소_밖을_가리키는_키는_거부() {
+        assertThatThrownBy(() -> storage().get("../outside.txt")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.board.util.file.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 모든 StorageBackend 구현이 지켜야 하는 동작을 확인하는 공통 테스트입니다.
+ * 구현별 테스트가 이 클래스를 상속하여 storage()만 제공합니다.
+ */
+abstract class StorageBackendContractTest {
+
+    abstract StorageBackend storage();
+
+    @Test
+    void 저장한_내용을_그대로_읽음() throws IOException {
+        //given
+        byte[] content = "0123456789".getBytes();
+
+        //when
+        storage().put("ab/cd/abcd-file.png", new ByteArrayInputStream(content), content.length);
+
+        //then
+        assertThat(read(storage().get("ab/cd/abcd-file.png"))).isEqualTo(content);
+        assertThat(storage().stat("ab/cd/abcd-file.png"))
+                .hasValueSatisfying(stored -> assertThat(stored.getSize()).isEqualTo(content.length));
+    }
+
+    @Test
+    void 범위_읽기() throws IOException {
+        //given
+        byte[] content = "0123456789".getBytes();
+        storage().put("range.bin", new ByteArrayInputStream(content), content.length);
+
+        //when & then
+        assertThat(new String(read(storage().getRange("range.bin", 2, 4)))).isEqualTo("2345");
+        assertThat(new String(read(storage().getRange("range.bin", 7, 3)))).isEqualTo("789");
+    }
+
+    @Test
+    void 같은_키에_저장하면_덮어씀() throws IOException {
+        storage().put("same.txt", new ByteArrayInputStream("old".getBytes()), 3);
+        storage().put("same.txt", new ByteArrayInputStream("new!".getBytes()), 4);
+
+        assertThat(new String(read(storage().get("same.txt")))).isEqualTo("new!");
+    }
+
+    @Test
+    void 삭제한_파일은_조회되지_않음() throws IOException {
+        //given
+        storage().put("gone.txt", new ByteArrayInputStream("bye".getBytes()), 3);
+
+        //when
+        storage().delete("gone.txt");
+        storage().delete("never-existed.txt");
+
+        //then
+        assertThat(storage().stat("gone.txt")).isEmpty();
+        assertThatThrownBy(() -> storage().get("gone.txt")).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void 저장된_파일_전체를_훑음() throws IOException {
+        //given
+        storage().put("ab/cd/abcd-one.png", new ByteArrayInputStream("one".getBytes()), 3);
+        storage().put("ef/01/ef01-two.png", new ByteArrayInputStream("two!".getBytes()), 4);
+        storage().put("flat.png", new ByteArrayInputStream("flat".getBytes()), 4);
+        storage().put("&special key.png", new ByteArrayInputStream("x".getBytes()), 1);
+
+        //when & then
+        try (Stream<StoredObject> objects = storage().list()) {
+            assertThat(objects).extracting(StoredObject::getKey, StoredObject::getSize).containsExactlyInAnyOrder(
+                    tuple("ab/cd/abcd-one.png", 3L), tuple("ef/01/ef01-two.png", 4L),
+                    tuple("flat.png", 4L), tuple("&special key.png", 1L));
+        }
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.board.util.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+    @Test
+    void 한도를_넘으면_시간_안에_못_얻고_실패() throws Exception {
+        //given
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(100));
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        //when //then
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("DB 동시 접근 한도(2)");
+        assertThat(dataSource.getInUse()).isEqualTo(2);
+        assertThat(dataSource.getRejected()).isEqualTo(1);
+
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void 닫으면_기다리던_스레드가_허가를_얻고_두번_닫아도_한_번만_반환() throws Exception {
+        //given
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofSeconds(5));
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        //when
+        first.close();
+        first.close();
+        Connection third = waiting.get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(dataSource.getInUse()).isEqualTo(2);
+        third.close();
+        second.close();
+        assertThat(dataSource.getInUse()).isZero();
+    }
+}
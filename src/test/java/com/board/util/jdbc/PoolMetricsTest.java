@@ -0,0 +1,94 @@
+package com.board.util.jdbc;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.board.util.metrics.MetricsRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PoolMetricsTest {
+
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    PoolMetrics poolMetrics = new PoolMetrics(metricsRegistry, 0.9, 1);
+    HikariDataSource hikari = new HikariDataSource();
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    Logger logger = (Logger) LoggerFactory.getLogger(PoolMetrics.class);
+
+    @BeforeEach
+    void beforeEach() {
+        hikari.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        hikari.setPoolName("test");
+        hikari.setMaximumPoolSize(2);
+        hikari.setMinimumIdle(2);
+        hikari.setConnectionTimeout(250);
+        new PoolMetricsPostProcessor(new StaticListableBeanFactory(Map.of("poolMetrics", poolMetrics))
+                .getBeanProvider(PoolMetrics.class)).postProcessBeforeInitialization(hikari, "dataSource");
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.detachAppender(appender);
+        hikari.close();
+    }
+
+    @Test
+    void 풀_상태와_커넥션_획득_시간을_지표로_기록() throws SQLException {
+        //when
+        try (Connection connection = hikari.getConnection()) {
+            connection.createStatement().execute("select 1");
+        }
+
+        //then
+        assertThat(hikari.getMetricsTrackerFactory()).isSameAs(poolMetrics);
+        Map<String, Object> snapshot = metricsRegistry.snapshot();
+        assertThat(snapshot).containsEntry("jdbc.pool.max{pool=test}", 2)
+                .containsKeys("jdbc.pool.active{pool=test}", "jdbc.pool.idle{pool=test}",
+                        "jdbc.pool.pending{pool=test}", "jdbc.pool.total{pool=test}", "jdbc.pool.usage{pool=test}")
+                .containsEntry("jdbc.pool.timeouts{pool=test}", 0L)
+                .containsEntry("jdbc.pool.saturated{pool=test}", 0);
+        assertThat(snapshot.get("jdbc.pool.acquire{pool=test}")).asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("count", 1L);
+    }
+
+    @Test
+    void 획득_시간_초과가_나면_한_번만_포화_경고하고_풀리면_해소_로그() throws Exception {
+        //given
+        Connection first = hikari.getConnection();
+        Connection second = hikari.getConnection();
+        assertThatThrownBy(hikari::getConnection).isInstanceOf(SQLException.class);
+
+        //when
+        poolMetrics.checkSaturation();
+        poolMetrics.checkSaturation();
+        int saturated = (int) metricsRegistry.snapshot().get("jdbc.pool.saturated{pool=test}");
+        first.close();
+        second.close();
+        Thread.sleep(1100); // HikariCP PoolStats는 값을 1초 동안 캐시합니다.
+        poolMetrics.checkSaturation();
+
+        //then
+        assertThat(saturated).isEqualTo(1);
+        assertThat(metricsRegistry.snapshot())
+                .containsEntry("jdbc.pool.timeouts{pool=test}", 1L)
+                .containsEntry("jdbc.pool.saturation.alerts", 1L)
+                .containsEntry("jdbc.pool.saturated{pool=test}", 0);
+        assertThat(appender.list).extracting(ILoggingEvent::getLevel).containsExactly(Level.WARN, Level.INFO);
+        assertThat(appender.list.get(0).getFormattedMessage()).contains("커넥션 풀 포화 [pool=test", "timeouts=+1");
+    }
+}
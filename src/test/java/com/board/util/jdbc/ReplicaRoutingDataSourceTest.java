@@ -0,0 +1,241 @@
+package com.board.util.jdbc;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.board.domain.comment.CommentRepositoryJdbc;
+import com.board.domain.member.Member;
+import com.board.domain.member.MemberRepositoryJdbc;
+import com.board.domain.post.Post;
+import com.board.domain.post.PostRepositoryJdbc;
+import com.board.domain.post.postService.PostDetail;
+import com.board.domain.post.postService.PostDetailLoader;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.metrics.MetricsRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 주 DB와 복제 DB를 서로 다른 H2 인스턴스로 띄워, 주 DB에만 쓴 게시물이 복제 DB에서는 보이지 않는 상황(복제 지연)으로 라우팅을 확인합니다.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    DataSource primary = h2();
+    SwitchableDataSource replica = new SwitchableDataSource(h2());
+    ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5));
+    ReplicaPool replicaPool = new ReplicaPool(Map.of("replica-1", replica), Duration.ofSeconds(1));
+    ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicaPool, readYourWrites);
+
+    PostRepositoryJdbc postRepository = new PostRepositoryJdbc(dataSource);
+    TransactionTemplate write = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    Logger logger = (Logger) LoggerFactory.getLogger(ReplicaPool.class);
+
+    @BeforeEach
+    void beforeEach() {
+        readOnly.setReadOnly(true);
+        new MemberRepositoryJdbc(primary).save(new Member("author", "작성자", "password"));
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.detachAppender(appender);
+        readYourWrites.endRequest();
+    }
+
+    @Test
+    void 읽기_전용_트랜잭션은_복제_DB에서_나머지는_주_DB에서() {
+        //given
+        Long postId = write.execute(status -> postRepository.save(new Post("제목", "내용", "작성자", 1L)).getId());
+
+        //when
+        Post fromReplica = readOnly.execute(status -> postRepository.findById(postId));
+        Post fromPrimaryInTransaction = write.execute(status -> postRepository.findById(postId));
+        Post fromPrimary = postRepository.findById(postId);
+
+        //then
+        assertThat(fromReplica).isNull();
+        assertThat(fromPrimaryInTransaction).isNotNull();
+        assertThat(fromPrimary.getTitle()).isEqualTo("제목");
+        assertThat(dataSource.getReplicaReads()).isEqualTo(1);
+    }
+
+    @Test
+    void 쓰기_직후에는_읽기_전용_트랜잭션도_주_DB에서() {
+        //given
+        Long postId = write.execute(status -> postRepository.save(new Post("제목", "내용", "작성자", 1L)).getId());
+
+        //when
+        readYourWrites.beginRequest(false, System.currentTimeMillis());
+        Post pinned = readOnly.execute(status -> postRepository.findById(postId));
+        readYourWrites.endRequest();
+
+        readYourWrites.beginRequest(false, System.currentTimeMillis() - Duration.ofSeconds(6).toMillis());
+        Post expired = readOnly.execute(status -> postRepository.findById(postId));
+        readYourWrites.endRequest();
+
+        //then
+        assertThat(pinned).isNotNull();
+        assertThat(expired).isNull();
+        assertThat(dataSource.getPinnedReads()).isEqualTo(1);
+        assertThat(dataSource.getReplicaReads()).isEqualTo(1);
+    }
+
+    @Test
+    void 게시물_상세는_복제_DB에서_읽고_쓰기_직후에는_주_DB에서() {
+        //given 복제 DB에는 아직 수정 전 제목이 남아 있습니다.
+        new MemberRepositoryJdbc(replica).save(new Member("author", "작성자", "password"));
+        Long postId = new PostRepositoryJdbc(replica).save(new Post("수정 전", "내용", "작성자", 1L)).getId();
+        write.execute(status -> postRepository.save(new Post("수정 후", "내용", "작성자", 1L)));
+        PostDetailLoader loader = new PostDetailLoader(postRepository,
+                new UploadFileRepositoryJdbc(new JdbcTemplate(dataSource), dataSource), new CommentRepositoryJdbc(dataSource),
+                new JdbcMetrics(new MetricsRegistry(), Duration.ofMinutes(1), 64, 10), readYourWrites,
+                new DataSourceTransactionManager(dataSource), true, 3, Duration.ofSeconds(5));
+
+        //when
+        PostDetail fromReplica = loader.load(postId);
+        readYourWrites.beginRequest(false, System.currentTimeMillis());
+        PostDetail pinned = loader.load(postId);
+        readYourWrites.endRequest();
+
+        //then
+        assertThat(fromReplica.getPost().getTitle()).isEqualTo("수정 전");
+        assertThat(pinned.getPost().getTitle()).isEqualTo("수정 후");
+        assertThat(dataSource.getReplicaReads()).isEqualTo(3);
+        assertThat(dataSource.getPinnedReads()).isEqualTo(3);
+    }
+
+    @Test
+    void 복제_DB가_응답하지_않으면_주_DB에서_읽고_상태_확인으로_복구() {
+        //given
+        Long postId = write.execute(status -> postRepository.save(new Post("제목", "내용", "작성자", 1L)).getId());
+        replica.down = true;
+
+        //when
+        Post duringOutage = readOnly.execute(status -> postRepository.findById(postId));
+        int healthyDuringOutage = replicaPool.getHealthyCount();
+        replica.down = false;
+        Post beforeCheck = readOnly.execute(status -> postRepository.findById(postId));
+        replicaPool.checkHealth();
+        Post afterCheck = readOnly.execute(status -> postRepository.findById(postId));
+
+        //then
+        assertThat(duringOutage).isNotNull();
+        assertThat(beforeCheck).isNotNull();
+        assertThat(afterCheck).isNull();
+        assertThat(healthyDuringOutage).isZero();
+        assertThat(replicaPool.getHealthyCount()).isEqualTo(1);
+        assertThat(dataSource.getFallbackReads()).isEqualTo(2);
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("복제 DB 제외 [replica=replica-1, reason=replica down]", "복제 DB 복구 [replica=replica-1]");
+    }
+
+    @Test
+    void 복제_DB는_돌아가며_사용() throws SQLException {
+        //given
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", new SwitchableDataSource(h2()));
+        replicas.put("replica-2", new SwitchableDataSource(h2()));
+        ReplicaPool pool = new ReplicaPool(replicas, Duration.ofSeconds(1));
+
+        //when
+        String first = catalogOf(pool);
+        String second = catalogOf(pool);
+        String third = catalogOf(pool);
+
+        //then
+        assertThat(first).isNotEqualTo(second);
+        assertThat(third).isEqualTo(first);
+    }
+
+    @Test
+    void 복제_DB_주소가_있으면_라우팅_DataSource를_등록() {
+        new ApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory()
+                        .setConversionService(ApplicationConversionService.getSharedInstance()))
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withBean(MetricsRegistry.class)
+                .withBean(PoolMetrics.class, 0.9, 1)
+                .withBean(ReadYourWrites.class, () -> readYourWrites)
+                .withUserConfiguration(ReplicaDataSourceConfig.class)
+                .withPropertyValues(
+                        "spring.datasource.url=" + url(),
+                        "spring.datasource.hikari.pool-name=board",
+                        "spring.datasource.hikari.maximum-pool-size=2",
+                        "jdbc.replica.urls=" + url() + "," + url())
+                .run(context -> {
+                    assertThat(context).hasSingleBean(DataSource.class);
+                    assertThat(context.getBean(DataSource.class)).isInstanceOf(ReplicaRoutingDataSource.class);
+                    ReplicaPool replicaPool = context.getBean(ReplicaPool.class);
+                    replicaPool.checkHealth();
+                    assertThat(replicaPool.getHealthyCount()).isEqualTo(2);
+                    assertThat(context.getBean(MetricsRegistry.class).snapshot())
+                            .containsEntry("jdbc.replica.count", 2)
+                            .containsEntry("jdbc.pool.max{pool=board-replica-1}", 2)
+                            .containsEntry("jdbc.pool.max{pool=board-replica-2}", 2)
+                            .containsKey("jdbc.replica.reads");
+                });
+    }
+
+    private static String catalogOf(ReplicaPool pool) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+    }
+
+    private static DataSource h2() {
+        DataSource dataSource = new DriverManagerDataSource(url());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return dataSource;
+    }
+
+    /**
+     * down이면 커넥션을 내주지 않는 복제 DB
+     */
+    static class SwitchableDataSource extends DelegatingDataSource {
+
+        volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("replica down");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.board.util.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SqlShapeTest {
+
+    @Test
+    void 리터럴과_공백을_정규화() {
+        String shape = SqlShape.normalize("select *\n  from post where title like '%it''s%' and id = 42 limit 10, 20");
+
+        assertThat(shape).isEqualTo("select * from post where title like ? and id = ? limit ?, ?");
+    }
+
+    @Test
+    void IN_목록과_여러행_VALUES는_하나로_줄임() {
+        assertThat(SqlShape.normalize("delete from upload_file where post_id = ? and id in (?, ?, ?)"))
+                .isEqualTo(SqlShape.normalize("delete from upload_file where post_id = ? and id IN (?)"));
+        assertThat(SqlShape.normalize("insert into comment (a, b) values (?, ?), (?, ?), (?, ?)"))
+                .isEqualTo("insert into comment (a, b) values (?, ?)");
+    }
+
+    @Test
+    void 식별자_안의_숫자는_유지() {
+        assertThat(SqlShape.normalize("select w320, t1.id from t1"))
+                .isEqualTo("select w320, t1.id from t1");
+    }
+}
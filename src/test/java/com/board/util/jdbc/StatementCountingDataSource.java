@@ -0,0 +1,201 @@
+package com.board.util.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 테스트에서 실행된 JDBC 문장을 기록하는 DataSource 래퍼입니다.
+ * 쿼리 수 회귀(N+1 등)를 막기 위해 "이 호출은 문장을 N개 이하로 실행한다"를 단언할 때 사용합니다.
+ * <pre>
+ * StatementCountingDataSource dataSource = new StatementCountingDataSource(h2);
+ * dataSource.assertAtMost(3, () -> controller.post(1L, new ExtendedModelMap()));
+ * </pre>
+ * prepare 횟수가 아니라 execute* 호출 횟수를 셉니다. executeBatch는 한 번으로 셉니다.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private final List<Execution> executions = new CopyOnWriteArrayList<>();
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * 지금까지 기록한 문장을 지웁니다.
+     */
+    public void reset() {
+        statements.clear();
+        executions.clear();
+    }
+
+    /**
+     * 기록된 문장 수를 반환합니다.
+     */
+    public int count() {
+        return statements.size();
+    }
+
+    /**
+     * 실행 순서대로 기록된 SQL 목록을 반환합니다.
+     */
+    public List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    /**
+     * 실행 순서대로 기록된 SQL과 실행 시점의 바인드 값을 반환합니다. EXPLAIN으로 같은 문장을 다시 실행할 때 사용합니다.
+     */
+    public List<Execution> executions() {
+        return List.copyOf(executions);
+    }
+
+    /**
+     * 동작을 실행하고, 그 사이에 실행된 문장이 max개 이하인지 확인합니다.
+     *
+     * @param max    허용하는 최대 문장 수
+     * @param action 검사할 동작
+     * @throws AssertionError 문장 수가 max를 넘은 경우. 실행된 SQL 목록을 메시지에 담습니다.
+     */
+    public void assertAtMost(int max, Runnable action) {
+        reset();
+        action.run();
+        if (count() > max) {
+            throw new AssertionError("JDBC 문장이 " + max + "개 이하여야 하지만 " + count() + "개 실행되었습니다:"
+                    + describe(statements()));
+        }
+    }
+
+    /**
+     * 마지막 {@link #reset} 이후 같은 모양(SqlShape)의 문장이 maxRepeats번을 넘게 실행되지 않았는지 확인합니다.
+     *
+     * @param maxRepeats 같은 모양의 문장을 허용하는 최대 실행 횟수
+     * @throws AssertionError 넘은 모양이 있는 경우
+     */
+    public void assertNoRepeatedShape(int maxRepeats) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String sql : statements) {
+            counts.merge(SqlShape.normalize(sql), 1, Integer::sum);
+        }
+        List<String> repeated = new ArrayList<>();
+        counts.forEach((shape, count) -> {
+            if (count > maxRepeats) {
+                repeated.add(count + "x " + shape);
+            }
+        });
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("같은 SQL이 " + maxRepeats + "번을 넘게 실행되었습니다 (N+1 의심):" + describe(repeated));
+        }
+    }
+
+    private static String describe(List<String> lines) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(System.lineSeparator()).append("  ").append(line);
+        }
+        return sb.toString();
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        String name = method.getName();
+                        String sql = ("prepareStatement".equals(name) || "prepareCall".equals(name)) ? (String) args[0] : null;
+                        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                                new StatementHandler(statement, sql));
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final List<Object> binds = new ArrayList<>();
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                while (binds.size() < index) {
+                    binds.add(null);
+                }
+                binds.set(index - 1, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                binds.clear();
+            } else if (name.startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                executed = executed != null ? executed : "(statement batch)";
+                statements.add(executed);
+                executions.add(new Execution(executed, Collections.unmodifiableList(new ArrayList<>(binds))));
+            }
+            return StatementCountingDataSource.invoke(target, method, args);
+        }
+    }
+
+    /**
+     * 문장 한 번의 실행입니다. 바인드 값은 1번 파라미터부터 순서대로 담기며, null 값도 그대로 들어 있습니다.
+     */
+    public static class Execution {
+
+        private final String sql;
+        private final List<Object> binds;
+
+        Execution(String sql, List<Object> binds) {
+            this.sql = sql;
+            this.binds = binds;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public List<Object> getBinds() {
+            return binds;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.board.util.jdbc;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.metrics.MetricsRegistry;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TimedDataSourceTest {
+
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    DataSource target;
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    Logger logger = (Logger) LoggerFactory.getLogger(JdbcMetrics.class);
+
+    @BeforeEach
+    void beforeEach() {
+        target = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(target).execute("create table upload_file (" +
+                "id bigint auto_increment primary key, post_id bigint, " +
+                "store_file_name varchar(255), upload_file_name varchar(255), file_type varchar(20), " +
+                "file_size bigint, content_type varchar(100), sha256 char(64), width int, height int)");
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void 값만_다른_문장은_하나의_모양으로_집계() {
+        //given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new TimedDataSource(target, jdbcMetrics(Duration.ofMinutes(1))));
+        jdbcTemplate.update("insert into upload_file (post_id, store_file_name) values (1, 'a.png'), (1, 'b.png')");
+
+        //when
+        jdbcTemplate.queryForList("select id from upload_file where post_id = ?", Long.class, 1L);
+        jdbcTemplate.queryForList("select id from upload_file where post_id = ?", Long.class, 2L);
+        jdbcTemplate.queryForList("select id from upload_file   where post_id = 1");
+
+        //then
+        Map<String, Object> snapshot = metricsRegistry.snapshot();
+        assertThat(snapshot.get("jdbc.statements{sql=select id from upload_file where post_id = ?}"))
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("count", 3L);
+        assertThat(snapshot).containsEntry("jdbc.rows{sql=select id from upload_file where post_id = ?}", 4L);
+        assertThat(snapshot).containsEntry("jdbc.rows{sql=insert into upload_file (post_id, store_file_name) values (?, ?)}", 2L);
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void IN_목록_길이만_다른_문장은_모양_하나만_차지() {
+        //given
+        JdbcMetrics jdbcMetrics = jdbcMetrics(Duration.ofMinutes(1));
+
+        //when IN 목록 길이가 다른 원본 SQL이 모양 제한보다 많이 들어옴
+        JdbcMetrics.StatementMetrics first = jdbcMetrics.statement("select id from upload_file where post_id in (?)");
+        for (int size = 2; size <= JdbcMetrics.MAX_SHAPES + 10; size++) {
+            jdbcMetrics.statement("select id from upload_file where post_id in (" + "?, ".repeat(size - 1) + "?)");
+        }
+        JdbcMetrics.StatementMetrics other = jdbcMetrics.statement("select id from member where id = ?");
+
+        //then 모양은 두 개뿐이라 새 모양도 따로 집계됨
+        assertThat(jdbcMetrics.shapeCount()).isEqualTo(2);
+        assertThat(jdbcMetrics.statement("select id from upload_file where post_id in (?, ?)")).isSameAs(first);
+        assertThat(other.shape).isEqualTo("select id from member where id = ?");
+    }
+
+    @Test
+    void 원본_SQL_캐시는_모양과_따로_제한() {
+        //given
+        JdbcMetrics jdbcMetrics = jdbcMetrics(Duration.ofMinutes(1));
+
+        //when
+        for (int i = 0; i < JdbcMetrics.MAX_CACHED_SQL * 2; i++) {
+            jdbcMetrics.statement("select id from upload_file where post_id = " + i);
+        }
+
+        //then
+        assertThat(jdbcMetrics.cachedSqlCount()).isLessThanOrEqualTo(JdbcMetrics.MAX_CACHED_SQL);
+        assertThat(jdbcMetrics.shapeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 임계값을_넘은_문장만_바인드값을_잘라_로그() {
+        //given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new TimedDataSource(target, jdbcMetrics(Duration.ZERO)));
+        String longName = "x".repeat(100);
+
+        //when
+        jdbcTemplate.update("insert into upload_file (post_id, store_file_name, upload_file_name) values (?, ?, ?)",
+                7L, longName, null);
+
+        //then
+        assertThat(appender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("느린 쿼리")
+                .contains("insert into upload_file (post_id, store_file_name, upload_file_name) values (?, ?, ?)")
+                .contains("[7, '" + "x".repeat(16) + "…(100)', null]");
+    }
+
+    @Test
+    void 리포지토리_메서드별_호출_행_문장수_기록() {
+        //given
+        JdbcMetrics jdbcMetrics = jdbcMetrics(Duration.ofMinutes(1));
+        JdbcMetricsPostProcessor postProcessor = new JdbcMetricsPostProcessor(
+                new StaticListableBeanFactory(Map.of("jdbcMetrics", jdbcMetrics)).getBeanProvider(JdbcMetrics.class), true);
+        DataSource dataSource = (DataSource) postProcessor.postProcessAfterInitialization(target, "dataSource");
+        UploadFileRepositoryJdbc repository = (UploadFileRepositoryJdbc) postProcessor.postProcessAfterInitialization(
+                new UploadFileRepositoryJdbc(new JdbcTemplate(dataSource), dataSource), "uploadFileRepositoryJdbc");
+
+        List<UploadFile> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UploadFile file = new UploadFile("image" + i + ".png", "store" + i + ".png", FileTypeEnum.IMAGE);
+            file.setPostId(1L);
+            files.add(file);
+        }
+
+        //when
+        repository.saveAll(files);
+        repository.findByPostId(1L);
+        repository.findByPostId(2L);
+
+        //then
+        assertThat(dataSource).isInstanceOf(TimedDataSource.class);
+        Map<String, Object> snapshot = metricsRegistry.snapshot();
+        assertThat(snapshot.get("repository.calls{method=UploadFileRepositoryJdbc.findByPostId}"))
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("count", 2L);
+        assertThat(snapshot)
+                .containsEntry("repository.rows{method=UploadFileRepositoryJdbc.findByPostId}", 3L)
+                .containsEntry("repository.statements{method=UploadFileRepositoryJdbc.findByPostId}", 2L)
+                .containsEntry("repository.rows{method=UploadFileRepositoryJdbc.saveAll}", 3L)
+                .containsEntry("repository.statements{method=UploadFileRepositoryJdbc.saveAll}", 1L);
+    }
+
+    @Test
+    void 한_요청에서_같은_모양이_임계값을_넘으면_한_번만_N플러스1_경고() {
+        //given
+        JdbcMetrics jdbcMetrics = jdbcMetrics(Duration.ofMinutes(1));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new TimedDataSource(target, jdbcMetrics));
+
+        //when
+        jdbcMetrics.beginRequest("GET /posts/1");
+        for (long postId = 1; postId <= 25; postId++) {
+            jdbcTemplate.queryForList("select id from upload_file where post_id = ?", Long.class, postId);
+        }
+        jdbcTemplate.queryForList("select count(*) from upload_file", Long.class);
+        long statements = jdbcMetrics.endRequest();
+
+        // 요청 범위 밖의 실행은 세지 않습니다.
+        for (long postId = 1; postId <= 25; postId++) {
+            jdbcTemplate.queryForList("select id from upload_file where post_id = ?", Long.class, postId);
+        }
+
+        //then
+        assertThat(statements).isEqualTo(26);
+        assertThat(appender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("N+1 의심 [GET /posts/1]")
+                .contains("select id from upload_file where post_id = ?");
+        assertThat(metricsRegistry.snapshot()).containsEntry("jdbc.n-plus-one.detected", 1L);
+    }
+
+    private JdbcMetrics jdbcMetrics(Duration slowThreshold) {
+        return new JdbcMetrics(metricsRegistry, slowThreshold, 16, 10);
+    }
+}
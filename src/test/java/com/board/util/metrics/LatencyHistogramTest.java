@@ -0,0 +1,78 @@
+package com.board.util.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void 백분위수는_3퍼센트_오차_이내() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        //when
+        long p50 = histogram.percentile(50);
+        long p95 = histogram.percentile(95);
+        long p99 = histogram.percentile(99);
+
+        //then
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(p50).isCloseTo(500_000L, withinPercentage(3));
+        assertThat(p95).isCloseTo(950_000L, withinPercentage(3));
+        assertThat(p99).isCloseTo(990_000L, withinPercentage(3));
+        assertThat(histogram.summary())
+                .containsEntry("count", 1000L)
+                .containsEntry("max", 1000.0)
+                .containsKeys("throughput", "mean", "p50", "p95", "p99");
+    }
+
+    @Test
+    void 기록이_없으면_0() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.percentile(99)).isZero();
+        assertThat(histogram.summary()).containsEntry("count", 0L).containsEntry("mean", 0.0);
+    }
+
+    @Test
+    void 칸의_최댓값은_다음_칸_시작_직전() {
+        for (long micros : new long[]{0, 31, 32, 33, 63, 64, 65, 1_000, 123_456, 10_000_000_000L}) {
+            int index = LatencyHistogram.indexOf(micros);
+            assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(micros);
+            assertThat(LatencyHistogram.indexOf(LatencyHistogram.highestValueOf(index) + 1)).isEqualTo(index + 1);
+        }
+    }
+
+    @Test
+    void 여러_스레드가_동시에_기록해도_누락없음() throws InterruptedException {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int perThread = 100_000;
+
+        //when
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(TimeUnit.MICROSECONDS.toNanos(i % 5_000));
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        //then
+        assertThat(histogram.getCount()).isEqualTo((long) threads * perThread);
+        assertThat(histogram.percentile(100)).isEqualTo(4_999);
+    }
+}
@@ -0,0 +1,51 @@
+package com.board.util.seed;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * DatasetSeeder의 처리량(행/초)을 재고, 게시물 100만 개와 댓글 1000만 개를 만드는 데 걸릴 시간을 추정하는 벤치마크입니다.
+ * bench.seed.url을 주면 그 DB(예: 빈 MySQL 스키마)에, 없으면 메모리 H2에 넣습니다.
+ * <p>
+ * 실행 예: {@code gradle test --tests '*DatasetSeederBenchmarkTest' -Dbench.seed.posts=100000 -Dbench.seed.batch-rows=1000}
+ */
+@EnabledIfSystemProperty(named = "bench.seed.posts", matches = "\\d+")
+class DatasetSeederBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetSeederBenchmarkTest.class);
+
+    @Test
+    void 합성_데이터_생성_처리량() {
+        long posts = Long.getLong("bench.seed.posts");
+        int batchRows = Integer.getInteger("bench.seed.batch-rows", 1000);
+        DataSource dataSource = dataSource();
+
+        DatasetSeeder.Result result = new DatasetSeeder(dataSource, true, 42L,
+                Integer.getInteger("bench.seed.members", 10_000), posts, 10, 30, 0.3, batchRows).seed();
+
+        long rows = result.getMembers() + result.getPosts() + result.getComments() + result.getFiles();
+        double rowsPerSecond = rows * 1000.0 / Math.max(1, result.getElapsedMillis());
+        log.info("[DatasetSeeder 벤치마크] batchRows={}", batchRows);
+        log.info("  members={}, posts={}, comments={}, files={}, {} ms", result.getMembers(),
+                result.getPosts(), result.getComments(), result.getFiles(), result.getElapsedMillis());
+        log.info(String.format("  %.0f rows/s, 게시물 1M + 댓글 10M 예상 %.1f분", rowsPerSecond, 11_000_000 / rowsPerSecond / 60));
+    }
+
+    private DataSource dataSource() {
+        String url = System.getProperty("bench.seed.url");
+        if (url != null) {
+            return new DriverManagerDataSource(url, System.getProperty("bench.seed.username", "board"),
+                    System.getProperty("bench.seed.password", "board1234"));
+        }
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return dataSource;
+    }
+}
@@ -0,0 +1,119 @@
+package com.board.util.seed;
+
+import com.board.domain.member.Member;
+import com.board.domain.member.MemberRepositoryJdbc;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DatasetSeederTest {
+
+    @Test
+    void 설정한_수만큼_회원_게시물_댓글_파일_생성() {
+        //given
+        DataSource dataSource = newDatabase();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        //when
+        DatasetSeeder.Result result = seeder(dataSource, 42L, 7).seed();
+
+        //then
+        assertThat(result.getMembers()).isEqualTo(50);
+        assertThat(result.getPosts()).isEqualTo(300);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member", Long.class)).isEqualTo(50);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from post", Long.class)).isEqualTo(300);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from comment", Long.class)).isEqualTo(result.getComments());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from upload_file", Long.class)).isEqualTo(result.getFiles());
+        // 평균 10개의 지수 분포이므로 넉넉한 범위로 확인합니다.
+        assertThat(result.getComments()).isBetween(1_500L, 4_500L);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from upload_file where file_type = 'IMAGE' and width > 0 and height > 0 and length(sha256) = 64",
+                Long.class)).isPositive();
+    }
+
+    @Test
+    void 댓글은_같은_게시물의_앞선_댓글을_부모로_하고_깊은_트리를_만듦() {
+        //given
+        DataSource dataSource = newDatabase();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        //when
+        seeder(dataSource, 42L, 7).seed();
+
+        //then
+        assertThat(jdbcTemplate.queryForObject("select count(*) from comment c left join comment p " +
+                "on c.parent_comment_id = p.id where c.parent_comment_id is not null " +
+                "and (p.id is null or p.post_id <> c.post_id or p.id >= c.id)", Long.class)).isZero();
+
+        Map<Long, Long> parents = new HashMap<>();
+        jdbcTemplate.query("select id, parent_comment_id from comment", rs -> {
+            long parent = rs.getLong(2);
+            parents.put(rs.getLong(1), rs.wasNull() ? null : parent);
+        });
+        int maxDepth = 0;
+        for (Long id : parents.keySet()) {
+            int depth = 0;
+            for (Long parent = parents.get(id); parent != null; parent = parents.get(parent)) {
+                depth++;
+            }
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        assertThat(maxDepth).isGreaterThanOrEqualTo(10).isLessThanOrEqualTo(30);
+    }
+
+    @Test
+    void 같은_시드면_배치_크기와_관계없이_같은_데이터() {
+        //given
+        DataSource first = newDatabase();
+        DataSource second = newDatabase();
+
+        //when
+        seeder(first, 7L, 1000).seed();
+        seeder(second, 7L, 13).seed();
+
+        //then
+        assertThat(dump(first)).isEqualTo(dump(second));
+    }
+
+    @Test
+    void 생성_후에도_리포지토리_INSERT의_id가_겹치지_않음() {
+        //given
+        DataSource dataSource = newDatabase();
+        seeder(dataSource, 42L, 100).seed();
+
+        //when
+        Member member = new MemberRepositoryJdbc(dataSource)
+                .save(new Member("newbie", "새 회원", "password"));
+
+        //then
+        assertThat(member.getId()).isEqualTo(51L);
+    }
+
+    private DatasetSeeder seeder(DataSource dataSource, long randomSeed, int batchRows) {
+        return new DatasetSeeder(dataSource, true, randomSeed, 50, 300, 10, 30, 0.3, batchRows);
+    }
+
+    private List<Map<String, Object>> dump(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("select * from member order by id");
+        rows.addAll(jdbcTemplate.queryForList("select * from post order by id"));
+        rows.addAll(jdbcTemplate.queryForList("select * from comment order by id"));
+        rows.addAll(jdbcTemplate.queryForList("select * from upload_file order by id"));
+        return rows;
+    }
+
+    private DataSource newDatabase() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return dataSource;
+    }
+}
@@ -0,0 +1,58 @@
+package com.board.web.interceptor;
+
+import com.board.util.metrics.MetricsRegistry;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LogInterceptorTest {
+
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    LogInterceptor interceptor = new LogInterceptor(metricsRegistry);
+
+    @Test
+    void 핸들러와_상태코드별로_처리시간_기록() throws Exception {
+        //given
+        HandlerMethod handler = new HandlerMethod(new SampleController(), "list");
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            handle(handler, 200, null);
+        }
+        handle(handler, 404, null);
+        handle(handler, 200, new IllegalStateException("boom"));
+
+        //then
+        Map<String, Object> snapshot = metricsRegistry.snapshot();
+        assertThat(snapshot.get("http.server.requests{handler=SampleController.list,status=200}"))
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("count", 3L)
+                .containsKeys("p50", "p95", "p99", "throughput");
+        assertThat(snapshot.get("http.server.requests{handler=SampleController.list,status=404}"))
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("count", 1L);
+        assertThat(snapshot.get("http.server.requests{handler=SampleController.list,status=500}"))
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("count", 1L);
+    }
+
+    private void handle(Object handler, int status, Exception ex) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/sample");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, handler);
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, handler, ex);
+    }
+
+    static class SampleController {
+        public String list() {
+            return "list";
+        }
+    }
+}
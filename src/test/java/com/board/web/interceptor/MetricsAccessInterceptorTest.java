@@ -0,0 +1,41 @@
+package com.board.web.interceptor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MetricsAccessInterceptorTest {
+
+    MetricsAccessInterceptor interceptor = new MetricsAccessInterceptor(List.of("127.0.0.1", "::1", " 10.1.0.0/16 "));
+
+    @Test
+    void 허용된_주소와_대역만_지표를_봄() throws IOException {
+        assertThat(handle("127.0.0.1")).isEqualTo(200);
+        assertThat(handle("0:0:0:0:0:0:0:1")).isEqualTo(200);
+        assertThat(handle("10.1.255.7")).isEqualTo(200);
+        assertThat(handle("10.2.0.1")).isEqualTo(403);
+        assertThat(handle("203.0.113.9")).isEqualTo(403);
+    }
+
+    @Test
+    void 잘못된_허용_주소는_기동할_때_거부() {
+        assertThatThrownBy(() -> new MetricsAccessInterceptor(List.of("10.0.0.0/40")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 주어진 주소에서 /metrics를 요청하고 응답 상태를 반환합니다.
+     */
+    private int handle(String remoteAddr) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/metrics");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        return response.getStatus();
+    }
+}
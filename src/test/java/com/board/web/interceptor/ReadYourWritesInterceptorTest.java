@@ -0,0 +1,66 @@
+package com.board.web.interceptor;
+
+import com.board.domain.member.Member;
+import com.board.util.jdbc.ReadYourWrites;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReadYourWritesInterceptorTest {
+
+    ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5));
+    ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(readYourWrites);
+
+    @Test
+    void 회원이_글을_쓰면_리다이렉트된_다음_요청도_주_DB에_고정() {
+        //given
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("loginMember", new Member("test", "테스터", "password"));
+
+        //when
+        boolean pinnedWhileWriting = handle("POST", "/posts/add", session, 302);
+        boolean pinnedAfterRedirect = handle("GET", "/posts/1", session, 200);
+        boolean pinnedWithoutSession = handle("GET", "/posts/1", null, 200);
+
+        //then
+        assertThat(pinnedWhileWriting).isTrue();
+        assertThat(pinnedAfterRedirect).isTrue();
+        assertThat(pinnedWithoutSession).isFalse();
+        assertThat(readYourWrites.isPinned()).isFalse();
+    }
+
+    @Test
+    void 실패한_쓰기나_오래전_쓰기는_고정하지_않음() {
+        //given
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("loginMember", new Member("test", "테스터", "password"));
+        session.setAttribute(ReadYourWrites.LAST_WRITE_AT, System.currentTimeMillis() - Duration.ofSeconds(6).toMillis());
+
+        //when
+        boolean pinnedBeforeWrite = handle("GET", "/posts/1", session, 200);
+        handle("POST", "/posts/add", session, 400);
+
+        //then
+        assertThat(pinnedBeforeWrite).isFalse();
+        assertThat(handle("GET", "/posts/1", session, 200)).isFalse();
+    }
+
+    /**
+     * 요청 하나를 처리하고, 컨트롤러 실행 중에 주 DB에 고정되어 있었는지 반환합니다.
+     */
+    private boolean handle(String method, String uri, MockHttpSession session, int status) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setSession(session);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        boolean pinned = readYourWrites.isPinned();
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, new Object(), null);
+        return pinned;
+    }
+}
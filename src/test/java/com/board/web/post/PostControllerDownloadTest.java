@@ -0,0 +1,161 @@
+package com.board.web.post;
+
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileLookup;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.file.FileServer;
+import com.board.util.file.FileStore;
+import com.board.util.file.FileStoreLayout;
+import com.board.util.file.storage.InMemoryStorageBackend;
+import com.board.util.file.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PostControllerDownloadTest {
+
+    static final String IMAGE = "abcd0000-0000-0000-0000-000000000000.png";
+    static final String ATTACH = "ef010000-0000-0000-0000-000000000000.pdf";
+
+    /** stat이 호출된 키 */
+    List<String> statKeys = new CopyOnWriteArrayList<>();
+
+    InMemoryStorageBackend storage = new InMemoryStorageBackend() {
+        @Override
+        public Optional<StoredObject> stat(String key) {
+            statKeys.add(key);
+            return super.stat(key);
+        }
+    };
+    UploadFileRepositoryJdbc uploadFileRepository = mock(UploadFileRepositoryJdbc.class);
+    FileStore fileStore = new FileStore();
+    PostController postController;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        ReflectionTestUtils.setField(fileStore, "fileDir", "/unused/");
+        ReflectionTestUtils.setField(fileStore, "variantWidths", new int[]{320, 640});
+        ReflectionTestUtils.setField(fileStore, "layout", FileStoreLayout.SHARDED);
+        fileStore.setStorageBackend(storage);
+        postController = new PostController(fileStore, new FileServer(),
+                new UploadFileLookup(uploadFileRepository, Duration.ofMinutes(1)), null, null, null);
+
+        put(fileStore.getStorageKeys(IMAGE).get(0), "original");
+        put(fileStore.getVariantKeys(IMAGE, 320).get(0), "w320");
+        when(uploadFileRepository.findByStoreFileName(IMAGE)).thenReturn(metadata(IMAGE, "original", 1000));
+        statKeys.clear();
+    }
+
+    @Test
+    void 요청한_축소본을_보내면_immutable() throws IOException {
+        //when
+        MockHttpServletResponse response = downloadImage(320);
+
+        //then
+        assertThat(response.getContentAsString()).isEqualTo("w320");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(statKeys).containsExactly(fileStore.getVariantKeys(IMAGE, 320).get(0));
+    }
+
+    @Test
+    void 원본은_저장소_정보_조회_없이_메타데이터로_보냄() throws IOException {
+        //when
+        MockHttpServletResponse response = downloadImage(null);
+
+        //then
+        assertThat(response.getContentAsString()).isEqualTo("original");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"sha-original\"");
+        assertThat(statKeys).isEmpty();
+    }
+
+    @Test
+    void 축소본이_없어_원본을_보내면_재검증() throws IOException {
+        //when
+        MockHttpServletResponse response = downloadImage(640);
+
+        //then
+        assertThat(response.getContentAsString()).isEqualTo("original");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("private, no-cache");
+    }
+
+    @Test
+    void 원본이_요청한_폭보다_좁으면_축소본을_찾지_않고_원본을_immutable로() throws IOException {
+        //given
+        when(uploadFileRepository.findByStoreFileName(IMAGE)).thenReturn(metadata(IMAGE, "original", 600));
+
+        //when
+        MockHttpServletResponse response = downloadImage(640);
+
+        //then
+        assertThat(response.getContentAsString()).isEqualTo("original");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(statKeys).isEmpty();
+    }
+
+    @Test
+    void 분할구조에_없으면_평면구조의_첨부파일을_보냄() throws IOException {
+        //given 마이그레이션 전이라 평면 구조에 남아 있는 파일
+        put(ATTACH, "legacy");
+        UploadFile attach = metadata(ATTACH, "legacy", null);
+        attach.setFileType(FileTypeEnum.ATTACHED);
+        when(uploadFileRepository.findAttachByPostId(1L)).thenReturn(attach);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        postController.downloadAttach(1L, new MockHttpServletRequest("GET", "/posts/attach/1"), response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("legacy");
+        assertThat(statKeys).isEmpty();
+    }
+
+    @Test
+    void 메타데이터만_있고_어느_구조에도_파일이_없으면_404() throws IOException {
+        //given
+        String missing = "abcd1111-0000-0000-0000-000000000000.png";
+        when(uploadFileRepository.findByStoreFileName(missing)).thenReturn(metadata(missing, "x", null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        postController.downloadImage(missing, null, new MockHttpServletRequest("GET", "/posts/images/" + missing), response);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse downloadImage(Integer width) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        postController.downloadImage(IMAGE, width, new MockHttpServletRequest("GET", "/posts/images/" + IMAGE), response);
+        return response;
+    }
+
+    private void put(String key, String content) throws IOException {
+        byte[] bytes = content.getBytes();
+        storage.put(key, new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    private static UploadFile metadata(String storeFileName, String content, Integer width) {
+        UploadFile file = new UploadFile("upload", storeFileName, FileTypeEnum.IMAGE);
+        file.setFileSize((long) content.length());
+        file.setSha256("sha-" + content);
+        file.setContentType("image/png");
+        file.setWidth(width);
+        return file;
+    }
+}
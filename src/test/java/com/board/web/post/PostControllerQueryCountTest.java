@@ -0,0 +1,106 @@
+package com.board.web.post;
+
+import com.board.domain.comment.Comment;
+import com.board.domain.comment.CommentRepositoryJdbc;
+import com.board.domain.member.Member;
+import com.board.domain.member.MemberRepositoryJdbc;
+import com.board.domain.post.Post;
+import com.board.domain.post.PostRepositoryJdbc;
+import com.board.domain.post.postService.PostDetailLoader;
+import com.board.domain.post.postService.PostService;
+import com.board.domain.uploadfile.FileTypeEnum;
+import com.board.domain.uploadfile.UploadFile;
+import com.board.domain.uploadfile.UploadFileRepositoryJdbc;
+import com.board.util.jdbc.JdbcMetrics;
+import com.board.util.jdbc.ReadYourWrites;
+import com.board.util.jdbc.StatementCountingDataSource;
+import com.board.util.metrics.MetricsRegistry;
+import com.board.web.post.form.PagedResultForm;
+import com.board.web.post.form.PostSearchForm;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 게시물 화면 하나를 그리는 데 실행되는 JDBC 문장 수가 데이터 양에 따라 늘어나지 않는지 확인합니다.
+ */
+class PostControllerQueryCountTest {
+
+    StatementCountingDataSource dataSource;
+    PostRepositoryJdbc postRepository;
+    CommentRepositoryJdbc commentRepository;
+    UploadFileRepositoryJdbc uploadFileRepository;
+    PostController postController;
+
+    @BeforeEach
+    void beforeEach() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(h2).load().migrate();
+        new MemberRepositoryJdbc(h2).save(new Member("author", "작성자", "password"));
+        dataSource = new StatementCountingDataSource(h2);
+        postRepository = new PostRepositoryJdbc(dataSource);
+        commentRepository = new CommentRepositoryJdbc(dataSource);
+        uploadFileRepository = new UploadFileRepositoryJdbc(new JdbcTemplate(dataSource), dataSource);
+        PostService postService = new PostService(postRepository, uploadFileRepository, null, null, null, null, null);
+        PostDetailLoader postDetailLoader = new PostDetailLoader(postRepository, uploadFileRepository, commentRepository,
+                new JdbcMetrics(new MetricsRegistry(), Duration.ofMinutes(1), 64, 10), new ReadYourWrites(Duration.ofSeconds(5)),
+                new DataSourceTransactionManager(dataSource), true, 3, Duration.ofSeconds(5));
+        postController = new PostController(null, null, null, null, postService, postDetailLoader);
+    }
+
+    @Test
+    void 게시물_상세는_문장_세개() {
+        //given 이미지 5개, 첨부파일 1개, 댓글 20개
+        Post post = postRepository.save(new Post("제목", "내용", "작성자", 1L));
+        List<UploadFile> files = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            files.add(uploadFile(post.getId(), "image" + i + ".png", FileTypeEnum.IMAGE));
+        }
+        files.add(uploadFile(post.getId(), "attach.pdf", FileTypeEnum.ATTACHED));
+        uploadFileRepository.saveAll(files);
+        for (int i = 0; i < 20; i++) {
+            commentRepository.save(new Comment(post.getId(), "작성자", 1L, "댓글" + i));
+        }
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        //when
+        dataSource.assertAtMost(3, () -> postController.post(post.getId(), model));
+
+        //then
+        assertThat((Post) model.get("post")).extracting(p -> p.getImageFiles().size()).isEqualTo(5);
+        assertThat((List<?>) model.get("comments")).hasSize(20);
+    }
+
+    @Test
+    void 게시물_목록은_게시물_수와_관계없이_문장_하나() {
+        //given
+        for (int i = 0; i < 30; i++) {
+            postRepository.save(new Post("제목" + i, "내용", "작성자", 1L));
+        }
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        //when
+        dataSource.assertAtMost(1, () -> postController.posts(null, new PostSearchForm(), model));
+
+        //then
+        assertThat((List<?>) model.get("posts")).hasSize(10);
+        assertThat((PagedResultForm) model.get("pagedResult")).extracting(PagedResultForm::getTotalPage).isEqualTo(3);
+    }
+
+    private UploadFile uploadFile(Long postId, String name, FileTypeEnum type) {
+        UploadFile file = new UploadFile(name, UUID.randomUUID() + "-" + name, type);
+        file.setPostId(postId);
+        return file;
+    }
+}